@@ -0,0 +1,171 @@
+package com.matthew.animalapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cost of AnimalManager's lookups, lists and training changes at herd sizes from 1K to 1M.
+ * The manager sits on a FakeDatabaseHelper, so the writes behind advanceTraining are a map put
+ * rather than SQLite, and what is measured is the manager's own work (store, indexes, locking).
+ * Each benchmark method gets a freshly built herd (state is per trial), so changes made by one
+ * don't show up in another. Run with {@code mvn -Pjmh verify} (see the README).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class AnimalManagerBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    int herdSize;
+
+    AnimalManager manager;
+    String[] ids;
+    String[] names;
+    int next;
+
+    @Setup(Level.Trial)
+    public void buildHerd() {
+        manager = new AnimalManager(new FakeDatabaseHelper(), ManagerOptions.defaults().idBlockSize(10_000));
+        List<RescueAnimal> herd = new ArrayList<>(herdSize);
+        for (int i = 0; i < herdSize; i++) herd.add(animal(i));
+        manager.addAll(herd);
+        ids = new String[herdSize];
+        names = new String[herdSize];
+        for (int i = 0; i < herdSize; i++) {
+            ids[i] = herd.get(i).getUniqueId();
+            names[i] = herd.get(i).getName();
+        }
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        manager.close();
+    }
+
+    /**
+     * Half dogs, half monkeys, spread over every training status; a third of the
+     * in-service ones are reserved, so listAvailableForService has work to skip.
+     */
+    static RescueAnimal animal(int i) {
+        RescueAnimal.TrainingStatus status = RescueAnimal.TrainingStatus.values()[i % 8];
+        boolean inService = status == RescueAnimal.TrainingStatus.IN_SERVICE;
+        boolean reserved = inService && i % 3 == 0;
+        String serviceCountry = inService ? "Canada" : null;
+        if (i % 2 == 0) {
+            return new Dog("Dog " + i, "Bloodhound", "male", "3", "55.0", "01/15/2024",
+                    "United States", status.menuLabel(), reserved, serviceCountry);
+        }
+        return new Monkey("Monkey " + i, "Capuchin", "female", "4", "12.5", "02/01/2024",
+                "Mexico", status.menuLabel(), reserved, serviceCountry, 20.0, 18.0, 16.0);
+    }
+
+    /** Walks the herd in a fixed order so every size touches animals all over the store. */
+    private int nextIndex() {
+        int i = next;
+        next = (i + 7919) % herdSize; // prime stride: visits every animal, not in insertion order
+        return i;
+    }
+
+    @Benchmark
+    public RescueAnimal getAnimalById() {
+        return manager.getAnimalById(ids[nextIndex()]);
+    }
+
+    @Benchmark
+    public List<RescueAnimal> findByName() {
+        return manager.findByName(names[nextIndex()]);
+    }
+
+    @Benchmark
+    public List<RescueAnimal> listByType() {
+        return manager.listByType("dog");
+    }
+
+    @Benchmark
+    public List<RescueAnimal> listAvailableForService() {
+        return manager.listAvailableForService("dog");
+    }
+
+    /**
+     * Animals that can still advance, one entry per step each can take, for advanceTraining only.
+     * Before each iteration, outside the measurement, every animal that has gone as far as training
+     * takes it (Phase V, in service, farm) is re-admitted at intake with its own type and fields,
+     * and the steps are queued round by round so consecutive calls hit different animals.
+     */
+    @State(Scope.Benchmark)
+    public static class TrainingQueue {
+
+        ArrayDeque<String> advanceable;
+
+        @Setup(Level.Iteration)
+        public void refill(AnimalManagerBenchmark herd) {
+            int[] steps = new int[herd.herdSize];
+            int rounds = 0;
+            for (int i = 0; i < herd.herdSize; i++) {
+                RescueAnimal a = herd.manager.getAnimalById(herd.ids[i]);
+                if (a.getTrainingStatusEnum().compareTo(RescueAnimal.TrainingStatus.PHASE_V) >= 0) {
+                    herd.manager.removeAnimal(herd.ids[i]);
+                    a = atIntake(a);
+                    herd.manager.addAnimal(a);
+                }
+                steps[i] = RescueAnimal.TrainingStatus.PHASE_V.ordinal() - a.getTrainingStatusEnum().ordinal();
+                rounds = Math.max(rounds, steps[i]);
+            }
+            advanceable = new ArrayDeque<>();
+            for (int round = 0; round < rounds; round++) {
+                for (int n = 0; n < herd.herdSize; n++) {
+                    int i = herd.nextIndex();
+                    if (steps[i] > round) advanceable.add(herd.ids[i]);
+                }
+            }
+        }
+
+        private static RescueAnimal atIntake(RescueAnimal a) {
+            if (a instanceof Monkey m) {
+                return new Monkey(m.getUniqueId(), m.getName(), m.getSpecies(), m.getGender(), m.getAge(),
+                        m.getWeight(), m.getAcquisitionDate(), m.getAcquisitionCountry(), "intake", false, null,
+                        m.getTailLength(), m.getHeight(), m.getBodyLength());
+            }
+            Dog d = (Dog) a;
+            return new Dog(d.getUniqueId(), d.getName(), d.getBreed(), d.getGender(), d.getAge(), d.getWeight(),
+                    d.getAcquisitionDate(), d.getAcquisitionCountry(), "intake", false, null);
+        }
+    }
+
+    /** Calls per advanceTraining iteration: no more than the smallest herd always has steps left for. */
+    static final int ADVANCES_PER_ITERATION = 1_000;
+
+    /**
+     * Advances one animal a step, always one that can still take it, so only advanceTraining is
+     * measured. Each iteration is a fixed batch of calls (reported as the time per batch), because
+     * a time-bound iteration would run a small herd out of steps.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 20, batchSize = ADVANCES_PER_ITERATION)
+    @Measurement(iterations = 50, batchSize = ADVANCES_PER_ITERATION)
+    public void advanceTraining(TrainingQueue training) {
+        manager.advanceTraining(training.advanceable.poll());
+    }
+}
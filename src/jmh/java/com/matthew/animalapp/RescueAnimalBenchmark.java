@@ -0,0 +1,54 @@
+package com.matthew.animalapp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-animal costs that don't depend on herd size: parsing the training status text
+ * (every load, import and menu change goes through it) and rendering an animal for the menu.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RescueAnimalBenchmark {
+
+    /** Every spelling parse accepts for a status, as the database, files and menu supply them. */
+    static final String[] STATUS_TEXT = {
+            "intake", "Phase I", "phase 1", "Phase II", "phase 2", "Phase III", "phase 3",
+            "Phase IV", "phase 4", "Phase V", "phase 5", "in service", "In-Service", "farm"};
+
+    final Dog dog = new Dog("RA-1", "Rex", "Bloodhound", "male", "3", "55.0",
+            "01/15/2024", "United States", "in service", true, "Canada");
+    final Monkey monkey = new Monkey("RA-2", "Milo", "Capuchin", "female", "4", "12.5",
+            "02/01/2024", "Mexico", "Phase II", false, null, 20.0, 18.0, 16.0);
+    int next;
+
+    @Benchmark
+    public RescueAnimal.TrainingStatus parseTrainingStatus() {
+        String text = STATUS_TEXT[next];
+        next = (next + 1) % STATUS_TEXT.length;
+        return RescueAnimal.TrainingStatus.parse(text);
+    }
+
+    @Benchmark
+    public String dogToString() {
+        return dog.toString();
+    }
+
+    @Benchmark
+    public String monkeyToString() {
+        return monkey.toString();
+    }
+}
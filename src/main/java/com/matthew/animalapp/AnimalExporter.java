@@ -0,0 +1,109 @@
+package com.matthew.animalapp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes animals from the database to CSV or NDJSON (see RecordFormat) without loading them:
+ * rows come off a forward-only cursor (AnimalStorage.streamProjection) and each one is
+ * formatted into a reused buffer and written out before the next is read, so memory use
+ * stays the same whatever the table size. Filter with an AnimalQuery (type, training status, ...).
+ * Columns are the animal's id followed by IntakeRecord's fields, so an export can be
+ * imported again with BulkImporter (which ignores the id).
+ */
+public final class AnimalExporter {
+
+    static final AnimalQuery.Column[] COLUMNS = {
+            AnimalQuery.Column.ID, AnimalQuery.Column.TYPE, AnimalQuery.Column.NAME,
+            AnimalQuery.Column.BREED, AnimalQuery.Column.SPECIES, AnimalQuery.Column.GENDER,
+            AnimalQuery.Column.AGE, AnimalQuery.Column.WEIGHT, AnimalQuery.Column.ACQUISITION_DATE,
+            AnimalQuery.Column.ACQUISITION_COUNTRY, AnimalQuery.Column.TRAINING_STATUS,
+            AnimalQuery.Column.RESERVED, AnimalQuery.Column.IN_SERVICE_COUNTRY,
+            AnimalQuery.Column.TAIL_LENGTH, AnimalQuery.Column.HEIGHT, AnimalQuery.Column.BODY_LENGTH};
+
+    /** Field names in the file, matching COLUMNS. */
+    static final String[] NAMES = {
+            "id", "type", "name", "breed", "species", "gender", "age", "weight", "acquisitionDate",
+            "acquisitionCountry", "trainingStatus", "reserved", "inServiceCountry",
+            "tailLength", "height", "bodyLength"};
+
+    private final AnimalStorage helper;
+    private int fetchSize = 1_000;
+
+    public AnimalExporter(AnimalStorage helper) {
+        this.helper = helper;
+    }
+
+    /** Rows the cursor fetches from the database at a time (default 1,000). */
+    public AnimalExporter fetchSize(int rows) {
+        if (rows < 1) throw new IllegalArgumentException("fetch size must be at least 1");
+        this.fetchSize = rows;
+        return this;
+    }
+
+    /** Exports to a file (replaced if it exists), choosing the format from its extension. Returns the row count. */
+    public long exportFile(AnimalQuery query, Path file) throws IOException {
+        RecordFormat format = RecordFormat.forFile(file);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            return export(query, format, out);
+        }
+    }
+
+    /** Writes the matching animals to out (not closed; flushed at the end). Returns the row count. */
+    public long export(AnimalQuery query, RecordFormat format, Writer out) throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        if (format == RecordFormat.CSV) {
+            out.write(String.join(",", NAMES));
+            out.write('\n');
+        }
+        long rows;
+        try {
+            rows = helper.streamProjection(query, fetchSize, row -> {
+                line.setLength(0);
+                if (format == RecordFormat.CSV) {
+                    appendCsv(line, row);
+                } else {
+                    appendJson(line, row);
+                }
+                line.append('\n');
+                try {
+                    out.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // out of the cursor loop; unwrapped below
+                }
+            }, COLUMNS);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        return rows;
+    }
+
+    private static void appendCsv(StringBuilder line, Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) line.append(',');
+            if (row[i] != null) RecordCodec.appendCsvField(line, row[i].toString());
+        }
+    }
+
+    /** Strings quoted, reserved and the measurements as JSON booleans/numbers, unknown values as null. */
+    private static void appendJson(StringBuilder line, Object[] row) {
+        line.append('{');
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) line.append(',');
+            line.append('"').append(NAMES[i]).append("\":");
+            Object value = row[i];
+            if (value instanceof String s) {
+                RecordCodec.appendJsonString(line, s);
+            } else {
+                line.append(value); // Boolean, Double or null
+            }
+        }
+        line.append('}');
+    }
+}
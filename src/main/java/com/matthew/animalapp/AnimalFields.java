@@ -0,0 +1,103 @@
+package com.matthew.animalapp;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * Parsing and formatting for the typed age, weight and acquisition date fields of RescueAnimal.
+ * The text forms are the ones the menu produces: age "3", weight "55.0" (Double.toString),
+ * date "MM/dd/yyyy". Parsers are hand-rolled so loading a large table doesn't go through
+ * DateTimeFormatter or exceptions for every row.
+ * The same rules are written in SQL in SchemaMigrations (migration 5) to fill the typed columns.
+ */
+final class AnimalFields {
+
+    static final int UNKNOWN_AGE = RescueAnimal.UNKNOWN_AGE;
+    static final int UNKNOWN_DATE = RescueAnimal.UNKNOWN_DATE;
+
+    private AnimalFields() {
+        // utility class, no instances
+    }
+
+    /** Whole years (digits only, surrounding spaces allowed), or UNKNOWN_AGE. */
+    static int parseAge(String text) {
+        if (text == null) return UNKNOWN_AGE;
+        String s = text.trim();
+        if (s.isEmpty() || s.length() > 9) return UNKNOWN_AGE;
+        int value = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return UNKNOWN_AGE;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    static String formatAge(int age) {
+        return age == UNKNOWN_AGE ? null : Integer.toString(age);
+    }
+
+    /** Pounds ("55", "55.0", "55.25"), or NaN when the text isn't a plain decimal number. */
+    static double parseWeight(String text) {
+        if (text == null) return Double.NaN;
+        String s = text.trim();
+        int dot = s.indexOf('.');
+        if (s.isEmpty() || dot == 0 || dot == s.length() - 1) return Double.NaN;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ((c < '0' || c > '9') && i != dot) return Double.NaN;
+        }
+        return Double.parseDouble(s);
+    }
+
+    static String formatWeight(double weight) {
+        return Double.isNaN(weight) ? null : Double.toString(weight);
+    }
+
+    /** Days since 1970-01-01 for an "MM/dd/yyyy" date, or UNKNOWN_DATE. */
+    static int parseDate(String text) {
+        if (text == null) return UNKNOWN_DATE;
+        String s = text.trim();
+        if (s.length() != 10 || s.charAt(2) != '/' || s.charAt(5) != '/') return UNKNOWN_DATE;
+        int month = digits(s, 0, 2);
+        int day = digits(s, 3, 5);
+        int year = digits(s, 6, 10);
+        if (month < 0 || day < 0 || year < 0) return UNKNOWN_DATE;
+        try {
+            return (int) LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            return UNKNOWN_DATE; // 02/30/2022 and the like
+        }
+    }
+
+    static String formatDate(int epochDay) {
+        if (epochDay == UNKNOWN_DATE) return null;
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        char[] out = new char[10];
+        twoDigits(out, 0, date.getMonthValue());
+        out[2] = '/';
+        twoDigits(out, 3, date.getDayOfMonth());
+        out[5] = '/';
+        int year = date.getYear();
+        for (int i = 9; i >= 6; i--) {
+            out[i] = (char) ('0' + year % 10);
+            year /= 10;
+        }
+        return new String(out);
+    }
+
+    private static int digits(String s, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void twoDigits(char[] out, int at, int value) {
+        out[at] = (char) ('0' + value / 10);
+        out[at + 1] = (char) ('0' + value % 10);
+    }
+}
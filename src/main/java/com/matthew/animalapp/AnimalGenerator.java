@@ -0,0 +1,177 @@
+package com.matthew.animalapp;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generator of realistic, valid animals for load and soak tests. The same seed, reference
+ * data and asOf date always produce the same animals in the same order (IDs aside, which come from
+ * wherever the animals are written). Every animal passes BulkValidator: breeds, species, countries
+ * and genders come from ReferenceData, numbers stay inside Validation's ranges, acquisition dates
+ * fall within the animal's lifetime, and only in-service animals are reserved or have a service country.
+ * Training statuses follow STATUS_PERCENT, a shelter where most animals are in training or in service.
+ *
+ * <p>Write into a database with writeTo (batched inserts, IDs reserved from the database's sequence)
+ * or into a running AnimalManager with addTo. From the command line:
+ * {@code AnimalGenerator <count> [seed] [database file]}.
+ */
+public final class AnimalGenerator {
+
+    /** Share of animals in each training status, in TrainingStatus order; adds up to 100. */
+    static final int[] STATUS_PERCENT = {15, 12, 11, 10, 9, 8, 27, 8};
+    /** Share of in-service animals that are reserved. */
+    static final int RESERVED_PERCENT = 35;
+    static final int DOG_PERCENT = 65;
+    static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    private static final String[] NAMES = {
+            "Ace", "Bella", "Bolt", "Buddy", "Charlie", "Coco", "Daisy", "Duke", "Ellie", "Finn",
+            "Gizmo", "Hazel", "Hunter", "Jack", "Kona", "Luna", "Max", "Milo", "Nala", "Oliver",
+            "Penny", "Pip", "Rex", "Riley", "Rocky", "Rosie", "Sadie", "Scout", "Shadow", "Sky",
+            "Toby", "Willow", "Zeus", "Ziggy"};
+
+    private final SplittableRandom random;
+    private final ReferenceData data;
+    private LocalDate asOf = LocalDate.now();
+    private long generated;
+
+    /** Uses the shared reference data (what Validation and the menu allow). */
+    public AnimalGenerator(long seed) {
+        this(seed, ReferenceDataRegistry.shared().current());
+    }
+
+    public AnimalGenerator(long seed, ReferenceData data) {
+        this.random = new SplittableRandom(seed);
+        this.data = data;
+    }
+
+    /** Date acquisition dates are counted back from (default today); fix it for repeatable output across days. */
+    public AnimalGenerator asOf(LocalDate date) {
+        if (date == null) throw new IllegalArgumentException("asOf date is required");
+        this.asOf = date;
+        return this;
+    }
+
+    /** Next animal, with an ID from RescueAnimal's in-process counter (fine for benchmarks and tests). */
+    public RescueAnimal next() {
+        return next(null);
+    }
+
+    /** The next count animals; see next(). Use addTo or writeTo for IDs from a database's sequence. */
+    public List<RescueAnimal> generate(int count) {
+        List<RescueAnimal> animals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) animals.add(next(null));
+        return animals;
+    }
+
+    /**
+     * Adds count animals to the manager in batches (AnimalManager.addAll), with IDs from
+     * AnimalManager.newAnimalId. Returns how many were added.
+     */
+    public int addTo(AnimalManager manager, int count) {
+        int added = 0;
+        List<RescueAnimal> batch = new ArrayList<>(Math.min(DEFAULT_BATCH_SIZE, count));
+        for (int done = 0; done < count; done += DEFAULT_BATCH_SIZE) {
+            batch.clear();
+            int size = Math.min(DEFAULT_BATCH_SIZE, count - done);
+            for (int i = 0; i < size; i++) batch.add(next(manager.newAnimalId()));
+            added += manager.addAll(batch).size();
+        }
+        return added;
+    }
+
+    /**
+     * Inserts count animals straight into the database, batchSize rows per transaction (saveBatch),
+     * with IDs reserved a batch at a time so they never collide with existing or future animals.
+     */
+    public int writeTo(AnimalStorage helper, int count, int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batch size must be at least 1");
+        List<RescueAnimal> batch = new ArrayList<>(Math.min(batchSize, count));
+        for (int done = 0; done < count; done += batchSize) {
+            int size = Math.min(batchSize, count - done);
+            int first = helper.reserveIdBlock(size);
+            batch.clear();
+            for (int i = 0; i < size; i++) batch.add(next(AnimalIds.format(first + i)));
+            helper.saveBatch(batch, List.of());
+        }
+        return count;
+    }
+
+    private RescueAnimal next(String id) {
+        long n = ++generated;
+        boolean dog = random.nextInt(100) < DOG_PERCENT;
+        String name = pick(NAMES) + " " + n; // numbered so names stay distinct across millions
+        String gender = pick(data.values(ReferenceData.Attribute.GENDER));
+        int age = dog ? 1 + random.nextInt(14) : 1 + random.nextInt(25);
+        String date = AnimalFields.formatDate((int) asOf.minusDays(random.nextInt(365 * Math.min(age, 5) + 1)).toEpochDay());
+        String country = pick(data.values(ReferenceData.Attribute.COUNTRY));
+        RescueAnimal.TrainingStatus status = status();
+        boolean inService = status == RescueAnimal.TrainingStatus.IN_SERVICE;
+        boolean reserved = inService && random.nextInt(100) < RESERVED_PERCENT;
+        String serviceCountry = inService ? pick(data.values(ReferenceData.Attribute.COUNTRY)) : null;
+
+        if (dog) {
+            String breed = pick(data.values(ReferenceData.Attribute.BREED));
+            String weight = AnimalFields.formatWeight(tenths(30, 110));
+            return id == null
+                    ? new Dog(name, breed, gender, String.valueOf(age), weight, date, country,
+                              status.menuLabel(), reserved, serviceCountry)
+                    : new Dog(id, name, breed, gender, String.valueOf(age), weight, date, country,
+                              status.menuLabel(), reserved, serviceCountry);
+        }
+        String species = pick(data.values(ReferenceData.Attribute.MONKEY_SPECIES));
+        String weight = AnimalFields.formatWeight(tenths(2, 40));
+        double tail = tenths(10, 35), height = tenths(8, 30), body = tenths(8, 30);
+        return id == null
+                ? new Monkey(name, species, gender, String.valueOf(age), weight, date, country,
+                             status.menuLabel(), reserved, serviceCountry, tail, height, body)
+                : new Monkey(id, name, species, gender, String.valueOf(age), weight, date, country,
+                             status.menuLabel(), reserved, serviceCountry, tail, height, body);
+    }
+
+    private RescueAnimal.TrainingStatus status() {
+        int roll = random.nextInt(100);
+        RescueAnimal.TrainingStatus[] statuses = RescueAnimal.TrainingStatus.values();
+        for (int i = 0; i < statuses.length; i++) {
+            roll -= STATUS_PERCENT[i];
+            if (roll < 0) return statuses[i];
+        }
+        return statuses[statuses.length - 1];
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /** Uniform value in [min, max] rounded to one decimal place. */
+    private double tenths(int min, int max) {
+        return (min * 10 + random.nextInt((max - min) * 10 + 1)) / 10.0;
+    }
+
+    /** Usage: AnimalGenerator &lt;count&gt; [seed (default 42)] [database file (default animals.db)]. */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: AnimalGenerator <count> [seed] [database file]");
+            System.exit(2);
+        }
+        int count = Integer.parseInt(args[0]);
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        String url = args.length > 2 ? "jdbc:sqlite:" + args[2] : DatabaseConnector.DEFAULT_URL;
+
+        long start = System.nanoTime();
+        try (PooledDatabaseConnector connector = new PooledDatabaseConnector(url, DatabaseProfile.BULK_LOAD)) {
+            DatabaseHelper helper = new DatabaseHelper(connector);
+            new AnimalGenerator(seed, helper.loadReferenceData()).writeTo(helper, count, DEFAULT_BATCH_SIZE);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        System.out.printf("Generated %,d animals (seed %d) into %s in %,d ms (%,.0f rows/sec)%n",
+                count, seed, url, elapsed.toMillis(), count * 1e9 / Math.max(1, elapsed.toNanos()));
+    }
+}
@@ -0,0 +1,61 @@
+package com.matthew.animalapp;
+
+import java.util.Locale;
+
+/**
+ * Helpers for the rescue ID format ("RA-" followed by a number).
+ * Lookups key on the numeric part so they stay case-insensitive without
+ * comparing strings against every stored ID.
+ */
+public final class AnimalIds {
+
+    public static final String PREFIX = "RA-";
+
+    private AnimalIds() {
+        // utility class, no instances
+    }
+
+    /** Builds the canonical ID for a number, e.g. 7 -> "RA-7". */
+    public static String format(int number) {
+        return PREFIX + number;
+    }
+
+    /**
+     * Returns the numeric part of a canonical ID in any casing ("RA-7", "ra-7"),
+     * or -1 if the ID isn't in canonical form (blank, leading zeros, spaces, overflow...).
+     * Two IDs with the same number here are always equalsIgnoreCase to each other.
+     */
+    public static int parseNumber(String id) {
+        if (id == null) return -1;
+        int len = id.length();
+        if (len <= PREFIX.length() || !id.regionMatches(true, 0, PREFIX, 0, PREFIX.length())) {
+            return -1;
+        }
+        int start = PREFIX.length();
+        // "RA-0" is canonical, "RA-07" is not (it would not match "RA-7" ignoring case)
+        if (id.charAt(start) == '0' && len > start + 1) return -1;
+        long value = 0;
+        for (int i = start; i < len; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) return -1;
+        }
+        return (int) value;
+    }
+
+    /**
+     * Case-insensitive key for an ID: the canonical "RA-n" form when it has one,
+     * otherwise the ID lower-cased. Two IDs get the same key exactly when the manager treats them as equal.
+     */
+    public static String lookupKey(String id) {
+        int number = parseNumber(id);
+        return number >= 0 ? format(number) : id.toLowerCase(Locale.ROOT);
+    }
+
+    /** ID as stored in the database: canonical "RA-n" when possible, otherwise as given. */
+    public static String canonical(String id) {
+        int number = parseNumber(id);
+        return number >= 0 ? format(number) : id;
+    }
+}
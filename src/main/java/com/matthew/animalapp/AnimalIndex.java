@@ -0,0 +1,91 @@
+package com.matthew.animalapp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary indexes for AnimalManager: type, training status (per type) and
+ * "in service and not reserved" (per type).
+ * The manager keeps these in step on every add, remove and state change,
+ * so the list screens cost the size of the result instead of the whole herd.
+ * All sets are concurrent: lists are weakly consistent snapshots and an animal
+ * may be missing from them for the instant it is being re-indexed.
+ */
+class AnimalIndex {
+
+    private final Map<String, Set<RescueAnimal>> byType = new ConcurrentHashMap<>();
+    private final Map<String, Map<RescueAnimal.TrainingStatus, Set<RescueAnimal>>> byStatus = new ConcurrentHashMap<>();
+    private final Map<String, Set<RescueAnimal>> available = new ConcurrentHashMap<>();
+
+    /** Type key used by the indexes and the menus ("dog", "monkey", or "rescue" for anything else). */
+    static String typeOf(RescueAnimal a) {
+        if (a instanceof Dog) return "dog";
+        if (a instanceof Monkey) return "monkey";
+        return "rescue";
+    }
+
+    /** Adds the animal under its current type, status and reservation state (caller holds the animal's lock). */
+    void add(RescueAnimal a) {
+        String type = typeOf(a);
+        byType.computeIfAbsent(type, t -> newSet()).add(a);
+        byStatus.computeIfAbsent(type, t -> newStatusMap())
+                .get(a.getTrainingStatusEnum())
+                .add(a);
+        if (isAvailable(a)) {
+            available.computeIfAbsent(type, t -> newSet()).add(a);
+        }
+    }
+
+    /** Removes the animal; must be called before its status or reservation changes. */
+    void remove(RescueAnimal a) {
+        String type = typeOf(a);
+        removeFrom(byType.get(type), a);
+        Map<RescueAnimal.TrainingStatus, Set<RescueAnimal>> statuses = byStatus.get(type);
+        if (statuses != null) removeFrom(statuses.get(a.getTrainingStatusEnum()), a);
+        removeFrom(available.get(type), a);
+    }
+
+    List<RescueAnimal> ofType(String type) {
+        return copyOf(byType.get(type));
+    }
+
+    List<RescueAnimal> withStatus(String type, RescueAnimal.TrainingStatus status) {
+        Map<RescueAnimal.TrainingStatus, Set<RescueAnimal>> statuses = byStatus.get(type);
+        return statuses == null ? new ArrayList<>() : copyOf(statuses.get(status));
+    }
+
+    List<RescueAnimal> availableForService(String type) {
+        return copyOf(available.get(type));
+    }
+
+    private static Set<RescueAnimal> newSet() {
+        return ConcurrentHashMap.newKeySet();
+    }
+
+    // Filled up front so the EnumMap itself is never written after it is published
+    private static Map<RescueAnimal.TrainingStatus, Set<RescueAnimal>> newStatusMap() {
+        Map<RescueAnimal.TrainingStatus, Set<RescueAnimal>> statuses = new EnumMap<>(RescueAnimal.TrainingStatus.class);
+        for (RescueAnimal.TrainingStatus status : RescueAnimal.TrainingStatus.values()) {
+            statuses.put(status, newSet());
+        }
+        return statuses;
+    }
+
+    private static boolean isAvailable(RescueAnimal a) {
+        return a.getTrainingStatusEnum() == RescueAnimal.TrainingStatus.IN_SERVICE && !a.isReserved();
+    }
+
+    private static void removeFrom(Set<RescueAnimal> set, RescueAnimal a) {
+        if (set != null) set.remove(a);
+    }
+
+    // Callers get their own list (MenuController appends to it), sized to the result
+    private static List<RescueAnimal> copyOf(Set<RescueAnimal> set) {
+        return new ArrayList<>(set == null ? Collections.emptySet() : set);
+    }
+}
@@ -0,0 +1,109 @@
+package com.matthew.animalapp;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Initial load for AnimalManager: splits the table's rowid range into one slice per thread
+ * and streams each slice on its own reader connection, handing every animal to the sink
+ * as soon as its row is read (no intermediate list of the whole table). A slice is read
+ * ROWIDS_PER_STATEMENT rowids at a time, one statement each, so no reader keeps the database
+ * locked for long: with a rollback journal a reader blocks every writer until its statement
+ * ends, and the menu is already taking changes while the load runs.
+ * If a snapshot file is given and still matches the database (see AnimalSnapshot), the
+ * animals come from it instead and no SQL rows are read.
+ * The sink is called from several threads at once.
+ */
+class AnimalLoader {
+
+    /** Below this many rowids a single slice is faster than coordinating several. */
+    private static final long MIN_ROWIDS_PER_SLICE = 10_000;
+
+    /** Rowids read per statement; small enough that a waiting writer gets in well within its busy timeout. */
+    static final long ROWIDS_PER_STATEMENT = 10_000;
+
+    private AnimalLoader() {
+        // static helper, no instances
+    }
+
+    /**
+     * Starts loading on background threads; the future completes when every slice is done.
+     * {@code snapshot} may be null.
+     */
+    static CompletableFuture<LoadReport> start(AnimalStorage db, int threads, Path snapshot,
+                                               Consumer<RescueAnimal> sink) {
+        long started = System.nanoTime();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "animal-loader-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        CompletableFuture<LoadReport> done = CompletableFuture.supplyAsync(() -> readSnapshot(db, snapshot, sink), pool)
+                .thenCompose(fromSnapshot -> fromSnapshot >= 0
+                        ? CompletableFuture.completedFuture(new LoadReport(fromSnapshot,
+                                Duration.ofNanos(System.nanoTime() - started), 1, true))
+                        : loadRows(db, threads, pool, sink, started));
+        done.whenComplete((report, error) -> pool.shutdown());
+        return done;
+    }
+
+    private static CompletableFuture<LoadReport> loadRows(AnimalStorage db, int threads, ExecutorService pool,
+                                                          Consumer<RescueAnimal> sink, long started) {
+        return CompletableFuture.supplyAsync(db::rowidRange, pool)
+                .thenCompose(range -> {
+                    if (range == null) return CompletableFuture.completedFuture(0L); // empty table
+                    List<CompletableFuture<Integer>> slices = new ArrayList<>();
+                    for (long[] slice : slices(range[0], range[1], threads)) {
+                        slices.add(CompletableFuture.supplyAsync(
+                                () -> streamSlice(db, slice[0], slice[1], sink), pool));
+                    }
+                    return CompletableFuture.allOf(slices.toArray(new CompletableFuture<?>[0]))
+                            .thenApply(v -> slices.stream().mapToLong(CompletableFuture::join).sum());
+                })
+                .thenApply(rows -> new LoadReport(rows, Duration.ofNanos(System.nanoTime() - started), threads));
+    }
+
+    /** Streams [fromRowid, toRowid] in chunks of ROWIDS_PER_STATEMENT. */
+    private static int streamSlice(AnimalStorage db, long fromRowid, long toRowid, Consumer<RescueAnimal> sink) {
+        int rows = 0;
+        for (long from = fromRowid; ; from += ROWIDS_PER_STATEMENT) {
+            long to = Math.min(toRowid, from + ROWIDS_PER_STATEMENT - 1);
+            rows += db.streamAnimals(from, to, sink);
+            if (to == toRowid) return rows;
+        }
+    }
+
+    /** Animals read from the snapshot, or -1 if there is none or it no longer matches the database. */
+    private static int readSnapshot(AnimalStorage db, Path snapshot, Consumer<RescueAnimal> sink) {
+        if (snapshot == null) return -1;
+        try {
+            return AnimalSnapshot.read(snapshot, db.getDatabaseId(), db.getChangeCounter(), sink);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable snapshot " + snapshot + ": " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /** Splits [min, max] into at most {@code count} contiguous inclusive ranges. */
+    static List<long[]> slices(long min, long max, int count) {
+        long span = max - min + 1;
+        int n = (int) Math.max(1, Math.min(count, span / MIN_ROWIDS_PER_SLICE));
+        List<long[]> slices = new ArrayList<>(n);
+        long from = min;
+        for (int i = 0; i < n; i++) {
+            long to = (i == n - 1) ? max : from + span / n - 1;
+            slices.add(new long[]{from, to});
+            from = to + 1;
+        }
+        return slices;
+    }
+}
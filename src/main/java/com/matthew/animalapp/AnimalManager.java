@@ -1,31 +1,94 @@
 package com.matthew.animalapp;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * AnimalManager handles in-memory storage of rescue animals.
- * Uses a HashMap keyed by each animal's uniqueId.
- * Supports CRUD operations and filtering by type, training status, and reservation.
- * Syncs with SQLite via DatabaseHelper with enhancement 3.
+ * Uses an AnimalStore keyed by the number in each animal's uniqueId, so ID lookups
+ * are case-insensitive and constant time.
+ * Supports CRUD operations and filtering by type, training status, and reservation;
+ * the filters are answered from an AnimalIndex kept up to date on every change.
+ * Syncs with SQLite via DatabaseHelper with enhancement 3; any other AnimalStorage
+ * (see StorageProviders) can be passed in its place.
+ *
+ * Safe to share between operators/threads: lookups and lists never block, and every
+ * change to an animal (state, indexes and its database write) happens while holding
+ * that animal's lock, so concurrent changes can't lose updates or double-reserve.
+ *
+ * With ManagerOptions.writeBehind the database writes are queued and batched by a
+ * WriteBehindQueue instead; close() flushes anything still queued.
+ *
+ * The initial load streams rows in parallel (AnimalLoader). With ManagerOptions.backgroundLoad
+ * the constructor returns before it finishes: lookups and changes by ID read rows that
+ * haven't arrived yet straight from the database, and the list methods wait for the load.
+ * With ManagerOptions.snapshot, close() also writes an AnimalSnapshot that the next start
+ * loads instead of the SQL rows if the database hasn't changed in between. The snapshot is
+ * only written if every row change since the load was this manager's own; if anything else
+ * wrote to the database meanwhile, the old snapshot is deleted and the next start reads the rows.
+ * New animals take their IDs from newAnimalId, backed by this manager's own IdAllocator
+ * (hi/lo blocks from its database, no startup scan), so two managers never share a sequence.
+ *
+ * With ManagerOptions.workingSet (bounded-memory mode) nothing is loaded up front: a
+ * size-bounded LRU WorkingSet holds recently used animals, misses are faulted in through
+ * AnimalStorage.getAnimalById, and the list methods run as queries through AnimalStorage.query,
+ * with cached and still-queued changes laid over the rows. In that mode changes to one ID are
+ * serialized on the working set's stripe lock for that ID, and list results are snapshots.
  */
-public class AnimalManager {
+public class AnimalManager implements AutoCloseable {
 
-    private final Map<String, RescueAnimal> animals = new HashMap<>();
-    private final DatabaseHelper dbHelper;
+    private final AnimalStore animals = new AnimalStore();
+    private final AnimalIndex index = new AnimalIndex();
+    private final AnimalStorage dbHelper;
+    private final WriteBehindQueue writeBehind; // null unless write-behind is enabled
+    private final WorkingSet workingSet;        // null unless bounded-memory mode is enabled
+    private final CompletableFuture<LoadReport> loaded;
+    private final IdAllocator ids;              // new animals' ID numbers (hi/lo blocks from the database)
+    private final Set<String> removedWhileLoading = ConcurrentHashMap.newKeySet(); // lookup keys
+    private final Path snapshotFile;             // null unless snapshots are enabled
+    private final long loadedChangeCounter;      // database change counter before the load
+    private final AtomicLong ownRowWrites = new AtomicLong(); // rows changed by direct (not write-behind) writes
+    private volatile boolean writeFailed = false; // memory may differ from the database: no snapshot
+    private boolean closed = false;
 
     //  Default constructor (production DB)
     public AnimalManager() {
         this(new DatabaseHelper(new DatabaseConnector())); // delegate to the other constructor
     }
 
-    //  New constructor (allows injecting a custom DatabaseHelper, e.g., for tests)
-    public AnimalManager(DatabaseHelper helper) {
+    //  New constructor (allows injecting another storage backend, e.g., for tests)
+    public AnimalManager(AnimalStorage helper) {
+        this(helper, ManagerOptions.defaults());
+    }
+
+    //  Constructor with optional behaviour (write-behind batching, ...)
+    public AnimalManager(AnimalStorage helper, ManagerOptions options) {
         this.dbHelper = helper;
-        for (RescueAnimal animal : dbHelper.listAnimals()) {
-            animals.put(animal.getUniqueId(), animal);
+        this.writeBehind = options.isWriteBehind()
+                ? new WriteBehindQueue(helper, options.getWriteBehindBatchSize(), options.getWriteBehindMaxStaleness())
+                : null;
+        this.workingSet = options.isBoundedWorkingSet() ? new WorkingSet(options.getWorkingSetSize()) : null;
+        if (workingSet == null) {
+            this.snapshotFile = options.getSnapshotFile();
+            this.loadedChangeCounter = snapshotFile != null ? helper.getChangeCounter() : -1;
+            this.loaded = AnimalLoader.start(dbHelper, options.getLoadThreads(), snapshotFile, this::loadAnimal);
+            loaded.whenComplete((report, error) -> removedWhileLoading.clear());
+            if (!options.isBackgroundLoad()) awaitLoaded();
+        } else {
+            this.snapshotFile = null;
+            this.loadedChangeCounter = -1;
+            this.loaded = CompletableFuture.completedFuture(new LoadReport(0, Duration.ZERO, 0));
         }
-        resetIdCounter();
+        this.ids = new IdAllocator(helper, options.getIdBlockSize());
     }
 
     // ===== CRUD METHODS =====
@@ -35,24 +98,76 @@ public class AnimalManager {
      */
     public boolean addAnimal(RescueAnimal animal) {
         if (animal == null) return false;
-        boolean added = animals.putIfAbsent(animal.getUniqueId(), animal) == null;
-        if (added) {
-            dbHelper.addOrUpdateAnimal(animal);
+        if (workingSet != null) return addToWorkingSet(animal);
+        synchronized (animal) {
+            boolean added = animals.putIfAbsent(animal) == null;
+            if (added) {
+                index.add(animal);
+                save(animal);
+            }
+            return added;
+        }
+    }
+
+    /**
+     * Add several new animals with one batched database write (AnimalStorage.saveBatch)
+     * instead of one write each. Animals whose ID is already taken are skipped.
+     * The batch is written before any of it becomes visible, so a failed write adds nothing.
+     * With write-behind or in bounded-memory mode this is the same as calling addAnimal for each.
+     * Returns the animals that were added.
+     */
+    public List<RescueAnimal> addAll(Collection<? extends RescueAnimal> batch) {
+        List<RescueAnimal> added = new ArrayList<>();
+        if (workingSet != null || writeBehind != null) {
+            for (RescueAnimal a : batch) {
+                if (addAnimal(a)) added.add(a);
+            }
+            return added;
+        }
+        List<RescueAnimal> fresh = new ArrayList<>();
+        for (RescueAnimal a : batch) {
+            if (a != null && lookup(a.getUniqueId()) == null) fresh.add(a);
+        }
+        try {
+            ownRowWrites.addAndGet(dbHelper.saveBatch(fresh, List.of()));
+        } catch (RuntimeException e) {
+            writeFailed = true;
+            throw e;
+        }
+        List<RescueAnimal> overwritten = new ArrayList<>();
+        for (RescueAnimal a : fresh) {
+            synchronized (a) {
+                RescueAnimal existing = animals.putIfAbsent(a);
+                if (existing == null) {
+                    index.add(a);
+                    added.add(a);
+                } else {
+                    overwritten.add(existing); // added by someone else since the check
+                }
+            }
+        }
+        for (RescueAnimal existing : overwritten) {
+            synchronized (existing) {
+                save(existing); // our row replaced theirs in the database: put theirs back
+            }
         }
         return added;
     }
 
     /**
-     * Find an animal by uniqueId.
+     * Find an animal by uniqueId (case-insensitive).
      */
     public RescueAnimal getAnimalById(String id) {
-        if (id == null) return null;
-        for (String key : animals.keySet()) {
-            if (key.equalsIgnoreCase(id)) {
-                return animals.get(key);
+        if (workingSet != null) {
+            if (id == null) return null;
+            String key = AnimalIds.lookupKey(id);
+            RescueAnimal cached = workingSet.get(key);
+            if (cached != null) return cached;
+            synchronized (workingSet.lockFor(key)) {
+                return faultIn(key, id);
             }
         }
-        return null;
+        return lookup(id);
     }
 
     /**
@@ -60,22 +175,26 @@ public class AnimalManager {
      * not yet implemented in menu.
      */
     public boolean removeAnimal(String id) {
-        if (id == null) return false;
-        for (String key : new ArrayList<>(animals.keySet())) {
-            if (key.equalsIgnoreCase(id)) {
-                animals.remove(key);
-                dbHelper.deleteAnimal(key);
-                return true;
-            }
+        if (workingSet != null) return removeFromWorkingSet(id);
+        RescueAnimal a = lookup(id);
+        if (a == null) return false;
+        synchronized (a) {
+            // another operator may have removed it while we waited for the lock
+            if (!loaded.isDone()) removedWhileLoading.add(AnimalIds.lookupKey(a.getUniqueId()));
+            if (!animals.remove(a.getUniqueId(), a)) return false;
+            index.remove(a);
+            delete(a.getUniqueId());
+            return true;
         }
-        return false;
     }
 
     /**
      * Return all animals.
      */
     public List<RescueAnimal> listAll() {
-        return new ArrayList<>(animals.values());
+        if (workingSet != null) return overlay(dbHelper.listAnimals(), AnimalQuery.all());
+        awaitLoaded();
+        return animals.values();
     }
 
     // ===== SEARCH & FILTER METHODS =====
@@ -85,14 +204,9 @@ public class AnimalManager {
      */
     public List<RescueAnimal> listByType(String type) {
         if (type == null) return Collections.emptyList();
-        String t = type.trim().toLowerCase();
-        return animals.values().stream()
-                .filter(a -> {
-                    if (t.equals("dog") && a instanceof Dog) return true;
-                    if (t.equals("monkey") && a instanceof Monkey) return true;
-                    return false;
-                })
-                .collect(Collectors.toList());
+        if (workingSet != null) return queryDatabase(AnimalQuery.all().type(normalizeType(type)));
+        awaitLoaded();
+        return index.ofType(normalizeType(type));
     }
 
     /**
@@ -105,19 +219,25 @@ public class AnimalManager {
         } catch (Exception e) {
             return Collections.emptyList();
         }
-        return listByType(type).stream()
-                .filter(a -> a.getTrainingStatusEnum() == status)
-                .collect(Collectors.toList());
+        if (type == null) return Collections.emptyList();
+        if (workingSet != null) {
+            return queryDatabase(AnimalQuery.all().type(normalizeType(type)).statuses(status));
+        }
+        awaitLoaded();
+        return index.withStatus(normalizeType(type), status);
     }
 
     /**
      * List animals available for service: in service and not reserved.
      */
     public List<RescueAnimal> listAvailableForService(String type) {
-        return listByType(type).stream()
-                .filter(a -> a.getTrainingStatusEnum() == RescueAnimal.TrainingStatus.IN_SERVICE)
-                .filter(a -> !a.isReserved())
-                .collect(Collectors.toList());
+        if (type == null) return Collections.emptyList();
+        if (workingSet != null) {
+            return queryDatabase(AnimalQuery.all().type(normalizeType(type))
+                    .statuses(RescueAnimal.TrainingStatus.IN_SERVICE).reserved(false));
+        }
+        awaitLoaded();
+        return index.availableForService(normalizeType(type));
     }
 
     /**
@@ -126,59 +246,347 @@ public class AnimalManager {
     public List<RescueAnimal> findByName(String name) {
         if (name == null) return Collections.emptyList();
         String target = name.trim().toLowerCase();
-        return animals.values().stream()
+        List<RescueAnimal> candidates = (workingSet != null)
+                ? queryDatabase(AnimalQuery.all().nameStartsWith(target)) // narrowed by the name index
+                : loadedAnimals();
+        return candidates.stream()
                 .filter(a -> a.getName() != null && a.getName().trim().toLowerCase().equals(target))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Animals named any of these (trimmed, case-insensitive), from one query on the storage's
+     * name index rather than a scan, with changes not yet written laid over the rows.
+     * Works the same in bounded-memory mode; BulkImporter checks each batch for duplicates with it.
+     */
+    public List<RescueAnimal> findByNames(Collection<String> names) {
+        if (names.isEmpty()) return Collections.emptyList();
+        return queryDatabase(AnimalQuery.all().names(names));
+    }
+
     // ===== TRAINING & RESERVATION METHODS =====
 
     /**
      * Advance training one step. Throws if invalid.
      */
     public void advanceTraining(String id) {
-        RescueAnimal a = animals.get(id);
-        if (a == null) throw new NoSuchElementException("No animal with id: " + id);
-        a.advanceTrainingOneStep();
-        dbHelper.addOrUpdateAnimal(a);
+        change(id, RescueAnimal::advanceTrainingOneStep);
     }
 
     /**
      * Update training status explicitly.
      */
     public void updateTraining(String id, String newStatusRaw) {
-        RescueAnimal a = animals.get(id);
-        if (a == null) throw new NoSuchElementException("No animal with id: " + id);
-        a.setTrainingStatus(newStatusRaw);
-        dbHelper.addOrUpdateAnimal(a);
+        change(id, a -> a.setTrainingStatus(newStatusRaw));
     }
 
     /**
      * Reserve an animal if eligible.
+     * Throws if it is already reserved, so two operators can't both reserve it.
      */
     public void reserveAnimal(String id) {
-        RescueAnimal a = animals.get(id);
-        if (a == null) throw new NoSuchElementException("No animal with id: " + id);
-        a.reserve();
-        dbHelper.addOrUpdateAnimal(a);
+        change(id, a -> {
+            if (a.isReserved()) {
+                throw new IllegalStateException("Animal " + a.getUniqueId() + " is already reserved.");
+            }
+            a.reserve();
+        });
     }
 
     /**
      * Unreserve an animal if eligible.
      */
     public void unreserveAnimal(String id) {
-        RescueAnimal a = animals.get(id);
-        if (a == null) throw new NoSuchElementException("No animal with id: " + id);
-        a.unreserve();
-        dbHelper.addOrUpdateAnimal(a);
+        change(id, RescueAnimal::unreserve);
+    }
+
+    // ===== PERSISTENCE =====
+
+    /**
+     * Write any queued changes now (no-op without write-behind).
+     */
+    public void flush() {
+        if (writeBehind != null) writeBehind.flush();
+    }
+
+    /**
+     * Streams the animals matching the query from the database to a .csv or .ndjson file
+     * (see AnimalExporter), after writing any queued changes. Returns the number exported.
+     */
+    public long exportTo(Path file, AnimalQuery query) throws IOException {
+        flush();
+        return new AnimalExporter(dbHelper).exportFile(query, file);
+    }
+
+    /**
+     * Flush queued changes, stop the write-behind thread and write the snapshot file
+     * (if enabled). Safe to call more than once.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        if (writeBehind != null) writeBehind.close(); // throws (and skips the snapshot) if the flush fails
+        writeSnapshot();
+    }
+
+    private void save(RescueAnimal a) {
+        if (writeBehind != null) {
+            writeBehind.markDirty(a);
+            return;
+        }
+        try {
+            dbHelper.addOrUpdateAnimal(a);
+            ownRowWrites.incrementAndGet();
+        } catch (RuntimeException e) {
+            writeFailed = true;
+            throw e;
+        }
+    }
+
+    private void delete(String id) {
+        if (writeBehind != null) {
+            writeBehind.markDeleted(id);
+            return;
+        }
+        try {
+            if (dbHelper.deleteAnimal(id)) ownRowWrites.incrementAndGet();
+        } catch (RuntimeException e) {
+            writeFailed = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Saves every animal for the next start, but only when memory is known to match the database:
+     * the change counter must have moved by exactly this manager's own row writes since the load.
+     * Otherwise another writer (a second app, AnimalGenerator, sqlite3) changed rows we don't hold,
+     * so the old snapshot is deleted rather than left for a start that would trust it.
+     */
+    private void writeSnapshot() {
+        if (snapshotFile == null || writeFailed || !loaded.isDone() || loaded.isCompletedExceptionally()) return;
+        try {
+            long ownWrites = ownRowWrites.get() + (writeBehind != null ? writeBehind.rowsWritten() : 0);
+            long changeCounter = dbHelper.getChangeCounter();
+            if (changeCounter != loadedChangeCounter + ownWrites) {
+                Files.deleteIfExists(snapshotFile);
+                return;
+            }
+            AnimalSnapshot.write(snapshotFile, dbHelper.getDatabaseId(), changeCounter, animals.values());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not write snapshot " + snapshotFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A new "RA-n" ID from this manager's database sequence, for the Dog/Monkey constructors
+     * that take an ID. Never handed out twice, even to another manager or process on the same database.
+     */
+    public String newAnimalId() {
+        return AnimalIds.format(ids.getAsInt());
     }
 
+    /**
+     * Moves the ID sequence past every ID the manager knows about. Only needed after animals
+     * with IDs that didn't come from the sequence were added; costs a scan of every ID.
+     */
     public void resetIdCounter() {
-        int max = animals.keySet().stream()
-                .map(id -> id.replace("RA-", ""))
-                .mapToInt(Integer::parseInt)
-                .max()
-                .orElse(0);
-        RescueAnimal.resetCounter(max + 1);
+        int max;
+        if (workingSet == null && loaded.isDone()) {
+            max = animals.maxNumber();
+        } else {
+            max = dbHelper.maxAnimalNumber();
+            if (writeBehind != null) {
+                for (String id : writeBehind.pendingChanges().keySet()) {
+                    max = Math.max(max, AnimalIds.parseNumber(id)); // added but not yet written
+                }
+            }
+        }
+        ids.advancePast(max);
+    }
+
+    /**
+     * Completes with the load report once the initial load is done
+     * (straight away unless ManagerOptions.backgroundLoad is on).
+     */
+    public CompletableFuture<LoadReport> whenLoaded() {
+        return loaded;
+    }
+
+    /** Waits for the initial load. Throws if it failed. */
+    public LoadReport awaitLoaded() {
+        try {
+            return loaded.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Working set hit/miss counters and size (all zeros unless bounded-memory mode is on).
+     */
+    public WorkingSetStats getWorkingSetStats() {
+        return workingSet == null ? new WorkingSetStats(0, 0, 0, 0) : workingSet.stats();
+    }
+
+    /**
+     * Applies a status/reservation change under the animal's lock, keeping the secondary
+     * indexes in step and saving the result before the lock is released.
+     * The animal is re-indexed even if the change throws, since a rejected change leaves it as it was.
+     */
+    private void change(String id, Consumer<RescueAnimal> change) {
+        if (workingSet != null) {
+            changeInWorkingSet(id, change);
+            return;
+        }
+        RescueAnimal a = requireAnimal(id);
+        synchronized (a) {
+            if (animals.get(id) != a) {
+                throw new NoSuchElementException("No animal with id: " + id); // removed while we waited
+            }
+            index.remove(a);
+            try {
+                change.accept(a);
+            } finally {
+                index.add(a);
+            }
+            save(a);
+        }
+    }
+
+    // ===== BOUNDED-MEMORY MODE (workingSet != null) =====
+
+    private boolean addToWorkingSet(RescueAnimal animal) {
+        String key = AnimalIds.lookupKey(animal.getUniqueId());
+        synchronized (workingSet.lockFor(key)) {
+            if (faultIn(key, animal.getUniqueId()) != null) return false;
+            synchronized (animal) {
+                workingSet.put(key, animal);
+                save(animal);
+            }
+            return true;
+        }
+    }
+
+    private boolean removeFromWorkingSet(String id) {
+        if (id == null) return false;
+        String key = AnimalIds.lookupKey(id);
+        synchronized (workingSet.lockFor(key)) {
+            RescueAnimal a = faultIn(key, id);
+            if (a == null) return false;
+            synchronized (a) {
+                workingSet.remove(key);
+                delete(a.getUniqueId());
+            }
+            return true;
+        }
+    }
+
+    private void changeInWorkingSet(String id, Consumer<RescueAnimal> change) {
+        if (id == null) throw new NoSuchElementException("No animal with id: null");
+        String key = AnimalIds.lookupKey(id);
+        synchronized (workingSet.lockFor(key)) {
+            RescueAnimal a = faultIn(key, id);
+            if (a == null) throw new NoSuchElementException("No animal with id: " + id);
+            synchronized (a) { // write-behind reads the animal under its own lock
+                change.accept(a);
+                save(a);
+            }
+        }
+    }
+
+    /** Cached animal, or loads and caches it. Call with the key's stripe lock held. */
+    private RescueAnimal faultIn(String key, String id) {
+        RescueAnimal a = workingSet.peek(key);
+        if (a != null) return a;
+        String dbId = AnimalIds.canonical(id);
+        if (writeBehind != null) {
+            // evicted before its change was written: the queued copy is the latest one
+            Map<String, RescueAnimal> pending = writeBehind.pendingChanges();
+            if (pending.containsKey(dbId)) {
+                a = pending.get(dbId); // null for a queued delete
+                if (a != null) workingSet.put(key, a);
+                return a;
+            }
+        }
+        a = dbHelper.getAnimalById(dbId);
+        if (a != null) workingSet.put(key, a);
+        return a;
+    }
+
+    private List<RescueAnimal> queryDatabase(AnimalQuery query) {
+        return overlay(dbHelper.query(query), query);
+    }
+
+    /**
+     * Swaps each row for its in-memory copy when one is cached or loaded (it may hold changes
+     * the database doesn't have yet), applies still-queued write-behind changes, and re-checks
+     * the filter against the result.
+     */
+    private List<RescueAnimal> overlay(List<RescueAnimal> rows, AnimalQuery query) {
+        Map<String, RescueAnimal> merged = new LinkedHashMap<>();
+        for (RescueAnimal row : rows) {
+            if (row == null) continue;
+            String key = AnimalIds.lookupKey(row.getUniqueId());
+            RescueAnimal cached = (workingSet != null) ? workingSet.peek(key) : animals.get(row.getUniqueId());
+            merged.put(key, cached != null ? cached : row);
+        }
+        if (writeBehind != null) {
+            writeBehind.pendingChanges().forEach((id, a) -> {
+                String key = AnimalIds.lookupKey(id);
+                if (a == null) {
+                    merged.remove(key);
+                } else {
+                    merged.put(key, a);
+                }
+            });
+        }
+        List<RescueAnimal> result = new ArrayList<>();
+        for (RescueAnimal a : merged.values()) {
+            if (query.matches(a)) result.add(a);
+        }
+        return result;
+    }
+
+    // ===== INITIAL LOAD =====
+
+    /** Loader sink (several loader threads at once): keeps whatever copy got into the store first. */
+    private void loadAnimal(RescueAnimal a) {
+        synchronized (a) {
+            if (animals.putIfAbsent(a) != null) return; // already read in by a lookup
+            index.add(a);
+            // removed by an operator before its row got here: the row read was stale, take it back out
+            if (removedWhileLoading.contains(AnimalIds.lookupKey(a.getUniqueId()))
+                    && animals.remove(a.getUniqueId(), a)) {
+                index.remove(a);
+            }
+        }
+    }
+
+    /** Animal by ID; while the initial load is running, one not loaded yet is read from the database. */
+    private RescueAnimal lookup(String id) {
+        RescueAnimal a = animals.get(id);
+        if (a != null || id == null || loaded.isDone()) return a;
+        if (removedWhileLoading.contains(AnimalIds.lookupKey(id))) return null;
+        RescueAnimal row = dbHelper.getAnimalById(AnimalIds.canonical(id));
+        if (row == null) return animals.get(id); // may have just been loaded or added
+        loadAnimal(row);
+        return animals.get(id);
+    }
+
+    private List<RescueAnimal> loadedAnimals() {
+        awaitLoaded();
+        return animals.values();
+    }
+
+    private static String normalizeType(String type) {
+        return type.trim().toLowerCase();
+    }
+
+    private RescueAnimal requireAnimal(String id) {
+        RescueAnimal a = lookup(id);
+        if (a == null) throw new NoSuchElementException("No animal with id: " + id);
+        return a;
     }
 }
@@ -0,0 +1,341 @@
+package com.matthew.animalapp;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Filter for DatabaseHelper.query/count/project, compiled to a parameterized WHERE clause
+ * so the database does the filtering instead of the caller loading every row.
+ * Filters left unset match everything; the ones that are set are ANDed together.
+ * Results come back in insertion (rowid) order, so limit/offset page through them stably.
+ * {@code AnimalQuery.all().type("dog").statuses(IN_SERVICE).reserved(false).limit(20)}
+ */
+public final class AnimalQuery {
+
+    /** Columns that may be projected. Names are fixed here, never taken from input. */
+    public enum Column {
+        ID("id", RescueAnimal::getUniqueId),
+        TYPE("type", AnimalIndex::typeOf),
+        NAME("name", RescueAnimal::getName),
+        BREED(decoded("breed", "breedCode", AttributeDictionary.BREEDS),
+                a -> (a instanceof Dog d) ? d.getBreed() : null),
+        SPECIES(decoded("species", "speciesCode", AttributeDictionary.MONKEY_SPECIES),
+                a -> (a instanceof Monkey m) ? m.getSpecies() : null),
+        GENDER("gender", RescueAnimal::getGender),
+        AGE("age", RescueAnimal::getAge),
+        WEIGHT("weight", RescueAnimal::getWeight),
+        ACQUISITION_DATE("acquisitionDate", RescueAnimal::getAcquisitionDate),
+        ACQUISITION_COUNTRY(decoded("acquisitionCountry", "acquisitionCountryCode", AttributeDictionary.COUNTRIES),
+                RescueAnimal::getAcquisitionCountry),
+        TRAINING_STATUS("trainingStatus", RescueAnimal::getTrainingStatus),
+        RESERVED("reserved", RescueAnimal::isReserved),
+        IN_SERVICE_COUNTRY(decoded("inServiceCountry", "inServiceCountryCode", AttributeDictionary.COUNTRIES),
+                RescueAnimal::getInServiceCountry),
+        AGE_YEARS("ageYears", a -> a.getAgeYears() == RescueAnimal.UNKNOWN_AGE ? null : a.getAgeYears()),
+        WEIGHT_LBS("weightLbs", a -> Double.isNaN(a.getWeightLbs()) ? null : a.getWeightLbs()),
+        ACQUISITION_DAY("acquisitionDay",
+                a -> a.getAcquisitionEpochDay() == RescueAnimal.UNKNOWN_DATE ? null : a.getAcquisitionEpochDay()),
+        TAIL_LENGTH("tailLength", a -> (a instanceof Monkey m) ? m.getTailLength() : null),
+        HEIGHT("height", a -> (a instanceof Monkey m) ? m.getHeight() : null),
+        BODY_LENGTH("bodyLength", a -> (a instanceof Monkey m) ? m.getBodyLength() : null);
+
+        private final String sqlName;
+        private final Function<RescueAnimal, Object> getter;
+
+        Column(String sqlName, Function<RescueAnimal, Object> getter) {
+            this.sqlName = sqlName;
+            this.getter = getter;
+        }
+
+        /** Column name, or for dictionary-coded columns an expression that turns the code back into text. */
+        String sqlName() { return sqlName; }
+
+        /** The value this column holds for an in-memory animal (same types as DatabaseHelper.project). */
+        Object read(RescueAnimal a) { return getter.apply(a); }
+
+        private static String decoded(String textColumn, String codeColumn, AttributeDictionary dictionary) {
+            return "COALESCE(" + textColumn + ", (SELECT value FROM dictionary WHERE attribute = '"
+                    + dictionary.attribute() + "' AND code = " + codeColumn + "))";
+        }
+    }
+
+    /**
+     * Country filter resolved once. In memory the built-in words compare by code and other values by text;
+     * in SQL the names are looked up in the dictionary table, so stored codes match whatever they stand for.
+     */
+    private record CountryFilter(List<String> names, int[] codes) {
+
+        static CountryFilter of(String... countries) {
+            if (countries.length == 0) throw new IllegalArgumentException("at least one country is required");
+            List<String> names = new ArrayList<>();
+            for (String c : countries) names.add(c.trim());
+            int[] codes = names.stream()
+                    .mapToInt(AttributeDictionary.COUNTRIES::builtInCodeIgnoreCase)
+                    .filter(code -> code != AttributeDictionary.NONE)
+                    .distinct().toArray();
+            return new CountryFilter(names, codes);
+        }
+
+        boolean matches(int code) {
+            if (AttributeDictionary.COUNTRIES.isBuiltIn(code)) {
+                for (int c : codes) {
+                    if (c == code) return true;
+                }
+                return false;
+            }
+            String value = AttributeDictionary.COUNTRIES.decode(code);
+            if (value == null) return false;
+            for (String n : names) {
+                if (n.equalsIgnoreCase(value)) return true;
+            }
+            return false;
+        }
+
+        String condition(String textColumn, String codeColumn) {
+            String in = " COLLATE NOCASE IN " + placeholders(names.size());
+            return "(" + codeColumn + " IN (SELECT code FROM dictionary WHERE attribute = '"
+                    + AttributeDictionary.COUNTRIES.attribute() + "' AND value" + in + ") OR " + textColumn + in + ")";
+        }
+
+        int bind(PreparedStatement ps, int i) throws SQLException {
+            for (String n : names) ps.setString(i++, n);
+            for (String n : names) ps.setString(i++, n);
+            return i;
+        }
+    }
+
+    private String type;
+    private Set<RescueAnimal.TrainingStatus> statuses;
+    private Boolean reserved;
+    private CountryFilter acquisitionCountries;
+    private CountryFilter inServiceCountries;
+    private String namePrefix;
+    private Set<String> names;     // trimmed, as given (bound to SQL, where NOCASE folds ASCII)
+    private Set<String> nameKeys;  // the same with ASCII letters lower-cased, for matches()
+    private int[] ageRange;        // inclusive years
+    private double[] weightRange;  // inclusive lbs
+    private int[] dayRange;        // inclusive epoch days
+    private int limit = -1;
+    private int offset = 0;
+
+    public static AnimalQuery all() {
+        return new AnimalQuery();
+    }
+
+    /** "dog" or "monkey" (case-insensitive). */
+    public AnimalQuery type(String type) {
+        this.type = (type == null) ? null : type.trim().toLowerCase();
+        return this;
+    }
+
+    /** Any of the given training statuses. */
+    public AnimalQuery statuses(RescueAnimal.TrainingStatus... statuses) {
+        return statuses(Arrays.asList(statuses));
+    }
+
+    public AnimalQuery statuses(Collection<RescueAnimal.TrainingStatus> statuses) {
+        if (statuses.isEmpty()) throw new IllegalArgumentException("at least one training status is required");
+        this.statuses = EnumSet.copyOf(statuses);
+        return this;
+    }
+
+    public AnimalQuery reserved(boolean reserved) {
+        this.reserved = reserved;
+        return this;
+    }
+
+    /** Acquired in any of the given countries (case-insensitive). */
+    public AnimalQuery acquisitionCountries(String... countries) {
+        this.acquisitionCountries = CountryFilter.of(countries);
+        return this;
+    }
+
+    /** In service in any of the given countries (case-insensitive). */
+    public AnimalQuery inServiceCountries(String... countries) {
+        this.inServiceCountries = CountryFilter.of(countries);
+        return this;
+    }
+
+    /** Name starts with the prefix (case-insensitive for ASCII letters, like SQL LIKE). */
+    public AnimalQuery nameStartsWith(String prefix) {
+        this.namePrefix = (prefix == null || prefix.isEmpty()) ? null : prefix;
+        return this;
+    }
+
+    /** Name is one of these (trimmed; case-insensitive for ASCII letters, like SQL NOCASE). Uses the name index. */
+    public AnimalQuery names(Collection<String> names) {
+        if (names.isEmpty()) throw new IllegalArgumentException("at least one name is required");
+        Set<String> trimmed = new LinkedHashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (String n : names) {
+            trimmed.add(n.trim());
+            keys.add(asciiLowerCase(n.trim()));
+        }
+        this.names = trimmed;
+        this.nameKeys = keys;
+        return this;
+    }
+
+    /** Lower-cases A-Z only, the folding SQLite's NOCASE does. */
+    private static String asciiLowerCase(String s) {
+        char[] chars = s.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') chars[i] += 'a' - 'A';
+        }
+        return new String(chars);
+    }
+
+    /** Age between min and max years, inclusive. Animals with an unknown age don't match. */
+    public AnimalQuery ageBetween(int minYears, int maxYears) {
+        if (minYears > maxYears) throw new IllegalArgumentException("min age is after max age");
+        this.ageRange = new int[]{minYears, maxYears};
+        return this;
+    }
+
+    /** Weight between min and max lbs, inclusive. Animals with an unknown weight don't match. */
+    public AnimalQuery weightBetween(double minLbs, double maxLbs) {
+        if (!(minLbs <= maxLbs)) throw new IllegalArgumentException("min weight is after max weight");
+        this.weightRange = new double[]{minLbs, maxLbs};
+        return this;
+    }
+
+    /** Acquired on or between the two dates. Animals with an unknown date don't match. */
+    public AnimalQuery acquiredBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) throw new IllegalArgumentException("from date is after to date");
+        this.dayRange = new int[]{(int) from.toEpochDay(), (int) to.toEpochDay()};
+        return this;
+    }
+
+    public AnimalQuery limit(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("limit must not be negative");
+        this.limit = limit;
+        return this;
+    }
+
+    public AnimalQuery offset(int offset) {
+        if (offset < 0) throw new IllegalArgumentException("offset must not be negative");
+        this.offset = offset;
+        return this;
+    }
+
+    public int getLimit() { return limit; }   // -1 when unlimited
+    public int getOffset() { return offset; }
+
+    /**
+     * Same filter evaluated against an in-memory animal (limit/offset not applied).
+     * Used by helpers that don't sit on SQLite, and to merge unsaved changes into results.
+     */
+    public boolean matches(RescueAnimal a) {
+        if (type != null && !type.equals(AnimalIndex.typeOf(a))) return false;
+        if (statuses != null && !statuses.contains(a.getTrainingStatusEnum())) return false;
+        if (reserved != null && reserved != a.isReserved()) return false;
+        if (acquisitionCountries != null && !acquisitionCountries.matches(a.getAcquisitionCountryCode())) return false;
+        if (inServiceCountries != null && !inServiceCountries.matches(a.getInServiceCountryCode())) return false;
+        if (ageRange != null) {
+            int age = a.getAgeYears();
+            if (age == RescueAnimal.UNKNOWN_AGE || age < ageRange[0] || age > ageRange[1]) return false;
+        }
+        if (weightRange != null) {
+            double weight = a.getWeightLbs(); // NaN fails both comparisons
+            if (!(weight >= weightRange[0] && weight <= weightRange[1])) return false;
+        }
+        if (dayRange != null) {
+            int day = a.getAcquisitionEpochDay();
+            if (day == RescueAnimal.UNKNOWN_DATE || day < dayRange[0] || day > dayRange[1]) return false;
+        }
+        if (names != null && (a.getName() == null || !nameKeys.contains(asciiLowerCase(a.getName())))) {
+            return false;
+        }
+        if (namePrefix != null) {
+            String name = a.getName();
+            return name != null && name.regionMatches(true, 0, namePrefix, 0, namePrefix.length());
+        }
+        return true;
+    }
+
+    // ===== SQL compilation (used by DatabaseHelper) =====
+
+    /** " WHERE ..." for the filters that are set, or "" if none are. Values are bound by bind(). */
+    String whereClause() {
+        List<String> conditions = new ArrayList<>();
+        if (type != null) conditions.add("type = ?");
+        if (statuses != null) conditions.add("trainingStatus IN " + placeholders(statuses.size()));
+        if (reserved != null) conditions.add("reserved = ?");
+        if (acquisitionCountries != null) {
+            conditions.add(acquisitionCountries.condition("acquisitionCountry", "acquisitionCountryCode"));
+        }
+        if (inServiceCountries != null) {
+            conditions.add(inServiceCountries.condition("inServiceCountry", "inServiceCountryCode"));
+        }
+        if (ageRange != null) conditions.add("ageYears BETWEEN ? AND ?");
+        if (weightRange != null) conditions.add("weightLbs BETWEEN ? AND ?");
+        if (dayRange != null) conditions.add("acquisitionDay BETWEEN ? AND ?");
+        if (namePrefix != null) conditions.add("name LIKE ? ESCAPE '\\'");
+        if (names != null) conditions.add("name COLLATE NOCASE IN " + placeholders(names.size()));
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    /** " LIMIT ? OFFSET ?" when paging, or "". Bound after the WHERE values. */
+    String pageClause() {
+        if (limit >= 0) return " LIMIT ? OFFSET ?";
+        return offset > 0 ? " LIMIT -1 OFFSET ?" : "";
+    }
+
+    /** Binds the WHERE values (and paging values if withPage) starting at index 1. */
+    void bind(PreparedStatement ps, boolean withPage) throws SQLException {
+        int i = 1;
+        if (type != null) ps.setString(i++, type);
+        if (statuses != null) {
+            for (RescueAnimal.TrainingStatus s : statuses) ps.setString(i++, s.menuLabel());
+        }
+        if (reserved != null) ps.setInt(i++, reserved ? 1 : 0);
+        if (acquisitionCountries != null) i = acquisitionCountries.bind(ps, i);
+        if (inServiceCountries != null) i = inServiceCountries.bind(ps, i);
+        if (ageRange != null) {
+            ps.setInt(i++, ageRange[0]);
+            ps.setInt(i++, ageRange[1]);
+        }
+        if (weightRange != null) {
+            ps.setDouble(i++, weightRange[0]);
+            ps.setDouble(i++, weightRange[1]);
+        }
+        if (dayRange != null) {
+            ps.setInt(i++, dayRange[0]);
+            ps.setInt(i++, dayRange[1]);
+        }
+        if (namePrefix != null) ps.setString(i++, escapeLike(namePrefix) + "%");
+        if (names != null) {
+            for (String n : names) ps.setString(i++, n);
+        }
+        if (!withPage) return;
+        if (limit >= 0) {
+            ps.setInt(i++, limit);
+            ps.setInt(i, offset);
+        } else if (offset > 0) {
+            ps.setInt(i, offset);
+        }
+    }
+
+    // ===== helpers =====
+
+    private static String placeholders(int count) {
+        StringJoiner joiner = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < count; i++) joiner.add("?");
+        return joiner.toString();
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,180 @@
+package com.matthew.animalapp;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary copy of every animal in the manager, written on clean shutdown so the next start
+ * can skip rebuilding each Dog/Monkey from SQL rows.
+ * The header records the database id and change counter it was taken at; a file whose
+ * values don't match the database (someone wrote to it since) or whose CRC doesn't match
+ * its contents is ignored and the manager loads from SQL as usual.
+ * Layout: magic, format version, database id, change counter, animal count, records, CRC32 of the records.
+ * Read into a heap buffer, not memory-mapped: on Windows a mapping keeps the file locked until it is
+ * garbage-collected, so the next snapshot couldn't replace or delete it. Written to a temp file and
+ * moved into place.
+ */
+final class AnimalSnapshot {
+
+    private static final int MAGIC = 0x52415331; // "RAS1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4;
+    private static final int TRAILER_BYTES = 8;
+
+    private static final byte DOG = 'D';
+    private static final byte MONKEY = 'M';
+
+    private static final RescueAnimal.TrainingStatus[] STATUSES = RescueAnimal.TrainingStatus.values();
+
+    private AnimalSnapshot() {
+        // static helper, no instances
+    }
+
+    /** Writes the animals (only Dogs and Monkeys can be stored) stamped with the database's current state. */
+    static void write(Path file, long databaseId, long changeCounter, Collection<RescueAnimal> animals) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        List<RescueAnimal> storable = new ArrayList<>(animals.size());
+        for (RescueAnimal a : animals) {
+            if (a instanceof Dog || a instanceof Monkey) storable.add(a);
+        }
+        try (OutputStream raw = Files.newOutputStream(temp);
+             BufferedOutputStream buffered = new BufferedOutputStream(raw, 1 << 16)) {
+            DataOutputStream header = new DataOutputStream(buffered);
+            header.writeInt(MAGIC);
+            header.writeInt(FORMAT_VERSION);
+            header.writeLong(databaseId);
+            header.writeLong(changeCounter);
+            header.writeInt(storable.size());
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+            for (RescueAnimal a : storable) {
+                synchronized (a) {
+                    writeAnimal(out, a);
+                }
+            }
+            out.flush();
+            header.writeLong(crc.getValue());
+            header.flush();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Hands every animal in the snapshot to the sink, if the file exists, is intact and was taken
+     * at exactly this database id and change counter. Returns the number of animals, or -1 if the
+     * file can't be used (nothing is passed to the sink then).
+     */
+    static int read(Path file, long databaseId, long changeCounter, Consumer<RescueAnimal> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) return -1;
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) return -1; // truncated while we read it
+            }
+            buffer.flip();
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getLong() != databaseId || buffer.getLong() != changeCounter) {
+                return -1;
+            }
+            int count = buffer.getInt();
+            int payloadEnd = (int) size - TRAILER_BYTES;
+            if (count < 0 || count > payloadEnd - HEADER_BYTES) return -1;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_BYTES, payloadEnd - HEADER_BYTES));
+            if (crc.getValue() != buffer.getLong(payloadEnd)) return -1;
+
+            buffer.limit(payloadEnd);
+            List<RescueAnimal> animals = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                animals.add(readAnimal(buffer));
+            }
+            animals.forEach(sink);
+            return count;
+        } catch (NoSuchFileException e) {
+            return -1;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return -1; // CRC matched but the records don't parse: written by a different build
+        }
+    }
+
+    // ===== records =====
+
+    private static void writeAnimal(DataOutputStream out, RescueAnimal a) throws IOException {
+        out.writeByte(a instanceof Dog ? DOG : MONKEY);
+        writeString(out, a.getUniqueId());
+        writeString(out, a.getName());
+        writeString(out, a instanceof Dog d ? d.getBreed() : ((Monkey) a).getSpecies());
+        writeString(out, a.getGender());
+        writeString(out, a.getAge());
+        writeString(out, a.getWeight());
+        writeString(out, a.getAcquisitionDate());
+        writeString(out, a.getAcquisitionCountry());
+        out.writeByte(a.getTrainingStatusEnum().ordinal());
+        out.writeBoolean(a.isReserved());
+        writeString(out, a.getInServiceCountry());
+        if (a instanceof Monkey m) {
+            out.writeDouble(m.getTailLength());
+            out.writeDouble(m.getHeight());
+            out.writeDouble(m.getBodyLength());
+        }
+    }
+
+    private static RescueAnimal readAnimal(ByteBuffer in) {
+        byte type = in.get();
+        String id = readString(in);
+        String name = readString(in);
+        String breedOrSpecies = readString(in);
+        String gender = readString(in);
+        String age = readString(in);
+        String weight = readString(in);
+        String acquisitionDate = readString(in);
+        String acquisitionCountry = readString(in);
+        String status = STATUSES[in.get()].menuLabel();
+        boolean reserved = in.get() != 0;
+        String inServiceCountry = readString(in);
+        if (type == DOG) {
+            return new Dog(id, name, breedOrSpecies, gender, age, weight, acquisitionDate,
+                    acquisitionCountry, status, reserved, inServiceCountry);
+        }
+        if (type != MONKEY) throw new IllegalArgumentException("unknown record type " + type);
+        return new Monkey(id, name, breedOrSpecies, gender, age, weight, acquisitionDate,
+                acquisitionCountry, status, reserved, inServiceCountry,
+                in.getDouble(), in.getDouble(), in.getDouble());
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
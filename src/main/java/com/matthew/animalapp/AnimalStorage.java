@@ -0,0 +1,109 @@
+package com.matthew.animalapp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Where AnimalManager keeps its animals: single and batched writes, filtered queries,
+ * the ID sequence, and what the initial load and snapshot need. DatabaseHelper (SQLite)
+ * is the main implementation; InMemoryAnimalStorage keeps everything in memory.
+ * Backends are chosen by name through StorageProviders.
+ *
+ * <p>Implementations must be safe to call from several threads. Failures are reported
+ * as RuntimeExceptions, and a failed saveBatch must leave the store unchanged.
+ */
+public interface AnimalStorage extends AutoCloseable {
+
+    // ===== Writes =====
+
+    /** Inserts the animal, or replaces the stored row with the same ID. */
+    void addOrUpdateAnimal(RescueAnimal animal);
+
+    /** Deletes the animal's row. Returns true if there was one. */
+    boolean deleteAnimal(String id);
+
+    /**
+     * Saves and deletes a batch of animals all at once: either everything is written or nothing is.
+     * Returns the rows changed (each upsert, plus each delete that found its row), which is
+     * how far the change counter moved.
+     */
+    int saveBatch(Collection<RescueAnimal> upserts, Collection<String> deletes);
+
+    // ===== Reads =====
+
+    /** The stored animal with this ID, or null. */
+    RescueAnimal getAnimalById(String id);
+
+    /** Every stored animal, in insertion order. */
+    default List<RescueAnimal> listAnimals() {
+        return query(AnimalQuery.all());
+    }
+
+    /** Animals matching the query, in insertion order, honouring its limit/offset. */
+    List<RescueAnimal> query(AnimalQuery query);
+
+    /** Number of animals matching the query's filters (limit/offset ignored). */
+    int count(AnimalQuery query);
+
+    /** Just the given columns of the matching animals, in insertion order (values typed as AnimalQuery.Column.read). */
+    default List<Map<AnimalQuery.Column, Object>> project(AnimalQuery query, AnimalQuery.Column... columns) {
+        List<Map<AnimalQuery.Column, Object>> rows = new ArrayList<>();
+        streamProjection(query, 1_000, values -> {
+            Map<AnimalQuery.Column, Object> row = new EnumMap<>(AnimalQuery.Column.class);
+            for (int i = 0; i < columns.length; i++) row.put(columns[i], values[i]);
+            rows.add(row);
+        }, columns);
+        return rows;
+    }
+
+    /**
+     * Like project, but hands each row to the sink as it is read, fetchSize rows at a time,
+     * so memory use doesn't depend on how many rows match. The same array is refilled for
+     * every row; copy anything kept past the call. Returns the number of rows passed on.
+     */
+    long streamProjection(AnimalQuery query, int fetchSize, Consumer<Object[]> sink, AnimalQuery.Column... columns);
+
+    // ===== Parallel initial load =====
+
+    /** Smallest and largest row position as {min, max}, or null when empty. Positions only grow. */
+    long[] rowidRange();
+
+    /** Hands each animal whose row position is in [fromRowid, toRowid] to the sink. Returns how many. */
+    int streamAnimals(long fromRowid, long toRowid, Consumer<RescueAnimal> sink);
+
+    // ===== ID sequence =====
+
+    /** Highest n among stored "RA-n" IDs, or 0 if there are none. */
+    int maxAnimalNumber();
+
+    /**
+     * Reserves size consecutive animal numbers and returns the first. Numbers are never handed out
+     * twice, and never below a number already stored.
+     */
+    int reserveIdBlock(int size);
+
+    /** Makes sure the sequence never hands out number or anything below it. */
+    void advanceIdSequencePast(int number);
+
+    // ===== Metadata =====
+
+    /** Random id picked when the store was created (tells snapshot files of two stores apart). */
+    long getDatabaseId();
+
+    /** Bumped by every insert, update or delete of an animal, whoever makes it. */
+    long getChangeCounter();
+
+    /** Version of the allowed intake values (see ReferenceDataRegistry.refresh). */
+    long getReferenceDataVersion();
+
+    ReferenceData loadReferenceData();
+
+    /** Releases connections or files the store holds. Nothing to do by default. */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.matthew.animalapp;
+
+/**
+ * Opens one kind of AnimalStorage by name, for choosing the backend at startup
+ * (Driver's animalapp.storage). The built-in providers are in StorageProviders; others are
+ * found with ServiceLoader, listed in META-INF/services/com.matthew.animalapp.AnimalStorageProvider.
+ */
+public interface AnimalStorageProvider {
+
+    /** Name used to select this backend, e.g. "sqlite". Compared ignoring case. */
+    String name();
+
+    /**
+     * Opens the store at location (a file, URL or anything the backend understands),
+     * or the backend's default when location is null or blank. The caller closes it.
+     */
+    AnimalStorage open(String location);
+}
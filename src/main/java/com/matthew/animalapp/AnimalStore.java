@@ -0,0 +1,74 @@
+package com.matthew.animalapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Primary index for AnimalManager.
+ * Canonical "RA-n" IDs are keyed by their number in an IntAnimalMap, so lookups in any casing
+ * are one parse and one probe of a primitive table (no String hashing, boxing or per-entry nodes).
+ * The "RA-" string is only parsed here at the boundary; it is never built or hashed to look an animal up.
+ * Anything else (hand-edited DB rows, legacy IDs) falls back to a lower-cased string key,
+ * which keeps the same case-insensitive matching the manager has always had.
+ * Lookups never block in either map.
+ */
+class AnimalStore {
+
+    private final IntAnimalMap byNumber = new IntAnimalMap();
+    private final Map<String, RescueAnimal> byOtherId = new ConcurrentHashMap<>();
+
+    RescueAnimal get(String id) {
+        if (id == null) return null;
+        int number = AnimalIds.parseNumber(id);
+        if (number >= 0) return byNumber.get(number);
+        return byOtherId.get(fallbackKey(id));
+    }
+
+    /** Stores the animal unless its ID is taken. Returns the existing animal, or null if added. */
+    RescueAnimal putIfAbsent(RescueAnimal animal) {
+        String id = animal.getUniqueId();
+        int number = AnimalIds.parseNumber(id);
+        if (number >= 0) return byNumber.putIfAbsent(number, animal);
+        return byOtherId.putIfAbsent(fallbackKey(id), animal);
+    }
+
+    /** Removes and returns the animal with this ID (any casing), or null if none. */
+    RescueAnimal remove(String id) {
+        if (id == null) return null;
+        int number = AnimalIds.parseNumber(id);
+        if (number >= 0) return byNumber.remove(number);
+        return byOtherId.remove(fallbackKey(id));
+    }
+
+    /** Removes the ID only while it still maps to this exact animal. Returns true if removed. */
+    boolean remove(String id, RescueAnimal expected) {
+        if (id == null) return false;
+        int number = AnimalIds.parseNumber(id);
+        if (number >= 0) return byNumber.remove(number, expected) != null;
+        return byOtherId.remove(fallbackKey(id), expected);
+    }
+
+    /** Snapshot of every stored animal (a new list each call). */
+    List<RescueAnimal> values() {
+        List<RescueAnimal> all = new ArrayList<>(size());
+        byNumber.copyValuesTo(all);
+        all.addAll(byOtherId.values());
+        return all;
+    }
+
+    int size() {
+        return byNumber.size() + byOtherId.size();
+    }
+
+    /** Highest number used by a canonical ID, or 0 when there are none. */
+    int maxNumber() {
+        return Math.max(0, byNumber.maxKey());
+    }
+
+    private static String fallbackKey(String id) {
+        return id.toLowerCase(Locale.ROOT);
+    }
+}
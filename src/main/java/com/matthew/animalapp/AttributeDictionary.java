@@ -0,0 +1,88 @@
+package com.matthew.animalapp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared string table for attributes that only take a few values (breed, monkey species, country).
+ * Animals hold an int code instead of their own String, and equality filters compare codes.
+ * Codes 1..n are the built-in words, in a fixed order; any other value (reference data added to a
+ * database, legacy rows) gets the next free code the first time it is seen. These codes only mean
+ * something in this process. A database keeps its own codes in its dictionary table, seeded with the
+ * built-in words and extended whenever reference_values gains a value (see StoredDictionary).
+ * Code 0 is null.
+ */
+final class AttributeDictionary {
+
+    static final int NONE = 0;
+
+    static final AttributeDictionary BREEDS = new AttributeDictionary("breed",
+            "German Shepherd", "Labrador Retriever", "Belgian Malinois", "Bloodhound");
+    static final AttributeDictionary MONKEY_SPECIES = new AttributeDictionary("species",
+            "Capuchin", "Guenon", "Macaque", "Marmoset", "Squirrel monkey", "Tamarin");
+    static final AttributeDictionary COUNTRIES = new AttributeDictionary("country",
+            "United States", "Canada", "Mexico");
+
+    private final String attribute;
+    private final List<String> allowed;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values;   // index = code; replaced (copy-on-grow) under the lock
+    private int size;                   // guarded by this
+
+    private AttributeDictionary(String attribute, String... allowed) {
+        this.attribute = attribute;
+        this.allowed = List.of(allowed);
+        this.values = new String[allowed.length + 1];
+        this.size = 1;
+        for (String value : allowed) add(value);
+    }
+
+    /** Name used for this dictionary in the database's dictionary table. */
+    String attribute() {
+        return attribute;
+    }
+
+    /** The built-in words, in code order (code = index + 1). */
+    List<String> allowedValues() {
+        return allowed;
+    }
+
+    /** True for the built-in words' codes, which are the same in every run. */
+    boolean isBuiltIn(int code) {
+        return code > NONE && code <= allowed.size();
+    }
+
+    /** Code for the value (exact spelling), adding it if it hasn't been seen before. */
+    int encode(String value) {
+        if (value == null) return NONE;
+        Integer code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    String decode(int code) {
+        return code == NONE ? null : values[code];
+    }
+
+    /** Code of the built-in word that equals the value ignoring case, or NONE. */
+    int builtInCodeIgnoreCase(String value) {
+        for (int i = 0; i < allowed.size(); i++) {
+            if (allowed.get(i).equalsIgnoreCase(value)) return i + 1;
+        }
+        return NONE;
+    }
+
+    private synchronized int add(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) return existing;
+        int code = size;
+        String[] table = values;
+        if (code == table.length) table = Arrays.copyOf(table, table.length * 2);
+        table[code] = value;
+        values = table; // publish the slot before the code can be handed out
+        size++;
+        codes.put(value, code);
+        return code;
+    }
+}
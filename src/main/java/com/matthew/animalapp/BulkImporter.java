@@ -0,0 +1,477 @@
+package com.matthew.animalapp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.matthew.animalapp.ValidationReport.RecordError;
+
+/**
+ * Bulk intake from a CSV or NDJSON file (see RecordFormat) as a pipeline of four stages,
+ * each on its own thread and joined by bounded queues of record batches:
+ * <ol>
+ *   <li>parse: reads lines into IntakeRecords;</li>
+ *   <li>validate: BulkValidator's rules, with one ReferenceData snapshot for the whole run;</li>
+ *   <li>dedupe: drops records matching an animal already stored or earlier in the file
+ *       (same type, name, breed/species, acquisition date and country). Stored animals are
+ *       looked up per batch by name (AnimalManager.findByNames), so memory use doesn't grow
+ *       with the database, and only the keys of batches not yet saved are held;</li>
+ *   <li>persist: builds the animals and adds each batch with AnimalManager.addAll (one transaction).</li>
+ * </ol>
+ * A full queue blocks the stage feeding it, so a slow database holds back parsing instead of
+ * letting batches pile up in memory.
+ *
+ * With a checkpoint file the importer records the last line of every batch it has saved and,
+ * when run again on the same file, skips up to that line. A batch saved just before a failure
+ * but not yet checkpointed is read again and dropped by the dedupe stage. The checkpoint
+ * is deleted once the whole file has been imported.
+ */
+public final class BulkImporter {
+
+    private static final Batch END = new Batch(List.of(), 0);
+    private static final long POLL_MS = 100;
+    private static final int NAMES_PER_LOOKUP = 500; // well under SQLite's bound-parameter limit
+    private static final int MAX_LINES_PER_RECORD = 100; // stops an unclosed quote from swallowing the file
+
+    private final AnimalManager manager;
+    private final ReferenceDataRegistry registry;
+    private int batchSize = 1_000;
+    private int queueCapacity = 4;
+    private Path checkpointFile;
+
+    /** One parsed record, numbered by its first line: the record, or why it couldn't be read. */
+    private record Line(long number, IntakeRecord record, String error) {}
+
+    /** Consecutive lines of the file; lastLine is where to resume after it is saved. */
+    private record Batch(List<Line> lines, long lastLine) {}
+
+    /** Set when any stage fails; every stage checks it while waiting on a queue. */
+    private static final class Aborted extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        Aborted() {
+            super(null, null, false, false);
+        }
+    }
+
+    public BulkImporter(AnimalManager manager) {
+        this(manager, ReferenceDataRegistry.shared());
+    }
+
+    public BulkImporter(AnimalManager manager, ReferenceDataRegistry registry) {
+        this.manager = manager;
+        this.registry = registry;
+    }
+
+    /** Records per batch, and so per database transaction (default 1,000). */
+    public BulkImporter batchSize(int size) {
+        if (size < 1) throw new IllegalArgumentException("batch size must be at least 1");
+        this.batchSize = size;
+        return this;
+    }
+
+    /** Batches each queue between two stages can hold before the earlier stage waits (default 4). */
+    public BulkImporter queueCapacity(int batches) {
+        if (batches < 1) throw new IllegalArgumentException("queue capacity must be at least 1");
+        this.queueCapacity = batches;
+        return this;
+    }
+
+    /** Resume from (and keep up to date) this checkpoint file. Null turns checkpoints off. */
+    public BulkImporter checkpoint(Path file) {
+        this.checkpointFile = file;
+        return this;
+    }
+
+    /** Imports the file, choosing the format from its extension. */
+    public ImportReport importFile(Path file) {
+        return importFile(file, RecordFormat.forFile(file));
+    }
+
+    /**
+     * Runs the pipeline to the end of the file and reports what happened.
+     * If a stage fails the others stop, and the exception is rethrown here
+     * (everything up to the last checkpoint is saved).
+     */
+    public ImportReport importFile(Path file, RecordFormat format) {
+        return new Run(file, format).execute();
+    }
+
+    // ===== one run =====
+
+    private final class Run {
+        private final Path file;
+        private final RecordFormat format;
+        private final long resumeAfter;
+        private final ReferenceData data = registry.current();
+        private final int currentYear = LocalDate.now().getYear();
+
+        private final BlockingQueue<Batch> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<Batch> validated = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<Batch> unique = new ArrayBlockingQueue<>(queueCapacity);
+        private volatile Throwable failure;
+
+        private final List<RecordError> errors = new ArrayList<>(); // validate stage only
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final Set<String> unsaved = ConcurrentHashMap.newKeySet(); // keys passed on by dedupe, not yet saved
+        private final long[] busyNanos = new long[4];
+
+        Run(Path file, RecordFormat format) {
+            this.file = file;
+            this.format = format;
+            this.resumeAfter = readCheckpoint();
+        }
+
+        ImportReport execute() {
+            long start = System.nanoTime();
+            List<Thread> stages = List.of(
+                    stage("intake-parse", this::parse),
+                    stage("intake-validate", this::validate),
+                    stage("intake-dedupe", this::dedupe));
+            stages.forEach(Thread::start);
+            long imported = 0;
+            try {
+                imported = persist();
+            } catch (RuntimeException | Error e) {
+                fail(e);
+            }
+            for (Thread t : stages) {
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    fail(e);
+                    break;
+                }
+            }
+            if (failure != null) {
+                if (failure instanceof RuntimeException e) throw e;
+                if (failure instanceof Error e) throw e;
+                throw new IllegalStateException("Bulk import failed", failure);
+            }
+            deleteCheckpoint();
+            Duration[] busy = new Duration[busyNanos.length];
+            for (int i = 0; i < busy.length; i++) busy[i] = Duration.ofNanos(busyNanos[i]);
+            return new ImportReport(read.get(), resumeAfter, invalid.get(), duplicates.get(), imported,
+                    errors, Duration.ofNanos(System.nanoTime() - start), busy);
+        }
+
+        private Thread stage(String name, Runnable body) {
+            Thread t = new Thread(() -> {
+                try {
+                    body.run();
+                } catch (Aborted e) {
+                    // another stage failed first
+                } catch (Throwable e) {
+                    fail(e);
+                }
+            }, name);
+            t.setDaemon(true);
+            return t;
+        }
+
+        /** Keeps the first failure; the Aborted exceptions it causes in other stages are not recorded. */
+        private synchronized void fail(Throwable e) {
+            if (failure == null) failure = e;
+        }
+
+        // ===== stages =====
+
+        private void parse() {
+            try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                long lineNumber = 0;
+                String[] header = null;
+                List<Line> lines = new ArrayList<>(batchSize);
+                long started = System.nanoTime();
+                for (String text = in.readLine(); text != null; text = in.readLine()) {
+                    lineNumber++;
+                    long firstLine = lineNumber;
+                    if (format == RecordFormat.CSV && !RecordCodec.isCompleteCsvRecord(text)) {
+                        // a quoted field with line breaks; they come back as \n
+                        StringBuilder record = new StringBuilder(text);
+                        String more;
+                        while (lineNumber - firstLine < MAX_LINES_PER_RECORD - 1
+                                && !RecordCodec.isCompleteCsvRecord(record) && (more = in.readLine()) != null) {
+                            lineNumber++;
+                            record.append('\n').append(more);
+                        }
+                        text = record.toString();
+                    }
+                    if (format == RecordFormat.CSV && header == null) {
+                        header = RecordCodec.parseCsvLine(stripBom(text)).stream().map(String::trim)
+                                .toArray(String[]::new);
+                        continue;
+                    }
+                    if (lineNumber <= resumeAfter || text.isBlank()) continue;
+                    lines.add(parseLine(firstLine, text, header));
+                    if (lines.size() == batchSize) {
+                        busyNanos[0] += System.nanoTime() - started;
+                        put(parsed, new Batch(lines, lineNumber));
+                        started = System.nanoTime();
+                        lines = new ArrayList<>(batchSize);
+                    }
+                }
+                busyNanos[0] += System.nanoTime() - started;
+                if (!lines.isEmpty()) put(parsed, new Batch(lines, lineNumber));
+                put(parsed, END);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + file, e);
+            }
+        }
+
+        private Line parseLine(long number, String text, String[] header) {
+            read.incrementAndGet();
+            try {
+                Map<String, String> row;
+                if (format == RecordFormat.CSV) {
+                    List<String> fields = RecordCodec.parseCsvLine(text);
+                    if (fields.size() != header.length) {
+                        return new Line(number, null, "has " + fields.size() + " fields, header has " + header.length);
+                    }
+                    row = new HashMap<>();
+                    for (int i = 0; i < header.length; i++) row.put(header[i], fields.get(i));
+                } else {
+                    row = RecordCodec.parseJsonObject(number == 1 ? stripBom(text) : text);
+                }
+                return new Line(number, IntakeRecord.fromMap(row), null);
+            } catch (IllegalArgumentException e) {
+                return new Line(number, null, e.getMessage());
+            }
+        }
+
+        private void validate() {
+            List<RecordError> found = new ArrayList<>();
+            for (Batch batch = take(parsed); batch != END; batch = take(parsed)) {
+                long started = System.nanoTime();
+                List<Line> valid = new ArrayList<>(batch.lines().size());
+                for (Line line : batch.lines()) {
+                    found.clear();
+                    if (line.error() != null) {
+                        found.add(new RecordError((int) line.number(), "line", line.error()));
+                    } else {
+                        BulkValidator.check(data, currentYear, line.record(), (int) line.number(), found);
+                    }
+                    if (found.isEmpty()) {
+                        valid.add(new Line(line.number(), canonical(line.record()), null));
+                    } else {
+                        invalid.incrementAndGet();
+                        for (RecordError e : found) {
+                            if (errors.size() < ImportReport.MAX_ERRORS) errors.add(e);
+                        }
+                    }
+                }
+                busyNanos[1] += System.nanoTime() - started;
+                put(validated, new Batch(valid, batch.lastLine()));
+            }
+            put(validated, END);
+        }
+
+        /**
+         * Checks unsaved keys before asking storage: persist only drops a key once its animal is
+         * in the database, so a key missing from unsaved is found by the lookup that follows.
+         */
+        private void dedupe() {
+            for (Batch batch = take(validated); batch != END; batch = take(validated)) {
+                long started = System.nanoTime();
+                Map<String, Line> candidates = new LinkedHashMap<>();
+                for (Line line : batch.lines()) {
+                    String key = key(line.record());
+                    if (unsaved.contains(key) || candidates.putIfAbsent(key, line) != null) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+                Set<String> stored = storedKeys(candidates.values());
+                List<Line> fresh = new ArrayList<>(candidates.size());
+                candidates.forEach((key, line) -> {
+                    if (stored.contains(key)) {
+                        duplicates.incrementAndGet();
+                    } else {
+                        unsaved.add(key);
+                        fresh.add(line);
+                    }
+                });
+                busyNanos[2] += System.nanoTime() - started;
+                put(unique, new Batch(fresh, batch.lastLine()));
+            }
+            put(unique, END);
+        }
+
+        /** Keys of the stored animals sharing a name with any of these records. */
+        private Set<String> storedKeys(Collection<Line> lines) {
+            Set<String> stored = new HashSet<>();
+            List<String> names = new ArrayList<>(NAMES_PER_LOOKUP);
+            for (Line line : lines) {
+                names.add(line.record().name());
+                if (names.size() == NAMES_PER_LOOKUP) {
+                    for (RescueAnimal a : manager.findByNames(names)) stored.add(key(a));
+                    names.clear();
+                }
+            }
+            if (!names.isEmpty()) {
+                for (RescueAnimal a : manager.findByNames(names)) stored.add(key(a));
+            }
+            return stored;
+        }
+
+        /** Runs on the calling thread. Returns the number of animals added. */
+        private long persist() {
+            long imported = 0;
+            for (Batch batch = take(unique); batch != END; batch = take(unique)) {
+                long started = System.nanoTime();
+                List<RescueAnimal> animals = new ArrayList<>(batch.lines().size());
+                for (Line line : batch.lines()) animals.add(toAnimal(manager.newAnimalId(), line.record()));
+                imported += manager.addAll(animals).size();
+                manager.flush(); // write-behind: the batch must be in the database before it is checkpointed
+                writeCheckpoint(batch.lastLine());
+                for (Line line : batch.lines()) unsaved.remove(key(line.record())); // findByNames sees them now
+                busyNanos[3] += System.nanoTime() - started;
+            }
+            return imported;
+        }
+
+        // ===== queues =====
+
+        private void put(BlockingQueue<Batch> queue, Batch batch) {
+            try {
+                while (!queue.offer(batch, POLL_MS, TimeUnit.MILLISECONDS)) {
+                    if (failure != null) throw new Aborted();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bulk import interrupted", e);
+            }
+        }
+
+        private Batch take(BlockingQueue<Batch> queue) {
+            try {
+                while (true) {
+                    if (failure != null) throw new Aborted();
+                    Batch batch = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (batch != null) return batch;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Bulk import interrupted", e);
+            }
+        }
+
+        // ===== records =====
+
+        /** Same record with the reference data's spelling of breed, species and countries. */
+        private IntakeRecord canonical(IntakeRecord r) {
+            String type = r.type().trim().toLowerCase(Locale.ROOT);
+            String gender = type.equals("dog") ? data.canonical(ReferenceData.Attribute.GENDER, r.gender()) : r.gender().trim();
+            return new IntakeRecord(type, r.name().trim(),
+                    data.canonical(ReferenceData.Attribute.BREED, r.breed()),
+                    data.canonical(ReferenceData.Attribute.MONKEY_SPECIES, r.species()),
+                    gender, r.age().trim(), r.weight().trim(), r.acquisitionDate().trim(),
+                    data.canonical(ReferenceData.Attribute.COUNTRY, r.acquisitionCountry()),
+                    r.trainingStatus(), r.reserved(),
+                    data.canonical(ReferenceData.Attribute.COUNTRY, r.inServiceCountry()),
+                    r.tailLength(), r.height(), r.bodyLength());
+        }
+
+        private long readCheckpoint() {
+            if (checkpointFile == null || !Files.exists(checkpointFile)) return 0;
+            try {
+                return Long.parseLong(Files.readString(checkpointFile).trim());
+            } catch (IOException | NumberFormatException e) {
+                throw new IllegalStateException("Unreadable checkpoint " + checkpointFile
+                        + " (delete it to import from the start)", e);
+            }
+        }
+
+        /** Replaces the checkpoint in one step, so a crash leaves the old line or the new one. */
+        private void writeCheckpoint(long line) {
+            if (checkpointFile == null) return;
+            try {
+                Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+                Files.writeString(tmp, Long.toString(line));
+                Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write checkpoint " + checkpointFile, e);
+            }
+        }
+
+        private void deleteCheckpoint() {
+            if (checkpointFile == null) return;
+            try {
+                Files.deleteIfExists(checkpointFile);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not delete checkpoint " + checkpointFile, e);
+            }
+        }
+    }
+
+    // ===== shared helpers =====
+
+    /** Builds the animal for a valid, canonical record under the given (newly allocated) ID. */
+    static RescueAnimal toAnimal(String id, IntakeRecord r) {
+        RescueAnimal.TrainingStatus status = RescueAnimal.TrainingStatus.parse(r.trainingStatus());
+        boolean inService = status == RescueAnimal.TrainingStatus.IN_SERVICE;
+        boolean reserved = inService && isYes(r.reserved());
+        String serviceCountry = inService ? r.inServiceCountry() : null;
+        if (r.type().equals("dog")) {
+            return new Dog(id, r.name(), r.breed(), r.gender(), r.age(), r.weight(), r.acquisitionDate(),
+                    r.acquisitionCountry(), status.menuLabel(), reserved, serviceCountry);
+        }
+        return new Monkey(id, r.name(), r.species(), r.gender(), r.age(), r.weight(), r.acquisitionDate(),
+                r.acquisitionCountry(), status.menuLabel(), reserved, serviceCountry,
+                Double.parseDouble(r.tailLength().trim()), Double.parseDouble(r.height().trim()),
+                Double.parseDouble(r.bodyLength().trim()));
+    }
+
+    private static boolean isYes(String text) {
+        if (text == null) return false;
+        return switch (text.trim().toLowerCase(Locale.ROOT)) {
+            case "y", "yes", "true", "1" -> true;
+            default -> false;
+        };
+    }
+
+    /** Dedupe key of a stored animal; must agree with key(IntakeRecord) for the same animal. */
+    static String key(RescueAnimal a) {
+        String type = a instanceof Monkey ? "monkey" : "dog";
+        String kind = a instanceof Monkey m ? m.getSpecies() : a instanceof Dog d ? d.getBreed() : null;
+        return key(type, a.getName(), kind, a.getAcquisitionEpochDay(), a.getAcquisitionCountry());
+    }
+
+    static String key(IntakeRecord r) {
+        String kind = r.type().equals("monkey") ? r.species() : r.breed();
+        return key(r.type(), r.name(), kind, AnimalFields.parseDate(r.acquisitionDate()), r.acquisitionCountry());
+    }
+
+    private static String key(String type, String name, String kind, int acquisitionDay, String country) {
+        return type + '|' + lower(name) + '|' + lower(kind) + '|' + acquisitionDay + '|' + lower(country);
+    }
+
+    private static String lower(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+}
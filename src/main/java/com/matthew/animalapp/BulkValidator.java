@@ -0,0 +1,153 @@
+package com.matthew.animalapp;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.matthew.animalapp.ValidationReport.RecordError;
+
+/**
+ * Non-interactive version of the intake prompts: checks IntakeRecords against the same rules
+ * (ReferenceData lists, Validation's ranges, MM/dd/yyyy dates no older than the age allows,
+ * service fields only when in service) and reports every problem instead of asking again.
+ * Records are checked in chunks on the common fork/join pool; each chunk keeps its own error list
+ * and the lists are joined in input order, so the threads share nothing but the ReferenceData.
+ */
+public final class BulkValidator {
+
+    static final int CHUNK_SIZE = 8_192;
+
+    private final ReferenceDataRegistry registry;
+
+    public BulkValidator() {
+        this(ReferenceDataRegistry.shared());
+    }
+
+    public BulkValidator(ReferenceDataRegistry registry) {
+        this.registry = registry;
+    }
+
+    public ValidationReport validate(List<IntakeRecord> records) {
+        long start = System.nanoTime();
+        ReferenceData data = registry.current(); // one version for the whole run
+        int currentYear = LocalDate.now().getYear();
+        int chunks = (records.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<RecordError> errors = new ArrayList<>();
+        IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> {
+                    List<RecordError> found = new ArrayList<>();
+                    int end = Math.min(records.size(), (c + 1) * CHUNK_SIZE);
+                    for (int i = c * CHUNK_SIZE; i < end; i++) check(data, currentYear, records.get(i), i, found);
+                    return found;
+                })
+                .forEachOrdered(errors::addAll);
+        return new ValidationReport(records.size(), errors, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /** Same as validate, for rows keyed by column name (see IntakeRecord.fromMap). */
+    public ValidationReport validateMaps(List<Map<String, String>> rows) {
+        return validate(rows.stream().map(IntakeRecord::fromMap).toList());
+    }
+
+    /** Problems with one record (empty if it is valid), using the registry's current data. */
+    public List<RecordError> check(IntakeRecord record, int index) {
+        List<RecordError> found = new ArrayList<>();
+        check(registry.current(), LocalDate.now().getYear(), record, index, found);
+        return found;
+    }
+
+    // ===== rules =====
+
+    /** Adds the record's problems to {@code out}; BulkImporter calls this with one snapshot per run. */
+    static void check(ReferenceData data, int currentYear, IntakeRecord r, int index, List<RecordError> out) {
+        String type = r.type() == null ? "" : r.type().trim().toLowerCase(Locale.ROOT);
+        boolean dog = type.equals("dog");
+        boolean monkey = type.equals("monkey");
+        if (!dog && !monkey) out.add(new RecordError(index, "type", "must be dog or monkey"));
+
+        if (isBlank(r.name())) out.add(new RecordError(index, "name", "is required"));
+        if (dog) {
+            allowed(data, ReferenceData.Attribute.BREED, r.breed(), "breed", index, out);
+            allowed(data, ReferenceData.Attribute.GENDER, r.gender(), "gender", index, out);
+        } else if (monkey) {
+            allowed(data, ReferenceData.Attribute.MONKEY_SPECIES, r.species(), "species", index, out);
+            if (isBlank(r.gender())) out.add(new RecordError(index, "gender", "is required"));
+            range(r.tailLength(), Validation.MIN_TAIL_LENGTH, Validation.MAX_TAIL_LENGTH, "tailLength", index, out);
+            range(r.height(), Validation.MIN_HEIGHT, Validation.MAX_HEIGHT, "height", index, out);
+            range(r.bodyLength(), Validation.MIN_BODY_LENGTH, Validation.MAX_BODY_LENGTH, "bodyLength", index, out);
+        }
+
+        int age = AnimalFields.parseAge(r.age());
+        if (age == RescueAnimal.UNKNOWN_AGE || age < Validation.MIN_AGE || age > Validation.MAX_AGE) {
+            out.add(new RecordError(index, "age",
+                    "must be a whole number from " + Validation.MIN_AGE + " to " + Validation.MAX_AGE));
+        }
+        range(r.weight(), Validation.MIN_WEIGHT, Validation.MAX_WEIGHT, "weight", index, out);
+
+        int day = AnimalFields.parseDate(r.acquisitionDate());
+        if (day == RescueAnimal.UNKNOWN_DATE) {
+            out.add(new RecordError(index, "acquisitionDate", "must be a date in MM/dd/yyyy form"));
+        } else if (age != RescueAnimal.UNKNOWN_AGE) {
+            int year = LocalDate.ofEpochDay(day).getYear();
+            int minYear = currentYear - (age + 1);
+            if (year < minYear || year > currentYear) {
+                out.add(new RecordError(index, "acquisitionDate",
+                        "year must be between " + minYear + " and " + currentYear));
+            }
+        }
+        allowed(data, ReferenceData.Attribute.COUNTRY, r.acquisitionCountry(), "acquisitionCountry", index, out);
+
+        RescueAnimal.TrainingStatus status = null;
+        try {
+            status = RescueAnimal.TrainingStatus.parse(r.trainingStatus());
+        } catch (IllegalArgumentException e) {
+            out.add(new RecordError(index, "trainingStatus", "must be intake, Phase I-V, in service or farm"));
+        }
+        Boolean reserved = parseYesNo(r.reserved());
+        if (reserved == null) {
+            out.add(new RecordError(index, "reserved", "must be yes/no or true/false"));
+        }
+        if (status == RescueAnimal.TrainingStatus.IN_SERVICE) {
+            allowed(data, ReferenceData.Attribute.COUNTRY, r.inServiceCountry(), "inServiceCountry", index, out);
+        } else if (status != null) {
+            if (!isBlank(r.inServiceCountry())) {
+                out.add(new RecordError(index, "inServiceCountry", "only allowed when in service"));
+            }
+            if (Boolean.TRUE.equals(reserved)) {
+                out.add(new RecordError(index, "reserved", "only in-service animals can be reserved"));
+            }
+        }
+    }
+
+    private static void allowed(ReferenceData data, ReferenceData.Attribute attribute, String value,
+                                String field, int index, List<RecordError> out) {
+        if (!data.isAllowed(attribute, value)) {
+            out.add(new RecordError(index, field, "must be one of " + data.values(attribute)));
+        }
+    }
+
+    private static void range(String text, double min, double max, String field, int index, List<RecordError> out) {
+        double value = AnimalFields.parseWeight(text); // plain decimal number
+        if (!(value >= min && value <= max)) { // NaN (unparseable) fails too
+            out.add(new RecordError(index, field, "must be a number from " + min + " to " + max));
+        }
+    }
+
+    /** Blank means no; null result means unrecognized. */
+    private static Boolean parseYesNo(String text) {
+        if (isBlank(text)) return Boolean.FALSE;
+        return switch (text.trim().toLowerCase(Locale.ROOT)) {
+            case "y", "yes", "true", "1" -> Boolean.TRUE;
+            case "n", "no", "false", "0" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -3,30 +3,86 @@ package com.matthew.animalapp;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 /**
  * DatabaseConnector handles SQLite connections.
  * Can connect to a production DB file or an in-memory DB for tests.
+ * This base class opens a new connection on every call; PooledDatabaseConnector
+ * keeps long-lived connections instead. Every new connection gets the PRAGMAs of the
+ * connector's DatabaseProfile (DURABLE unless another profile is given).
  */
-public class DatabaseConnector {
+public class DatabaseConnector implements AutoCloseable {
+    public static final String DEFAULT_URL = "jdbc:sqlite:animals.db";
+
     private final String url;
+    private final DatabaseProfile profile;
 
     // Default: production file DB
     public DatabaseConnector() {
-        this("jdbc:sqlite:animals.db");
+        this(DEFAULT_URL);
     }
 
     // Allow custom URL (e.g., in-memory for tests)
     public DatabaseConnector(String url) {
+        this(url, DatabaseProfile.DURABLE);
+    }
+
+    // Custom URL with a tuning profile (WAL, synchronous, cache size...)
+    public DatabaseConnector(String url, DatabaseProfile profile) {
         this.url = url;
+        this.profile = profile;
     }
 
+    /** Connection for writes (and reads that must see them). Callers close it when done. */
     public Connection getConnection() {
+        return openConnection();
+    }
+
+    /** Connection for read-only work. Callers close it when done. */
+    public Connection getReadConnection() {
+        return getConnection();
+    }
+
+    /** Prepared statement reuse counters; connections opened per call have nothing to reuse. */
+    public StatementCacheStats getStatementCacheStats() {
+        return new StatementCacheStats(0, 0);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public DatabaseProfile getProfile() {
+        return profile;
+    }
+
+    /** Opens a brand-new physical connection to the database and applies the profile. */
+    protected Connection openConnection() {
+        Connection conn;
         try {
-            return DriverManager.getConnection(url);
+            conn = DriverManager.getConnection(url);
         } catch (SQLException e) {
             throw new RuntimeException("Failed to connect to DB: " + url, e);
         }
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : profile.pragmas()) {
+                stmt.execute("PRAGMA " + pragma);
+            }
+        } catch (SQLException e) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {
+                // reporting the PRAGMA failure is what matters
+            }
+            throw new RuntimeException("Failed to apply " + profile.label() + " profile to DB: " + url, e);
+        }
+        return conn;
+    }
+
+    /** Nothing to release here; pooled connectors close their connections. */
+    @Override
+    public void close() {
     }
 
     public static DatabaseConnector forTest() {
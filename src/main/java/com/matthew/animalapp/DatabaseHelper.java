@@ -2,72 +2,140 @@ package com.matthew.animalapp;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * SQLite implementation of AnimalStorage: the animals table in animals.db, reached through a
+ * DatabaseConnector (pooled in the app). Also the "sqlite" backend in StorageProviders.
+ */
+public class DatabaseHelper implements AnimalStorage {
+    private static final String UPSERT_SQL = """
+        INSERT INTO animals (id, type, name, breed, species, gender, age, weight,
+                             acquisitionDate, acquisitionCountry, trainingStatus,
+                             reserved, inServiceCountry, tailLength, height, bodyLength,
+                             ageYears, weightLbs, acquisitionDay,
+                             breedCode, speciesCode, acquisitionCountryCode, inServiceCountryCode)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT(id) DO UPDATE SET
+            type=excluded.type,
+            name=excluded.name,
+            breed=excluded.breed,
+            species=excluded.species,
+            gender=excluded.gender,
+            age=excluded.age,
+            weight=excluded.weight,
+            acquisitionDate=excluded.acquisitionDate,
+            acquisitionCountry=excluded.acquisitionCountry,
+            trainingStatus=excluded.trainingStatus,
+            reserved=excluded.reserved,
+            inServiceCountry=excluded.inServiceCountry,
+            tailLength=excluded.tailLength,
+            height=excluded.height,
+            bodyLength=excluded.bodyLength,
+            ageYears=excluded.ageYears,
+            weightLbs=excluded.weightLbs,
+            acquisitionDay=excluded.acquisitionDay,
+            breedCode=excluded.breedCode,
+            speciesCode=excluded.speciesCode,
+            acquisitionCountryCode=excluded.acquisitionCountryCode,
+            inServiceCountryCode=excluded.inServiceCountryCode
+    """;
+
+    private static final String DELETE_SQL = "DELETE FROM animals WHERE id = ?";
 
-public class DatabaseHelper {
     private final DatabaseConnector connector;
+    private volatile StoredDictionary storedDictionary;
 
     public DatabaseHelper(DatabaseConnector connector) {
         this.connector = connector;
-        createTableIfNotExists();
-    }
-
-    void createTableIfNotExists() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS animals (
-                id TEXT PRIMARY KEY,
-                type TEXT NOT NULL,
-                name TEXT,
-                breed TEXT,
-                species TEXT,
-                gender TEXT,
-                age TEXT,
-                weight TEXT,
-                acquisitionDate TEXT,
-                acquisitionCountry TEXT,
-                trainingStatus TEXT,
-                reserved INTEGER,
-                inServiceCountry TEXT,
-                tailLength REAL,
-                height REAL,
-                bodyLength REAL
-            )
-        """;
-        try (Connection conn = connector.getConnection();
+        migrateSchema();
+    }
+
+    /**
+     * Brings the schema up to date (creates the table on a new database) and loads the dictionary table.
+     * See SchemaMigrations for the versions.
+     */
+    void migrateSchema() {
+        try (Connection conn = connector.getConnection()) {
+            SchemaMigrations.migrate(conn);
+            storedDictionary = StoredDictionary.load(conn);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error migrating animals database", e);
+        }
+    }
+
+    /** Schema version recorded in the database (PRAGMA user_version). */
+    public int getSchemaVersion() {
+        try (Connection conn = connector.getReadConnection();
              Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
+            return SchemaMigrations.currentVersion(stmt);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading schema version", e);
+        }
+    }
+
+    /** Random id picked when this database file was created (tells snapshot files of two databases apart). */
+    public long getDatabaseId() {
+        return readMeta("databaseId");
+    }
+
+    /** Bumped by every insert, update or delete of an animal row, by any process using the file. */
+    public long getChangeCounter() {
+        return readMeta("changeCounter");
+    }
+
+    /** Bumped by every change to the reference_values table (see ReferenceDataRegistry.refresh). */
+    public long getReferenceDataVersion() {
+        return readMeta("referenceDataVersion");
+    }
+
+    /**
+     * Allowed intake values from the reference_values table, stamped with the version they were read at.
+     * Reads again if the table changed while it was being read. Also reloads the dictionary table, so
+     * values added since are written as codes from now on.
+     */
+    public ReferenceData loadReferenceData() {
+        while (true) {
+            long version = getReferenceDataVersion();
+            Map<ReferenceData.Attribute, List<String>> values = new EnumMap<>(ReferenceData.Attribute.class);
+            try (Connection conn = connector.getReadConnection();
+                 PreparedStatement ps = conn.prepareStatement(
+                         "SELECT attribute, value FROM reference_values ORDER BY attribute, position, value");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ReferenceData.Attribute attribute = ReferenceData.Attribute.fromTableName(rs.getString(1));
+                    if (attribute != null) values.computeIfAbsent(attribute, a -> new ArrayList<>()).add(rs.getString(2));
+                }
+                storedDictionary = StoredDictionary.load(conn);
+            } catch (SQLException e) {
+                throw new RuntimeException("Error reading reference data", e);
+            }
+            if (getReferenceDataVersion() == version) return new ReferenceData(version, values);
+        }
+    }
+
+    private long readMeta(String key) {
+        try (Connection conn = connector.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT value FROM meta WHERE key = ?")) {
+            ps.setString(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) throw new IllegalStateException("meta value missing: " + key);
+                return rs.getLong(1);
+            }
         } catch (SQLException e) {
-            throw new RuntimeException("Error creating animals table", e);
+            throw new RuntimeException("Error reading " + key, e);
         }
     }
 
     // --- Add or Update (using UPSERT) ---
     public void addOrUpdateAnimal(RescueAnimal a) {
-        String sql = """
-            INSERT INTO animals (id, type, name, breed, species, gender, age, weight,
-                                 acquisitionDate, acquisitionCountry, trainingStatus,
-                                 reserved, inServiceCountry, tailLength, height, bodyLength)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            ON CONFLICT(id) DO UPDATE SET
-                type=excluded.type,
-                name=excluded.name,
-                breed=excluded.breed,
-                species=excluded.species,
-                gender=excluded.gender,
-                age=excluded.age,
-                weight=excluded.weight,
-                acquisitionDate=excluded.acquisitionDate,
-                acquisitionCountry=excluded.acquisitionCountry,
-                trainingStatus=excluded.trainingStatus,
-                reserved=excluded.reserved,
-                inServiceCountry=excluded.inServiceCountry,
-                tailLength=excluded.tailLength,
-                height=excluded.height,
-                bodyLength=excluded.bodyLength
-        """;
-
         try (Connection conn = connector.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(UPSERT_SQL)) {
             fillAnimalStatement(ps, a);
             ps.executeUpdate();
         } catch (SQLException e) {
@@ -77,7 +145,7 @@ public class DatabaseHelper {
 
     public RescueAnimal getAnimalById(String id) {
         String sql = "SELECT * FROM animals WHERE id = ?";
-        try (Connection conn = connector.getConnection();
+        try (Connection conn = connector.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, id);
             try (ResultSet rs = ps.executeQuery()) {
@@ -92,7 +160,7 @@ public class DatabaseHelper {
     public List<RescueAnimal> listAnimals() {
         List<RescueAnimal> animals = new ArrayList<>();
         String sql = "SELECT * FROM animals";
-        try (Connection conn = connector.getConnection();
+        try (Connection conn = connector.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
             while (rs.next()) {
@@ -104,72 +172,366 @@ public class DatabaseHelper {
         return animals;
     }
 
-    public void deleteAnimal(String id) {
-        String sql = "DELETE FROM animals WHERE id = ?";
-        try (Connection conn = connector.getConnection();
+    // --- Filtered reads (pushed down to SQL) ---
+    /** Animals matching the query, in insertion order, honouring its limit/offset. */
+    public List<RescueAnimal> query(AnimalQuery query) {
+        String sql = "SELECT * FROM animals" + query.whereClause() + " ORDER BY rowid" + query.pageClause();
+        List<RescueAnimal> animals = new ArrayList<>();
+        try (Connection conn = connector.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, id);
+            query.bind(ps, true);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    RescueAnimal a = mapRowToAnimal(rs);
+                    if (a != null) animals.add(a);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error querying animals", e);
+        }
+        return animals;
+    }
+
+    /** Number of animals matching the query's filters (limit/offset ignored). */
+    public int count(AnimalQuery query) {
+        String sql = "SELECT COUNT(*) FROM animals" + query.whereClause();
+        try (Connection conn = connector.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            query.bind(ps, false);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error counting animals", e);
+        }
+    }
+
+    /**
+     * Only the requested columns of the matching rows, without building Dog/Monkey objects.
+     * Each row maps column to value: RESERVED as a Boolean, AGE_YEARS/ACQUISITION_DAY as an Integer,
+     * WEIGHT_LBS and the monkey measurements as a Double (null when unknown), everything else as a String.
+     */
+    public List<Map<AnimalQuery.Column, Object>> project(AnimalQuery query, AnimalQuery.Column... columns) {
+        if (columns.length == 0) throw new IllegalArgumentException("at least one column is required");
+        StringJoiner select = new StringJoiner(", ");
+        for (AnimalQuery.Column c : columns) select.add(c.sqlName());
+        String sql = "SELECT " + select + " FROM animals" + query.whereClause()
+                + " ORDER BY rowid" + query.pageClause();
+        List<Map<AnimalQuery.Column, Object>> rows = new ArrayList<>();
+        try (Connection conn = connector.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            query.bind(ps, true);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Map<AnimalQuery.Column, Object> row = new EnumMap<>(AnimalQuery.Column.class);
+                    for (int i = 0; i < columns.length; i++) {
+                        row.put(columns[i], readColumn(rs, i + 1, columns[i]));
+                    }
+                    rows.add(row);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error querying animals", e);
+        }
+        return rows;
+    }
+
+    /**
+     * Like project, but hands each row to the sink as it is read instead of returning a list:
+     * a forward-only, read-only cursor fetching {@code fetchSize} rows at a time, so memory use
+     * doesn't depend on how many rows match. The same array is refilled for every row
+     * (values in column order, typed as in project); copy anything kept past the call.
+     * Returns the number of rows passed on.
+     */
+    public long streamProjection(AnimalQuery query, int fetchSize, Consumer<Object[]> sink,
+                                 AnimalQuery.Column... columns) {
+        if (columns.length == 0) throw new IllegalArgumentException("at least one column is required");
+        StringJoiner select = new StringJoiner(", ");
+        for (AnimalQuery.Column c : columns) select.add(c.sqlName());
+        String sql = "SELECT " + select + " FROM animals" + query.whereClause()
+                + " ORDER BY rowid" + query.pageClause();
+        Object[] row = new Object[columns.length];
+        long count = 0;
+        try (Connection conn = connector.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(fetchSize);
+            query.bind(ps, true);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    for (int i = 0; i < columns.length; i++) row[i] = readColumn(rs, i + 1, columns[i]);
+                    sink.accept(row);
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming animals", e);
+        }
+        return count;
+    }
+
+    /** Highest n among "RA-n" IDs in the table, or 0 if there are none. Reads only the id column. */
+    public int maxAnimalNumber() {
+        String sql = "SELECT MAX(CAST(SUBSTR(id, 4) AS INTEGER)) FROM animals WHERE id LIKE 'RA-%'";
+        try (Connection conn = connector.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading highest animal id", e);
+        }
+    }
+
+    // --- Streaming reads (used by the initial load) ---
+    /** Smallest and largest rowid in the table as {min, max}, or null when the table is empty. */
+    public long[] rowidRange() {
+        String sql = "SELECT MIN(rowid), MAX(rowid) FROM animals";
+        try (Connection conn = connector.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            if (!rs.next() || rs.getObject(1) == null) return null;
+            return new long[]{rs.getLong(1), rs.getLong(2)};
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reading animals rowid range", e);
+        }
+    }
+
+    /**
+     * Hands each animal whose rowid is in [fromRowid, toRowid] to the sink as its row is read,
+     * without collecting them into a list. Returns how many were passed on.
+     */
+    public int streamAnimals(long fromRowid, long toRowid, Consumer<RescueAnimal> sink) {
+        String sql = "SELECT * FROM animals WHERE rowid BETWEEN ? AND ?";
+        int count = 0;
+        try (Connection conn = connector.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, fromRowid);
+            ps.setLong(2, toRowid);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    RescueAnimal a = mapRowToAnimal(rs);
+                    if (a == null) continue;
+                    sink.accept(a);
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error streaming animals", e);
+        }
+        return count;
+    }
+
+    // --- ID sequence (hi/lo blocks for IdAllocator) ---
+    /**
+     * Reserves {@code size} consecutive animal numbers in one transaction and returns the first.
+     * Safe across processes sharing the file: each caller gets a different block.
+     */
+    public int reserveIdBlock(int size) {
+        try (Connection conn = connector.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement bump = conn.prepareStatement(
+                         "UPDATE id_sequence SET next_value = next_value + ? WHERE name = 'animal'");
+                 PreparedStatement read = conn.prepareStatement(
+                         "SELECT next_value FROM id_sequence WHERE name = 'animal'")) {
+                bump.setInt(1, size);
+                bump.executeUpdate(); // takes the write lock, so the read below is ours alone
+                int first;
+                try (ResultSet rs = read.executeQuery()) {
+                    if (!rs.next()) throw new SQLException("id_sequence has no 'animal' row");
+                    first = rs.getInt(1) - size;
+                }
+                conn.commit();
+                return first;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error reserving animal ids", e);
+        }
+    }
+
+    /** Makes sure the sequence never hands out {@code number} or anything below it. */
+    public void advanceIdSequencePast(int number) {
+        try (Connection conn = connector.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     "UPDATE id_sequence SET next_value = MAX(next_value, ?) WHERE name = 'animal'")) {
+            ps.setInt(1, number + 1);
             ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error advancing animal id sequence", e);
+        }
+    }
+
+    public boolean deleteAnimal(String id) {
+        try (Connection conn = connector.getConnection();
+             PreparedStatement ps = conn.prepareStatement(DELETE_SQL)) {
+            ps.setString(1, id);
+            return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             throw new RuntimeException("Error deleting animal", e);
         }
     }
 
+    /** Closes the connector (and with it any pooled connections). */
+    @Override
+    public void close() {
+        connector.close();
+    }
+
+    /** How often prepared statements were reused rather than recompiled (pooled connectors only). */
+    public StatementCacheStats getStatementCacheStats() {
+        return connector.getStatementCacheStats();
+    }
+
+    // --- Batch write (used by write-behind) ---
+    /**
+     * Saves and deletes a batch of animals in one transaction using JDBC batches.
+     * Either everything is written or nothing is (the transaction is rolled back on error).
+     */
+    public int saveBatch(Collection<RescueAnimal> upserts, Collection<String> deletes) {
+        if (upserts.isEmpty() && deletes.isEmpty()) return 0;
+        try (Connection conn = connector.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement upsert = conn.prepareStatement(UPSERT_SQL);
+                 PreparedStatement delete = conn.prepareStatement(DELETE_SQL)) {
+                for (RescueAnimal a : upserts) {
+                    synchronized (a) { // read a consistent status/reservation pair
+                        fillAnimalStatement(upsert, a);
+                    }
+                    upsert.addBatch();
+                }
+                for (String id : deletes) {
+                    delete.setString(1, id);
+                    delete.addBatch();
+                }
+                int changed = upserts.size(); // an upsert always inserts or updates its row
+                if (!upserts.isEmpty()) upsert.executeBatch();
+                if (!deletes.isEmpty()) {
+                    for (int count : delete.executeBatch()) changed += Math.max(count, 0);
+                }
+                conn.commit();
+                return changed;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error saving batch of animals", e);
+        }
+    }
+
+    private static Object readColumn(ResultSet rs, int index, AnimalQuery.Column column) throws SQLException {
+        Object value = switch (column) {
+            case RESERVED -> rs.getInt(index) == 1;
+            case AGE_YEARS, ACQUISITION_DAY -> rs.getInt(index);
+            case WEIGHT_LBS, TAIL_LENGTH, HEIGHT, BODY_LENGTH -> rs.getDouble(index);
+            default -> rs.getString(index);
+        };
+        return rs.wasNull() ? null : value;
+    }
+
     // --- Utility: Fill PreparedStatement ---
     private void fillAnimalStatement(PreparedStatement ps, RescueAnimal a) throws SQLException {
         ps.setString(1, a.getUniqueId());
         ps.setString(2, (a instanceof Dog) ? "dog" : (a instanceof Monkey) ? "monkey" : "rescue");
         ps.setString(3, a.getName());
-        ps.setString(4, (a instanceof Dog d) ? d.getBreed() : null);
-        ps.setString(5, (a instanceof Monkey m) ? m.getSpecies() : null);
+        setDictionaryValue(ps, 4, 20, AttributeDictionary.BREEDS, (a instanceof Dog d) ? d.getBreedCode() : 0);
+        setDictionaryValue(ps, 5, 21, AttributeDictionary.MONKEY_SPECIES,
+                (a instanceof Monkey m) ? m.getSpeciesCode() : 0);
         ps.setString(6, a.getGender());
         ps.setString(7, a.getAge());
         ps.setString(8, a.getWeight());
         ps.setString(9, a.getAcquisitionDate());
-        ps.setString(10, a.getAcquisitionCountry());
+        setDictionaryValue(ps, 10, 22, AttributeDictionary.COUNTRIES, a.getAcquisitionCountryCode());
         ps.setString(11, a.getTrainingStatus());
         ps.setInt(12, a.isReserved() ? 1 : 0);
-        ps.setString(13, a.getInServiceCountry());
+        setDictionaryValue(ps, 13, 23, AttributeDictionary.COUNTRIES, a.getInServiceCountryCode());
         ps.setObject(14, (a instanceof Monkey m) ? m.getTailLength() : null);
         ps.setObject(15, (a instanceof Monkey m) ? m.getHeight() : null);
         ps.setObject(16, (a instanceof Monkey m) ? m.getBodyLength() : null);
+        ps.setObject(17, a.getAgeYears() == RescueAnimal.UNKNOWN_AGE ? null : a.getAgeYears());
+        ps.setObject(18, Double.isNaN(a.getWeightLbs()) ? null : a.getWeightLbs());
+        ps.setObject(19, a.getAcquisitionEpochDay() == RescueAnimal.UNKNOWN_DATE ? null : a.getAcquisitionEpochDay());
+    }
+
+    /** Values in the dictionary table go in the code column as its code; anything else keeps its text. */
+    private void setDictionaryValue(PreparedStatement ps, int textIndex, int codeIndex,
+                                    AttributeDictionary dictionary, int code) throws SQLException {
+        String value = dictionary.decode(code);
+        int stored = storedDictionary.code(dictionary, value);
+        ps.setString(textIndex, stored == AttributeDictionary.NONE ? value : null);
+        ps.setObject(codeIndex, stored == AttributeDictionary.NONE ? null : stored);
+    }
+
+    private String readDictionaryValue(ResultSet rs, String textColumn, String codeColumn,
+                                       AttributeDictionary dictionary) throws SQLException {
+        int code = rs.getInt(codeColumn);
+        if (rs.wasNull()) return rs.getString(textColumn);
+        String value = storedDictionary.value(dictionary, code);
+        if (value == null) { // added to the dictionary table since it was loaded
+            storedDictionary = StoredDictionary.load(rs.getStatement().getConnection());
+            value = storedDictionary.value(dictionary, code);
+            if (value == null) {
+                throw new IllegalStateException("No " + dictionary.attribute() + " with code " + code
+                        + " in the dictionary table");
+            }
+        }
+        return value;
     }
 
     // --- Utility: Map ResultSet to RescueAnimal ---
     private RescueAnimal mapRowToAnimal(ResultSet rs) throws SQLException {
         String type = rs.getString("type");
+        RescueAnimal animal;
         if ("dog".equalsIgnoreCase(type)) {
-            return new Dog(
+            animal = new Dog(
                     rs.getString("id"),
                     rs.getString("name"),
-                    rs.getString("breed"),
+                    readDictionaryValue(rs, "breed", "breedCode", AttributeDictionary.BREEDS),
                     rs.getString("gender"),
-                    rs.getString("age"),
-                    rs.getString("weight"),
-                    rs.getString("acquisitionDate"),
-                    rs.getString("acquisitionCountry"),
+                    null, null, null, // age, weight and date: see readTypedFields
+                    readDictionaryValue(rs, "acquisitionCountry", "acquisitionCountryCode",
+                            AttributeDictionary.COUNTRIES),
                     rs.getString("trainingStatus"),
                     rs.getInt("reserved") == 1,
-                    rs.getString("inServiceCountry")
+                    readDictionaryValue(rs, "inServiceCountry", "inServiceCountryCode", AttributeDictionary.COUNTRIES)
             );
         } else if ("monkey".equalsIgnoreCase(type)) {
-            return new Monkey(
+            animal = new Monkey(
                     rs.getString("id"),
                     rs.getString("name"),
-                    rs.getString("species"),
+                    readDictionaryValue(rs, "species", "speciesCode", AttributeDictionary.MONKEY_SPECIES),
                     rs.getString("gender"),
-                    rs.getString("age"),
-                    rs.getString("weight"),
-                    rs.getString("acquisitionDate"),
-                    rs.getString("acquisitionCountry"),
+                    null, null, null,
+                    readDictionaryValue(rs, "acquisitionCountry", "acquisitionCountryCode",
+                            AttributeDictionary.COUNTRIES),
                     rs.getString("trainingStatus"),
                     rs.getInt("reserved") == 1,
-                    rs.getString("inServiceCountry"),
+                    readDictionaryValue(rs, "inServiceCountry", "inServiceCountryCode", AttributeDictionary.COUNTRIES),
                     rs.getDouble("tailLength"),
                     rs.getDouble("height"),
                     rs.getDouble("bodyLength")
             );
+        } else {
+            return null;
         }
-        return null;
+        readTypedFields(rs, animal);
+        return animal;
+    }
+
+    /**
+     * Age, weight and acquisition date from the typed columns. The text is only parsed when the typed
+     * column is null: rows written by hand since migration 5, or text that doesn't parse.
+     */
+    private static void readTypedFields(ResultSet rs, RescueAnimal a) throws SQLException {
+        String age = rs.getString("age");
+        int years = rs.getInt("ageYears");
+        if (rs.wasNull()) a.setAge(age); else a.restoreAge(years, age);
+        String weight = rs.getString("weight");
+        double lbs = rs.getDouble("weightLbs");
+        if (rs.wasNull()) a.setWeight(weight); else a.restoreWeight(lbs, weight);
+        String date = rs.getString("acquisitionDate");
+        int day = rs.getInt("acquisitionDay");
+        if (rs.wasNull()) a.setAcquisitionDate(date); else a.restoreAcquisitionDate(day, date);
     }
 }
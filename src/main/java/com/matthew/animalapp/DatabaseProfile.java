@@ -0,0 +1,60 @@
+package com.matthew.animalapp;
+
+import java.util.List;
+
+/**
+ * Named SQLite tuning profiles. DatabaseConnector runs the profile's PRAGMAs on every
+ * connection it opens (most of these settings are per connection in SQLite).
+ */
+public enum DatabaseProfile {
+    /** SQLite defaults: rollback journal, fsync on every commit. Safest, slowest writes. */
+    DURABLE("durable",
+            "journal_mode = DELETE",
+            "synchronous = FULL"),
+
+    /** WAL lets readers run during writes; synchronous=NORMAL only fsyncs at checkpoints. */
+    BALANCED("balanced",
+            "journal_mode = WAL",
+            "synchronous = NORMAL",
+            "mmap_size = 268435456",  // 256 MB
+            "cache_size = -16000",    // 16 MB
+            "temp_store = MEMORY"),
+
+    /**
+     * For imports and generated test data: no fsyncs and a big cache. An app crash is safe,
+     * but power loss during the load can corrupt the file, so only use it for loads you can redo.
+     */
+    BULK_LOAD("bulk-load",
+            "journal_mode = WAL",
+            "synchronous = OFF",
+            "mmap_size = 1073741824", // 1 GB
+            "cache_size = -262144",   // 256 MB
+            "temp_store = MEMORY");
+
+    private final String label;
+    private final List<String> pragmas;
+
+    DatabaseProfile(String label, String... pragmas) {
+        this.label = label;
+        this.pragmas = List.of(pragmas);
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /** PRAGMA assignments in the order they are applied (e.g. "journal_mode = WAL"). */
+    public List<String> pragmas() {
+        return pragmas;
+    }
+
+    /** Accepts the label ("bulk-load") or the constant name ("BULK_LOAD"), any casing. */
+    public static DatabaseProfile parse(String raw) {
+        if (raw == null) throw new IllegalArgumentException("database profile is required");
+        String s = raw.trim();
+        for (DatabaseProfile p : values()) {
+            if (p.label.equalsIgnoreCase(s) || p.name().equalsIgnoreCase(s)) return p;
+        }
+        throw new IllegalArgumentException("Unknown database profile: " + raw);
+    }
+}
@@ -2,11 +2,11 @@ package com.matthew.animalapp;
 
 /**
  * Dog is a specific type of RescueAnimal.
- * Adds breed field.
+ * Adds breed field (held as an AttributeDictionary.BREEDS code).
  */
 public class Dog extends RescueAnimal {
 
-    private String breed;
+    private int breed;
 
     public Dog(String name,
                String breed,
@@ -20,7 +20,7 @@ public class Dog extends RescueAnimal {
                String inServiceCountry) {
         super(name, gender, age, weight, acquisitionDate, acquisitionCountry,
                 trainingStatus, reserved, inServiceCountry);
-        this.breed = breed;
+        this.breed = AttributeDictionary.BREEDS.encode(breed);
     }
 
     // New constructor (preserves ID from DB)
@@ -37,17 +37,19 @@ public class Dog extends RescueAnimal {
                String inServiceCountry) {
         super(id, name, gender, age, weight, acquisitionDate, acquisitionCountry,
                 trainingStatus, reserved, inServiceCountry);
-        this.breed = breed;
+        this.breed = AttributeDictionary.BREEDS.encode(breed);
     }
 
-    public String getBreed() { return breed; }
+    public String getBreed() { return AttributeDictionary.BREEDS.decode(breed); }
 
-    public void setBreed(String breed) { this.breed = breed; }
+    public void setBreed(String breed) { this.breed = AttributeDictionary.BREEDS.encode(breed); }
+
+    int getBreedCode() { return breed; }
 
     @Override
     public String toString() {
         return super.toString() +
-                "Breed: " + breed + "\n" +
+                "Breed: " + getBreed() + "\n" +
                 "Age: " + getAge() + " years\n" +
                 "Weight: " + getWeight() + " lbs\n";
 
@@ -10,25 +10,73 @@ package com.matthew.animalapp;
 ///   be reserved for training and later deployed as service animals.
 ///***********************************************************************************************************************
 
+import java.time.Duration;
 import java.util.Scanner;
 
 public class Driver {
     private final Scanner scanner = new Scanner(System.in);
-    private final AnimalManager manager = new AnimalManager();
+    // Backend from animalapp.storage (sqlite or memory, see StorageProviders) at animalapp.storageLocation
+    private final AnimalStorage storage = StorageProviders.open(
+            System.getProperty("animalapp.storage", StorageProviders.DEFAULT),
+            System.getProperty("animalapp.storageLocation"));
+    private final AnimalManager manager = new AnimalManager(storage, ManagerOptions.fromSystemProperties());
     private final MenuController menuController = new MenuController(scanner, manager);
+    private ReferenceDataRegistry.AutoRefresh referenceRefresh;
 
     public static void main(String[] args) {
-        new Driver().run();
+        Driver driver = new Driver();
+        // Flush queued writes even if the app is stopped with Ctrl+C
+        Runtime.getRuntime().addShutdownHook(new Thread(driver::shutdown));
+        driver.reportLoad();
+        driver.loadReferenceData();
+        driver.run();
     }
 
     /** Main application loop */
     public void run() {
         boolean running = true;
-        while (running) {
-            running = menuController.showMainMenu();
+        try {
+            while (running) {
+                running = menuController.showMainMenu();
+            }
+        } finally {
+            shutdown();
         }
         System.out.println("\n****************************************");
         System.out.println("*    Exiting Grazioso Salvare Manager   *");
         System.out.println("****************************************");
     }
+
+    /** Prints load time and rate once the animals have loaded (the menu is already usable meanwhile). */
+    private void reportLoad() {
+        manager.whenLoaded().whenComplete((report, error) -> {
+            if (error != null) {
+                System.out.println("\nError loading animals: " + error.getMessage());
+            } else {
+                System.out.println("\n" + report);
+            }
+        });
+    }
+
+    /**
+     * Uses the allowed breeds/species/countries from storage and picks up edits to them
+     * every animalapp.referenceRefreshSeconds (default 60, 0 = only at startup).
+     */
+    private void loadReferenceData() {
+        ReferenceDataRegistry.shared().refresh(storage);
+        long seconds = Long.parseLong(System.getProperty("animalapp.referenceRefreshSeconds", "60").trim());
+        if (seconds > 0) {
+            referenceRefresh = ReferenceDataRegistry.shared().startAutoRefresh(storage, Duration.ofSeconds(seconds));
+        }
+    }
+
+    /** Durable flush of any write-behind changes, then close the storage (pooled connections). Safe to repeat. */
+    private void shutdown() {
+        try {
+            if (referenceRefresh != null) referenceRefresh.close();
+            manager.close();
+        } finally {
+            storage.close();
+        }
+    }
 }
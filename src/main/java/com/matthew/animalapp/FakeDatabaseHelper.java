@@ -1,40 +1,166 @@
 package com.matthew.animalapp;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /*
 * This class is designed so that testing can be conducted without the need
 * for a secondary testing database. All testing is done in memory and is
 * not perpetual and therefore will not skew database entries.
+* Methods are synchronized so it can sit behind a manager shared by several threads.
+* Like a SQLite row, each animal keeps the rowid it was inserted with (an update doesn't move it),
+* and rows are listed in rowid order; lookups by ID are a hash lookup, so a herd of a million
+* animals can be set up without a scan per write.
+* It implements AnimalStorage directly, so no SQLite database is opened.
+* Unlike InMemoryAnimalStorage it stores the caller's objects, not copies.
 */
 
-public class FakeDatabaseHelper extends DatabaseHelper {
+public class FakeDatabaseHelper implements AnimalStorage {
 
-    private final List<RescueAnimal> store = new ArrayList<>();
+    private record Row(long rowid, RescueAnimal animal) {}
 
-    public FakeDatabaseHelper() {
-        super(DatabaseConnector.forTest()); // not actually used
+    private final Map<String, Row> byId = new HashMap<>();
+    private final NavigableMap<Long, RescueAnimal> store = new TreeMap<>(); // by rowid
+    private long nextRowid = 1;
+    private final long databaseId = new Random().nextLong();
+    private long changeCounter = 0;
+    private int nextId = 1;
+    private int highestNumber = 0; // like the id sequence trigger: never goes down on delete
+
+    @Override
+    public synchronized void addOrUpdateAnimal(RescueAnimal a) {
+        changeCounter++;
+        Row old = byId.get(a.getUniqueId());
+        Row row = new Row(old != null ? old.rowid() : nextRowid++, a);
+        byId.put(a.getUniqueId(), row);
+        store.put(row.rowid(), a);
+        highestNumber = Math.max(highestNumber, AnimalIds.parseNumber(a.getUniqueId()));
+    }
+
+    @Override
+    public synchronized RescueAnimal getAnimalById(String id) {
+        Row row = byId.get(id);
+        return row == null ? null : row.animal();
+    }
+
+    @Override
+    public synchronized List<RescueAnimal> listAnimals() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public synchronized List<RescueAnimal> query(AnimalQuery query) {
+        return page(query, store.values().stream().filter(query::matches).toList());
     }
 
     @Override
-    public void addOrUpdateAnimal(RescueAnimal a) {
-        store.removeIf(existing -> existing.getUniqueId().equals(a.getUniqueId()));
-        store.add(a);
+    public synchronized int count(AnimalQuery query) {
+        return (int) store.values().stream().filter(query::matches).count();
     }
 
     @Override
-    public RescueAnimal getAnimalById(String id) {
-        return store.stream().filter(a -> a.getUniqueId().equals(id)).findFirst().orElse(null);
+    public synchronized List<Map<AnimalQuery.Column, Object>> project(AnimalQuery query, AnimalQuery.Column... columns) {
+        List<Map<AnimalQuery.Column, Object>> rows = new ArrayList<>();
+        for (RescueAnimal a : query(query)) {
+            Map<AnimalQuery.Column, Object> row = new EnumMap<>(AnimalQuery.Column.class);
+            for (AnimalQuery.Column c : columns) row.put(c, c.read(a));
+            rows.add(row);
+        }
+        return rows;
     }
 
     @Override
-    public List<RescueAnimal> listAnimals() {
-        return new ArrayList<>(store);
+    public long streamProjection(AnimalQuery query, int fetchSize, Consumer<Object[]> sink,
+                                 AnimalQuery.Column... columns) {
+        Object[] row = new Object[columns.length];
+        List<RescueAnimal> matches = query(query); // copied under the lock, handed out without it
+        for (RescueAnimal a : matches) {
+            for (int i = 0; i < columns.length; i++) row[i] = columns[i].read(a);
+            sink.accept(row);
+        }
+        return matches.size();
     }
 
     @Override
-    public void deleteAnimal(String id) {
-        store.removeIf(a -> a.getUniqueId().equals(id));
+    public synchronized long[] rowidRange() {
+        return store.isEmpty() ? null : new long[]{store.firstKey(), store.lastKey()};
+    }
+
+    @Override
+    public int streamAnimals(long fromRowid, long toRowid, Consumer<RescueAnimal> sink) {
+        List<RescueAnimal> slice;
+        synchronized (this) {
+            slice = new ArrayList<>(store.subMap(fromRowid, true, toRowid, true).values());
+        }
+        slice.forEach(sink); // outside the lock, like rows arriving from a cursor
+        return slice.size();
+    }
+
+    @Override
+    public long getDatabaseId() {
+        return databaseId;
+    }
+
+    @Override
+    public synchronized long getChangeCounter() {
+        return changeCounter;
+    }
+
+    @Override
+    public long getReferenceDataVersion() {
+        return ReferenceData.defaults().getVersion();
+    }
+
+    @Override
+    public ReferenceData loadReferenceData() {
+        return ReferenceData.defaults();
+    }
+
+    @Override
+    public synchronized int reserveIdBlock(int size) {
+        int first = Math.max(nextId, highestNumber + 1);
+        nextId = first + size;
+        return first;
+    }
+
+    @Override
+    public synchronized void advanceIdSequencePast(int number) {
+        nextId = Math.max(nextId, number + 1);
+    }
+
+    @Override
+    public synchronized int maxAnimalNumber() {
+        return Math.max(0, store.values().stream().mapToInt(a -> AnimalIds.parseNumber(a.getUniqueId())).max().orElse(0));
+    }
+
+    @Override
+    public synchronized boolean deleteAnimal(String id) {
+        Row row = byId.remove(id);
+        if (row == null) return false;
+        store.remove(row.rowid());
+        changeCounter++;
+        return true;
+    }
+
+    @Override
+    public synchronized int saveBatch(Collection<RescueAnimal> upserts, Collection<String> deletes) {
+        long before = changeCounter;
+        upserts.forEach(this::addOrUpdateAnimal);
+        deletes.forEach(this::deleteAnimal);
+        return (int) (changeCounter - before);
+    }
+
+    private static List<RescueAnimal> page(AnimalQuery query, List<RescueAnimal> matches) {
+        int from = Math.min(query.getOffset(), matches.size());
+        int to = query.getLimit() < 0 ? matches.size() : Math.min(matches.size(), from + query.getLimit());
+        return new ArrayList<>(matches.subList(from, to));
     }
 }
@@ -0,0 +1,60 @@
+package com.matthew.animalapp;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+/**
+ * Hi/lo allocator for animal numbers: reserves blocks of blockSize numbers from the
+ * database's id_sequence table (AnimalStorage.reserveIdBlock) and hands them out without
+ * locking until the block runs out. Only the thread that finds the block empty takes a lock
+ * and a database round trip. Numbers in a block that is never used up (the app exits, or
+ * advancePast skips ahead) are simply not used; IDs are unique, not gap-free.
+ */
+class IdAllocator implements IntSupplier {
+
+    private final AnimalStorage dbHelper;
+    private final int blockSize;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+    private final Object refillLock = new Object();
+
+    IdAllocator(AnimalStorage dbHelper, int blockSize) {
+        if (blockSize < 1) throw new IllegalArgumentException("id block size must be at least 1");
+        this.dbHelper = dbHelper;
+        this.blockSize = blockSize;
+    }
+
+    /** Next unused animal number. */
+    @Override
+    public int getAsInt() {
+        while (true) {
+            Block block = current.get();
+            int n = block.next.getAndIncrement();
+            if (n < block.end) return n;
+            synchronized (refillLock) {
+                if (current.get() == block) { // nobody refilled while we waited
+                    int first = dbHelper.reserveIdBlock(blockSize);
+                    current.set(new Block(first, first + blockSize));
+                }
+            }
+        }
+    }
+
+    /** Skips past {@code number}: it and everything below will never be handed out. */
+    void advancePast(int number) {
+        synchronized (refillLock) {
+            dbHelper.advanceIdSequencePast(number);
+            current.set(new Block(0, 0)); // the next call reserves a fresh block beyond it
+        }
+    }
+
+    private static final class Block {
+        final AtomicInteger next;
+        final int end; // exclusive
+
+        Block(int first, int end) {
+            this.next = new AtomicInteger(first);
+            this.end = end;
+        }
+    }
+}
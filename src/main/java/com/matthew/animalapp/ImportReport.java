@@ -0,0 +1,68 @@
+package com.matthew.animalapp;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Result of a BulkImporter run: what happened to each record read, the first errors found
+ * (by line number), and how long each stage of the pipeline spent working.
+ * A stage that was busy for most of the run is the one holding the others back.
+ */
+public final class ImportReport {
+
+    /** Errors kept in the report; records past this are still counted as invalid. */
+    static final int MAX_ERRORS = 1_000;
+
+    private final long read;
+    private final long resumedAfterLine;
+    private final long invalid;
+    private final long duplicates;
+    private final long imported;
+    private final List<ValidationReport.RecordError> errors;
+    private final Duration elapsed;
+    private final Duration[] stageBusy; // parse, validate, dedupe, persist
+
+    ImportReport(long read, long resumedAfterLine, long invalid, long duplicates, long imported,
+                 List<ValidationReport.RecordError> errors, Duration elapsed, Duration... stageBusy) {
+        this.read = read;
+        this.resumedAfterLine = resumedAfterLine;
+        this.invalid = invalid;
+        this.duplicates = duplicates;
+        this.imported = imported;
+        this.errors = List.copyOf(errors);
+        this.elapsed = elapsed;
+        this.stageBusy = stageBusy.clone();
+    }
+
+    /** Records read this run (not counting lines skipped on resume). */
+    public long getRecordsRead() { return read; }
+    /** Line the run resumed after (0 when it started from the top of the file). */
+    public long getResumedAfterLine() { return resumedAfterLine; }
+    public long getInvalidCount() { return invalid; }
+    /** Valid records matching an animal already stored or earlier in the file. */
+    public long getDuplicateCount() { return duplicates; }
+    public long getImportedCount() { return imported; }
+    /** Up to MAX_ERRORS errors in line order; RecordError.index() is the 1-based line number. */
+    public List<ValidationReport.RecordError> getErrors() { return errors; }
+    public Duration getElapsed() { return elapsed; }
+
+    public Duration getParseTime() { return stageBusy[0]; }
+    public Duration getValidateTime() { return stageBusy[1]; }
+    public Duration getDedupeTime() { return stageBusy[2]; }
+    public Duration getPersistTime() { return stageBusy[3]; }
+
+    /** Records read per second (0 when there were none). */
+    public double getRecordsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return (read == 0 || nanos == 0) ? 0.0 : read * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        String resumed = resumedAfterLine > 0 ? String.format(" (resumed after line %,d)", resumedAfterLine) : "";
+        return String.format("Imported %,d of %,d records in %,d ms (%,.0f records/sec)%s: %,d invalid, %,d duplicates%n"
+                        + "Stage busy time: parse %,d ms, validate %,d ms, dedupe %,d ms, persist %,d ms",
+                imported, read, elapsed.toMillis(), getRecordsPerSecond(), resumed, invalid, duplicates,
+                stageBusy[0].toMillis(), stageBusy[1].toMillis(), stageBusy[2].toMillis(), stageBusy[3].toMillis());
+    }
+}
@@ -0,0 +1,403 @@
+package com.matthew.animalapp;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * AnimalStorage that keeps the animals in memory and never touches SQLite (the "memory" backend),
+ * for large tests, benchmarks and demos. It behaves like the file database where the manager can tell the difference:
+ * rows are copies (changing an animal does nothing until it is saved, and every read returns new
+ * objects), each row keeps the rowid it was inserted with, IDs come from a sequence that skips
+ * past inserted numbers, saveBatch is all-or-nothing, and the change counter counts row writes.
+ * Lookups by ID are a hash lookup; rowid order is kept in a tree for queries and parallel loads.
+ * Reads share a read lock, writes take the write lock.
+ *
+ * <p>To simulate a slow or unreliable disk, add latency (a base delay plus random jitter, for
+ * reads and writes separately) and make writes fail, at a rate or for the next few calls.
+ * A failed write changes nothing and throws the same RuntimeException (wrapping an SQLException)
+ * the SQLite helper would. Delays are spent before the lock is taken, as if waiting on I/O.
+ * All settings can be changed while the helper is in use.
+ */
+public class InMemoryAnimalStorage implements AnimalStorage {
+
+    private record Row(long rowid, RescueAnimal animal) {}
+
+    private final Map<String, Row> byId = new HashMap<>();
+    private final NavigableMap<Long, Row> byRowid = new TreeMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long databaseId = new Random().nextLong();
+    private final AtomicLong injectedFailures = new AtomicLong();
+    private long nextRowid = 1;
+    private long changeCounter;
+    private int nextIdNumber = 1;
+
+    private final Random random;
+    private volatile long readDelayNanos, readJitterNanos;
+    private volatile long writeDelayNanos, writeJitterNanos;
+    private volatile double failureRate;
+    private int failNextWrites; // guarded by this
+
+    public InMemoryAnimalStorage() {
+        this(new Random().nextLong());
+    }
+
+    /** Seed for the jitter and failure rolls, so a simulated run can be repeated. */
+    public InMemoryAnimalStorage(long seed) {
+        this.random = new Random(seed);
+    }
+
+    // ===== Simulation settings =====
+
+    /** Every read waits delay plus a random extra of up to jitter. */
+    public InMemoryAnimalStorage readLatency(Duration delay, Duration jitter) {
+        readDelayNanos = nonNegative(delay, "read delay");
+        readJitterNanos = nonNegative(jitter, "read jitter");
+        return this;
+    }
+
+    /** Every write (single upsert, delete, batch or ID block) waits delay plus a random extra of up to jitter. */
+    public InMemoryAnimalStorage writeLatency(Duration delay, Duration jitter) {
+        writeDelayNanos = nonNegative(delay, "write delay");
+        writeJitterNanos = nonNegative(jitter, "write jitter");
+        return this;
+    }
+
+    /** Share of writes (0 to 1) that fail instead of being applied. */
+    public InMemoryAnimalStorage failureRate(double rate) {
+        if (!(rate >= 0 && rate <= 1)) throw new IllegalArgumentException("failure rate must be between 0 and 1");
+        this.failureRate = rate;
+        return this;
+    }
+
+    /** Makes the next count writes fail, whatever the failure rate. */
+    public synchronized InMemoryAnimalStorage failNextWrites(int count) {
+        if (count < 0) throw new IllegalArgumentException("count must not be negative");
+        this.failNextWrites = count;
+        return this;
+    }
+
+    /** Writes that failed on purpose so far. */
+    public long getInjectedFailureCount() {
+        return injectedFailures.get();
+    }
+
+    private static long nonNegative(Duration d, String what) {
+        if (d == null || d.isNegative()) throw new IllegalArgumentException(what + " must not be negative");
+        return d.toNanos();
+    }
+
+    private void beforeRead() {
+        pause(readDelayNanos, readJitterNanos);
+    }
+
+    private void beforeWrite(String error) {
+        pause(writeDelayNanos, writeJitterNanos);
+        boolean fail;
+        synchronized (this) {
+            if (failNextWrites > 0) {
+                failNextWrites--;
+                fail = true;
+            } else {
+                fail = failureRate > 0 && random.nextDouble() < failureRate;
+            }
+        }
+        if (fail) {
+            injectedFailures.incrementAndGet();
+            throw new RuntimeException(error, new SQLException("simulated disk failure"));
+        }
+    }
+
+    private void pause(long delay, long jitter) {
+        long nanos = delay;
+        if (jitter > 0) {
+            synchronized (this) {
+                nanos += (long) (random.nextDouble() * jitter);
+            }
+        }
+        if (nanos > 0) LockSupport.parkNanos(nanos);
+    }
+
+    // ===== Metadata =====
+
+    @Override
+    public long getDatabaseId() {
+        return databaseId;
+    }
+
+    @Override
+    public long getChangeCounter() {
+        lock.readLock().lock();
+        try {
+            return changeCounter;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Reference data never changes here: always the built-in lists. */
+    @Override
+    public long getReferenceDataVersion() {
+        return ReferenceData.defaults().getVersion();
+    }
+
+    @Override
+    public ReferenceData loadReferenceData() {
+        return ReferenceData.defaults();
+    }
+
+    // ===== Reads =====
+
+    @Override
+    public RescueAnimal getAnimalById(String id) {
+        beforeRead();
+        lock.readLock().lock();
+        try {
+            Row row = byId.get(id);
+            return row == null ? null : copyOf(row.animal());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<RescueAnimal> listAnimals() {
+        return query(AnimalQuery.all());
+    }
+
+    @Override
+    public List<RescueAnimal> query(AnimalQuery query) {
+        beforeRead();
+        List<RescueAnimal> animals = new ArrayList<>();
+        int skip = query.getOffset();
+        lock.readLock().lock();
+        try {
+            for (Row row : byRowid.values()) {
+                if (query.getLimit() >= 0 && animals.size() == query.getLimit()) break;
+                if (!query.matches(row.animal())) continue;
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    animals.add(copyOf(row.animal()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return animals;
+    }
+
+    @Override
+    public int count(AnimalQuery query) {
+        beforeRead();
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (Row row : byRowid.values()) {
+                if (query.matches(row.animal())) count++;
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads fetchSize matching rows at a time under the read lock and hands them to the sink
+     * without it, like a cursor, so writers aren't held up by a slow consumer.
+     */
+    @Override
+    public long streamProjection(AnimalQuery query, int fetchSize, Consumer<Object[]> sink,
+                                 AnimalQuery.Column... columns) {
+        beforeRead();
+        List<Object[]> fetched = new ArrayList<>();
+        Object[] row = new Object[columns.length];
+        long after = 0;
+        long emitted = 0;
+        int skip = query.getOffset();
+        while (true) {
+            fetched.clear();
+            lock.readLock().lock();
+            try {
+                for (Row r : byRowid.tailMap(after, false).values()) {
+                    after = r.rowid();
+                    if (!query.matches(r.animal())) continue;
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    Object[] values = new Object[columns.length];
+                    for (int i = 0; i < columns.length; i++) values[i] = columns[i].read(r.animal());
+                    fetched.add(values);
+                    if (fetched.size() == fetchSize) break;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            for (Object[] values : fetched) {
+                if (query.getLimit() >= 0 && emitted == query.getLimit()) return emitted;
+                System.arraycopy(values, 0, row, 0, row.length);
+                sink.accept(row);
+                emitted++;
+            }
+            if (fetched.size() < fetchSize) return emitted;
+        }
+    }
+
+    @Override
+    public int maxAnimalNumber() {
+        beforeRead();
+        lock.readLock().lock();
+        try {
+            int max = 0;
+            for (String id : byId.keySet()) max = Math.max(max, AnimalIds.parseNumber(id));
+            return max;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long[] rowidRange() {
+        beforeRead();
+        lock.readLock().lock();
+        try {
+            return byRowid.isEmpty() ? null : new long[]{byRowid.firstKey(), byRowid.lastKey()};
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int streamAnimals(long fromRowid, long toRowid, Consumer<RescueAnimal> sink) {
+        beforeRead();
+        List<RescueAnimal> slice = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Row row : byRowid.subMap(fromRowid, true, toRowid, true).values()) {
+                slice.add(copyOf(row.animal()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        slice.forEach(sink); // outside the lock, like rows arriving from a cursor
+        return slice.size();
+    }
+
+    // ===== Writes =====
+
+    @Override
+    public void addOrUpdateAnimal(RescueAnimal a) {
+        beforeWrite("Error saving animal");
+        RescueAnimal copy = copyOf(a);
+        lock.writeLock().lock();
+        try {
+            put(copy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteAnimal(String id) {
+        beforeWrite("Error deleting animal");
+        lock.writeLock().lock();
+        try {
+            return remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** All or nothing: rows are copied before anything changes, then applied under one write lock. */
+    @Override
+    public int saveBatch(Collection<RescueAnimal> upserts, Collection<String> deletes) {
+        if (upserts.isEmpty() && deletes.isEmpty()) return 0;
+        beforeWrite("Error saving batch of animals");
+        List<RescueAnimal> copies = new ArrayList<>(upserts.size());
+        for (RescueAnimal a : upserts) copies.add(copyOf(a));
+        lock.writeLock().lock();
+        try {
+            copies.forEach(this::put);
+            int changed = copies.size();
+            for (String id : deletes) {
+                if (remove(id)) changed++;
+            }
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int reserveIdBlock(int size) {
+        beforeWrite("Error reserving animal ids");
+        lock.writeLock().lock();
+        try {
+            int first = nextIdNumber;
+            nextIdNumber += size;
+            return first;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void advanceIdSequencePast(int number) {
+        beforeWrite("Error advancing animal id sequence");
+        lock.writeLock().lock();
+        try {
+            nextIdNumber = Math.max(nextIdNumber, number + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Upsert: an existing row keeps its rowid, a new one goes at the end. Caller holds the write lock. */
+    private void put(RescueAnimal copy) {
+        String id = copy.getUniqueId();
+        Row old = byId.get(id);
+        Row row = new Row(old != null ? old.rowid() : nextRowid++, copy);
+        byId.put(id, row);
+        byRowid.put(row.rowid(), row);
+        changeCounter++;
+        int number = AnimalIds.parseNumber(id);
+        if (number >= 0) nextIdNumber = Math.max(nextIdNumber, number + 1); // like the sequence trigger
+    }
+
+    private boolean remove(String id) {
+        Row row = byId.remove(id);
+        if (row == null) return false;
+        byRowid.remove(row.rowid());
+        changeCounter++;
+        return true;
+    }
+
+    /** A separate animal with the same ID and fields, read under the animal's lock like the SQLite helper does. */
+    static RescueAnimal copyOf(RescueAnimal a) {
+        synchronized (a) {
+            if (a instanceof Monkey m) {
+                return new Monkey(m.getUniqueId(), m.getName(), m.getSpecies(), m.getGender(), m.getAge(),
+                        m.getWeight(), m.getAcquisitionDate(), m.getAcquisitionCountry(), m.getTrainingStatus(),
+                        m.isReserved(), m.getInServiceCountry(), m.getTailLength(), m.getHeight(), m.getBodyLength());
+            }
+            if (a instanceof Dog d) {
+                return new Dog(d.getUniqueId(), d.getName(), d.getBreed(), d.getGender(), d.getAge(),
+                        d.getWeight(), d.getAcquisitionDate(), d.getAcquisitionCountry(), d.getTrainingStatus(),
+                        d.isReserved(), d.getInServiceCountry());
+            }
+            throw new IllegalArgumentException("Unsupported animal type: " + a.getClass().getSimpleName());
+        }
+    }
+}
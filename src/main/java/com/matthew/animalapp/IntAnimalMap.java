@@ -0,0 +1,194 @@
+package com.matthew.animalapp;
+
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing hash map from int keys (the number in "RA-n") to animals, with no boxing
+ * and no per-entry node objects: one int[] of keys and one parallel array of animals.
+ * Linear probing; removals shift later entries back instead of leaving tombstones.
+ * Writers take a StampedLock; readers probe under an optimistic stamp and only take the
+ * read lock when a write raced with them, so lookups stay lock-free in the common case.
+ */
+class IntAnimalMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /** Keys and values swapped together on resize, so a reader never sees arrays of two sizes. */
+    private static final class Table {
+        final int[] keys;
+        final RescueAnimal[] values; // null = empty slot
+        final int shift;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new RescueAnimal[capacity];
+            shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        }
+
+        int home(int key) {
+            return (key * 0x9E3779B9) >>> shift; // Fibonacci hashing: spreads sequential IDs
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private Table table = new Table(MIN_CAPACITY);
+    private int size;
+
+    RescueAnimal get(int key) {
+        long stamp = lock.tryOptimisticRead();
+        RescueAnimal found = find(table, key);
+        if (lock.validate(stamp)) return found;
+        stamp = lock.readLock();
+        try {
+            return find(table, key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Stores the animal unless the key is taken. Returns the existing animal, or null if added. */
+    RescueAnimal putIfAbsent(int key, RescueAnimal animal) {
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int slot = slotOf(t, key);
+            if (t.values[slot] != null) return t.values[slot];
+            if ((size + 1) * 4L > t.keys.length * 3L) { // keep the load factor under 0.75
+                t = resize(t.keys.length * 2);
+                slot = slotOf(t, key);
+            }
+            t.keys[slot] = key;
+            t.values[slot] = animal;
+            size++;
+            return null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Removes and returns the animal under this key, or null if none. */
+    RescueAnimal remove(int key) {
+        return remove(key, null);
+    }
+
+    /** Removes the key only while it maps to this exact animal (any animal when expected is null). */
+    RescueAnimal remove(int key, RescueAnimal expected) {
+        long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int slot = slotOf(t, key);
+            RescueAnimal existing = t.values[slot];
+            if (existing == null || (expected != null && existing != expected)) return null;
+            deleteSlot(t, slot);
+            size--;
+            return existing;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Slots in the table: the length of both the key and the value array. */
+    int capacity() {
+        long stamp = lock.readLock();
+        try {
+            return table.keys.length;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Adds every stored animal to the list. */
+    void copyValuesTo(List<RescueAnimal> out) {
+        long stamp = lock.readLock();
+        try {
+            for (RescueAnimal a : table.values) {
+                if (a != null) out.add(a);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Highest stored key, or -1 when empty. */
+    int maxKey() {
+        long stamp = lock.readLock();
+        try {
+            Table t = table;
+            int max = -1;
+            for (int i = 0; i < t.keys.length; i++) {
+                if (t.values[i] != null && t.keys[i] > max) max = t.keys[i];
+            }
+            return max;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ===== probing =====
+
+    /**
+     * Probes without the lock. The probe count is bounded so a reader that races a resize
+     * or shift still terminates; its answer is then thrown away by validate().
+     */
+    private static RescueAnimal find(Table t, int key) {
+        int mask = t.keys.length - 1;
+        int slot = t.home(key);
+        for (int probes = 0; probes <= mask; probes++) {
+            RescueAnimal a = t.values[slot];
+            if (a == null) return null;
+            if (t.keys[slot] == key) return a;
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /** Slot holding the key, or the empty slot where it would go. Caller holds the write lock. */
+    private static int slotOf(Table t, int key) {
+        int mask = t.keys.length - 1;
+        int slot = t.home(key);
+        while (t.values[slot] != null && t.keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /** Backward-shift delete: pulls later entries of the probe run into the gap. */
+    private static void deleteSlot(Table t, int gap) {
+        int mask = t.keys.length - 1;
+        int i = (gap + 1) & mask;
+        while (t.values[i] != null) {
+            int home = t.home(t.keys[i]);
+            // the entry may move to the gap only if the gap lies between its home slot and i
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                t.keys[gap] = t.keys[i];
+                t.values[gap] = t.values[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        t.values[gap] = null;
+    }
+
+    private Table resize(int capacity) {
+        Table old = table;
+        Table grown = new Table(capacity);
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.values[i] == null) continue;
+            int slot = slotOf(grown, old.keys[i]);
+            grown.keys[slot] = old.keys[i];
+            grown.values[slot] = old.values[i];
+        }
+        table = grown;
+        return grown;
+    }
+}
@@ -0,0 +1,33 @@
+package com.matthew.animalapp;
+
+import java.util.Map;
+
+/**
+ * One animal to take in, as raw text (from a file, an import, another system).
+ * Field names match the animals table columns; breed is for dogs, species and the
+ * three measurements for monkeys. Checked by BulkValidator before anything is built from it.
+ */
+public record IntakeRecord(String type,
+                           String name,
+                           String breed,
+                           String species,
+                           String gender,
+                           String age,
+                           String weight,
+                           String acquisitionDate,
+                           String acquisitionCountry,
+                           String trainingStatus,
+                           String reserved,
+                           String inServiceCountry,
+                           String tailLength,
+                           String height,
+                           String bodyLength) {
+
+    /** Record from column name -> value (missing keys are null). */
+    public static IntakeRecord fromMap(Map<String, String> row) {
+        return new IntakeRecord(row.get("type"), row.get("name"), row.get("breed"), row.get("species"),
+                row.get("gender"), row.get("age"), row.get("weight"), row.get("acquisitionDate"),
+                row.get("acquisitionCountry"), row.get("trainingStatus"), row.get("reserved"),
+                row.get("inServiceCountry"), row.get("tailLength"), row.get("height"), row.get("bodyLength"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.matthew.animalapp;
+
+import java.time.Duration;
+
+/**
+ * How long AnimalManager's initial load from the database took.
+ */
+public final class LoadReport {
+    private final long rows;
+    private final Duration elapsed;
+    private final int threads;
+    private final boolean fromSnapshot;
+
+    public LoadReport(long rows, Duration elapsed, int threads) {
+        this(rows, elapsed, threads, false);
+    }
+
+    public LoadReport(long rows, Duration elapsed, int threads, boolean fromSnapshot) {
+        this.rows = rows;
+        this.elapsed = elapsed;
+        this.threads = threads;
+        this.fromSnapshot = fromSnapshot;
+    }
+
+    public long getRows() { return rows; }
+    public Duration getElapsed() { return elapsed; }
+    public int getThreads() { return threads; }
+    /** True when the animals came from the AnimalSnapshot file rather than SQL. */
+    public boolean isFromSnapshot() { return fromSnapshot; }
+
+    /** Rows loaded per second (0 when nothing was loaded). */
+    public double getRowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return (rows == 0 || nanos == 0) ? 0.0 : rows * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        if (fromSnapshot) {
+            return String.format("Loaded %,d animals from snapshot in %,d ms (%,.0f rows/sec)",
+                    rows, elapsed.toMillis(), getRowsPerSecond());
+        }
+        return String.format("Loaded %,d animals in %,d ms (%,.0f rows/sec, %d thread%s)",
+                rows, elapsed.toMillis(), getRowsPerSecond(), threads, threads == 1 ? "" : "s");
+    }
+}
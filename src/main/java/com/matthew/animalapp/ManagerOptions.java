@@ -0,0 +1,129 @@
+package com.matthew.animalapp;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Optional behaviour for AnimalManager. The defaults match the original manager
+ * (every change is written to the database before the call returns).
+ * Each setter returns this so options can be chained:
+ * {@code ManagerOptions.defaults().writeBehind(500, Duration.ofSeconds(2))}.
+ */
+public class ManagerOptions {
+
+    private boolean writeBehind = false;
+    private int writeBehindBatchSize = 500;
+    private Duration writeBehindMaxStaleness = Duration.ofSeconds(2);
+    private int workingSetSize = 0;          // 0 = keep every animal in memory
+    private boolean backgroundLoad = false;
+    private Path snapshotFile;               // null = always load from SQL
+    private int idBlockSize = 100;
+    private int loadThreads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    public static ManagerOptions defaults() {
+        return new ManagerOptions();
+    }
+
+    /**
+     * Reads options from -D system properties, so the console app can be tuned without code changes:
+     * animalapp.writeBehind=true, animalapp.writeBehind.batchSize, animalapp.writeBehind.maxStalenessMs,
+     * animalapp.workingSetSize=N (bounded-memory mode), animalapp.loadThreads=N, and
+     * animalapp.backgroundLoad (on unless set to false, so the menu appears while animals load),
+     * animalapp.snapshot=file (default animals.snapshot; "off" to disable), animalapp.idBlockSize=N.
+     */
+    public static ManagerOptions fromSystemProperties() {
+        ManagerOptions options = defaults();
+        if (Boolean.getBoolean("animalapp.writeBehind")) {
+            options.writeBehind(
+                    Integer.getInteger("animalapp.writeBehind.batchSize", options.writeBehindBatchSize),
+                    Duration.ofMillis(Long.getLong("animalapp.writeBehind.maxStalenessMs",
+                            options.writeBehindMaxStaleness.toMillis())));
+        }
+        int workingSetSize = Integer.getInteger("animalapp.workingSetSize", 0);
+        if (workingSetSize > 0) {
+            options.workingSet(workingSetSize);
+        }
+        if (Boolean.parseBoolean(System.getProperty("animalapp.backgroundLoad", "true"))) {
+            options.backgroundLoad();
+        }
+        options.loadThreads(Integer.getInteger("animalapp.loadThreads", options.loadThreads));
+        options.idBlockSize(Integer.getInteger("animalapp.idBlockSize", options.idBlockSize));
+        String snapshot = System.getProperty("animalapp.snapshot", "animals.snapshot").trim();
+        if (!snapshot.isEmpty() && !snapshot.equalsIgnoreCase("off")) {
+            options.snapshot(Path.of(snapshot));
+        }
+        return options;
+    }
+
+    /**
+     * Queue changes and write them in batched transactions once {@code batchSize} animals are dirty
+     * or the oldest change is {@code maxStaleness} old, whichever comes first.
+     */
+    public ManagerOptions writeBehind(int batchSize, Duration maxStaleness) {
+        if (batchSize < 1) throw new IllegalArgumentException("batch size must be at least 1");
+        if (maxStaleness.isNegative() || maxStaleness.isZero()) {
+            throw new IllegalArgumentException("max staleness must be positive");
+        }
+        this.writeBehind = true;
+        this.writeBehindBatchSize = batchSize;
+        this.writeBehindMaxStaleness = maxStaleness;
+        return this;
+    }
+
+    /**
+     * Bounded-memory mode: keep at most {@code maxAnimals} recently used animals in memory,
+     * load others from the database on demand, and answer list queries with SQL
+     * instead of loading the whole table at startup.
+     */
+    public ManagerOptions workingSet(int maxAnimals) {
+        if (maxAnimals < 1) throw new IllegalArgumentException("working set must hold at least 1 animal");
+        this.workingSetSize = maxAnimals;
+        return this;
+    }
+
+    /**
+     * Return from the constructor straight away and finish the initial load in the background.
+     * ID lookups and changes work during the load (rows not loaded yet are read individually);
+     * list methods wait for it to finish.
+     */
+    public ManagerOptions backgroundLoad() {
+        this.backgroundLoad = true;
+        return this;
+    }
+
+    /** Number of reader threads (and connections) used for the initial load. */
+    public ManagerOptions loadThreads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("need at least one load thread");
+        this.loadThreads = threads;
+        return this;
+    }
+
+    /**
+     * Write every animal to this file on close() and load from it at startup when the database
+     * hasn't changed since (falls back to SQL otherwise). Not used in bounded-memory mode.
+     */
+    public ManagerOptions snapshot(Path file) {
+        this.snapshotFile = file;
+        return this;
+    }
+
+    /**
+     * How many IDs to reserve from the database at a time. Bigger blocks mean fewer database
+     * round trips but bigger gaps in the numbering when the app exits part way through a block.
+     */
+    public ManagerOptions idBlockSize(int size) {
+        if (size < 1) throw new IllegalArgumentException("id block size must be at least 1");
+        this.idBlockSize = size;
+        return this;
+    }
+
+    public boolean isWriteBehind() { return writeBehind; }
+    public int getWriteBehindBatchSize() { return writeBehindBatchSize; }
+    public Duration getWriteBehindMaxStaleness() { return writeBehindMaxStaleness; }
+    public boolean isBoundedWorkingSet() { return workingSetSize > 0; }
+    public int getWorkingSetSize() { return workingSetSize; }
+    public boolean isBackgroundLoad() { return backgroundLoad; }
+    public int getLoadThreads() { return loadThreads; }
+    public Path getSnapshotFile() { return snapshotFile; }
+    public int getIdBlockSize() { return idBlockSize; }
+}
@@ -1,5 +1,8 @@
 package com.matthew.animalapp;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Scanner;
 
@@ -29,6 +32,7 @@ public class MenuController {
         System.out.println(" │ [5] Print available animals         │");
         System.out.println(" │ [6] Update training status          │");
         System.out.println(" │ [7] Remove an animal                │");
+        System.out.println(" │ [8] Export animals to a file        │");
         System.out.println(" │ [q] Quit application                │");
         System.out.println(" └─────────────────────────────────────┘");
         System.out.print(" Enter a menu selection: ");
@@ -44,6 +48,7 @@ public class MenuController {
                 case "5" -> printAvailableAnimals();
                 case "6" -> updateTrainingStatus();
                 case "7" -> removeAnimal();
+                case "8" -> exportAnimals();
                 case "q", "Q" -> {
                     return false;
                 }
@@ -63,6 +68,7 @@ public class MenuController {
         System.out.println(" ┌───────────────────────────┐");
         System.out.println(" │ [1] Intake a new dog      │");
         System.out.println(" │ [2] Intake a new monkey   │");
+        System.out.println(" │ [3] Import from a file    │");
         System.out.println(" │ [c] Cancel                │");
         System.out.println(" └───────────────────────────┘");
         System.out.print(" Enter your choice: ");
@@ -71,17 +77,39 @@ public class MenuController {
         switch (choice) {
             case "1", "dog" -> intakeNewDog();
             case "2", "monkey" -> intakeNewMonkey();
+            case "3", "import" -> importFromFile();
             case "c", "cancel" -> throw new Validation.CancelException();
             default -> System.out.println("Invalid choice. Returning to main menu.");
         }
     }
 
+    /**
+     * Bulk intake from a .csv or .ndjson file (see BulkImporter). Progress is checkpointed next
+     * to the file, so running the import again after a failure picks up where it stopped.
+     */
+    void importFromFile() {
+        Path file = Path.of(Validation.readNonEmpty(scanner, "Enter path to a .csv or .ndjson file"));
+        if (!Files.isRegularFile(file)) {
+            System.out.println("File not found: " + file);
+            return;
+        }
+        Path checkpoint = file.resolveSibling(file.getFileName() + ".checkpoint");
+        if (Files.exists(checkpoint)) System.out.println("Resuming the previous import of this file.");
+        ImportReport report = new BulkImporter(manager).checkpoint(checkpoint).importFile(file);
+        System.out.println("\n" + report);
+        List<ValidationReport.RecordError> errors = report.getErrors();
+        errors.stream().limit(10).forEach(e -> System.out.println("  line " + e.index() + ": " + e.field() + " " + e.message()));
+        if (errors.size() > 10) System.out.println("  ... (" + report.getInvalidCount() + " invalid records in all)");
+    }
+
     void intakeNewDog() {
         String name = Validation.readNonEmpty(scanner, "Enter name");
         String breed = Validation.readBreed(scanner);
         String gender = Validation.readGender(scanner);
-        int age = Validation.readBoundedInt(scanner, "Enter age", 1, 30, "years");
-        double weight = Validation.readBoundedDouble(scanner, "Enter weight", 1, 440, "lbs");
+        int age = Validation.readBoundedInt(scanner, "Enter age",
+                Validation.MIN_AGE, Validation.MAX_AGE, "years");
+        double weight = Validation.readBoundedDouble(scanner, "Enter weight",
+                Validation.MIN_WEIGHT, Validation.MAX_WEIGHT, "lbs");
         String acquisitionDate = Validation.readDate(scanner, "Enter acquisition date", age);
         String acquisitionCountry = Validation.readAcquisitionCountry(scanner);
 
@@ -94,7 +122,7 @@ public class MenuController {
             reserved = Validation.readYesNo(scanner, "Reserve this dog immediately?");
         }
 
-        Dog dog = new Dog(name, breed, gender, String.valueOf(age), String.valueOf(weight),
+        Dog dog = new Dog(manager.newAnimalId(), name, breed, gender, String.valueOf(age), String.valueOf(weight),
                 acquisitionDate, acquisitionCountry, trainingStatus,
                 reserved, inServiceCountry);
 
@@ -110,14 +138,19 @@ public class MenuController {
         String name = Validation.readNonEmpty(scanner, "Enter name");
         String species = Validation.readMonkeySpecies(scanner);
         String gender = Validation.readNonEmpty(scanner, "Enter gender");
-        int age = Validation.readBoundedInt(scanner, "Enter age", 1, 30, "years");
-        double weight = Validation.readBoundedDouble(scanner, "Enter weight", 1, 440, "lbs");
+        int age = Validation.readBoundedInt(scanner, "Enter age",
+                Validation.MIN_AGE, Validation.MAX_AGE, "years");
+        double weight = Validation.readBoundedDouble(scanner, "Enter weight",
+                Validation.MIN_WEIGHT, Validation.MAX_WEIGHT, "lbs");
         String acquisitionDate = Validation.readDate(scanner, "Enter acquisition date", age);
         String acquisitionCountry = Validation.readAcquisitionCountry(scanner);
 
-        double tailLength = Validation.readBoundedDouble(scanner, "Enter tail length", 1, 60, "inches");
-        double height = Validation.readBoundedDouble(scanner, "Enter height", 1, 100, "inches");
-        double bodyLength = Validation.readBoundedDouble(scanner, "Enter body length", 1, 80, "inches");
+        double tailLength = Validation.readBoundedDouble(scanner, "Enter tail length",
+                Validation.MIN_TAIL_LENGTH, Validation.MAX_TAIL_LENGTH, "inches");
+        double height = Validation.readBoundedDouble(scanner, "Enter height",
+                Validation.MIN_HEIGHT, Validation.MAX_HEIGHT, "inches");
+        double bodyLength = Validation.readBoundedDouble(scanner, "Enter body length",
+                Validation.MIN_BODY_LENGTH, Validation.MAX_BODY_LENGTH, "inches");
 
         String trainingStatus = Validation.readTrainingStatus(scanner);
         String inServiceCountry = null;
@@ -128,7 +161,7 @@ public class MenuController {
             reserved = Validation.readYesNo(scanner, "Reserve this monkey immediately?");
         }
 
-        Monkey monkey = new Monkey(name, species, gender, String.valueOf(age), String.valueOf(weight),
+        Monkey monkey = new Monkey(manager.newAnimalId(), name, species, gender, String.valueOf(age), String.valueOf(weight),
                 acquisitionDate, acquisitionCountry, trainingStatus,
                 reserved, inServiceCountry, tailLength, height, bodyLength);
 
@@ -354,6 +387,30 @@ public class MenuController {
         }
     }
 
+    // ===== Export =====
+    /** Writes dogs, monkeys or both (optionally only one training status) to a .csv or .ndjson file. */
+    private void exportAnimals() throws IOException {
+        System.out.println("\n--- Export Animals ---");
+        Path file = Path.of(Validation.readNonEmpty(scanner, "Enter path for the .csv or .ndjson file"));
+        RecordFormat.forFile(file); // reject an unknown extension before asking anything else
+        AnimalQuery query = AnimalQuery.all();
+        while (true) {
+            String type = Validation.readNonEmpty(scanner, "Export which animals? (dog/monkey/all)").toLowerCase();
+            if (type.equals("dog") || type.equals("monkey")) {
+                query.type(type);
+                break;
+            }
+            if (type.equals("all")) break;
+            System.out.println("Please enter dog, monkey or all.");
+        }
+        if (Validation.readYesNo(scanner, "Only export one training status?")) {
+            query.statuses(RescueAnimal.TrainingStatus.parse(Validation.readTrainingStatus(scanner)));
+        }
+        long start = System.nanoTime();
+        long rows = manager.exportTo(file, query);
+        System.out.printf("Exported %,d animals to %s in %,d ms%n", rows, file, (System.nanoTime() - start) / 1_000_000);
+    }
+
     private void removeAnimal() {
         System.out.println("\n--- Remove Animal ---");
         String searchInput = Validation.readNonEmpty(scanner, "Enter animal ID or name");
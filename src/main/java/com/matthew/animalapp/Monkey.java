@@ -2,11 +2,11 @@ package com.matthew.animalapp;
 
 /**
  * Monkey is a specific type of RescueAnimal.
- * Adds species and body measurements.
+ * Adds species (held as an AttributeDictionary.MONKEY_SPECIES code) and body measurements.
  */
 public class Monkey extends RescueAnimal {
 
-    private String species;
+    private int species;
     private double tailLength;
     private double height;
     private double bodyLength;
@@ -26,7 +26,7 @@ public class Monkey extends RescueAnimal {
                   double bodyLength) {
         super(name, gender, age, weight, acquisitionDate, acquisitionCountry,
                 trainingStatus, reserved, inServiceCountry);
-        this.species = species;
+        this.species = AttributeDictionary.MONKEY_SPECIES.encode(species);
         this.tailLength = tailLength;
         this.height = height;
         this.bodyLength = bodyLength;
@@ -49,14 +49,15 @@ public class Monkey extends RescueAnimal {
                   double bodyLength) {
         super(id, name, gender, age, weight, acquisitionDate, acquisitionCountry,
                 trainingStatus, reserved, inServiceCountry);
-        this.species = species;
+        this.species = AttributeDictionary.MONKEY_SPECIES.encode(species);
         this.tailLength = tailLength;
         this.height = height;
         this.bodyLength = bodyLength;
     }
 
-    public String getSpecies() { return species; }
-    public void setSpecies(String species) { this.species = species; }
+    public String getSpecies() { return AttributeDictionary.MONKEY_SPECIES.decode(species); }
+    public void setSpecies(String species) { this.species = AttributeDictionary.MONKEY_SPECIES.encode(species); }
+    int getSpeciesCode() { return species; }
 
     public double getTailLength() { return tailLength; }
     public void setTailLength(double tailLength) { this.tailLength = tailLength; }
@@ -70,7 +71,7 @@ public class Monkey extends RescueAnimal {
     @Override
     public String toString() {
         return super.toString() +
-                "Species: " + species + "\n" +
+                "Species: " + getSpecies() + "\n" +
                 "Age: " + getAge() + " years\n" +
                 "Weight: " + getWeight() + " lbs\n" +
                 "Tail Length: " + tailLength + " inches\n" +
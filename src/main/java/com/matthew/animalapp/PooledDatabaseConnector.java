@@ -0,0 +1,265 @@
+package com.matthew.animalapp;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * DatabaseConnector that keeps connections open instead of reopening the SQLite file
+ * (and re-reading its schema) on every call.
+ * SQLite only allows one writer at a time, so the pool has exactly one writer connection
+ * (getConnection) and up to maxReaders reader connections (getReadConnection).
+ * Callers still close what they borrow; closing hands the connection back to the pool.
+ * Connections are validated when borrowed and replaced if they have gone bad.
+ * Each connection also keeps its prepared statements (see StatementCache), so repeated
+ * calls like the per-row UPSERT are compiled once per connection rather than once per call.
+ */
+public class PooledDatabaseConnector extends DatabaseConnector {
+
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    private final int maxReaders;
+    private final long borrowTimeoutMillis;
+
+    private final Semaphore writerPermit = new Semaphore(1, true);
+    private final Semaphore readerPermits;
+    private final BlockingQueue<Connection> idleReaders = new LinkedBlockingQueue<>();
+    private final Map<Connection, StatementCache> open = new ConcurrentHashMap<>(); // every physical connection
+    private final LongAdder prepareHits = new LongAdder();
+    private final LongAdder prepareMisses = new LongAdder();
+    private Connection writer;                                           // guarded by writerPermit
+    private volatile boolean closed = false;
+
+    public PooledDatabaseConnector(String url) {
+        this(url, DatabaseProfile.DURABLE);
+    }
+
+    public PooledDatabaseConnector(String url, DatabaseProfile profile) {
+        this(url, profile, Math.max(2, Runtime.getRuntime().availableProcessors()), Duration.ofSeconds(30));
+    }
+
+    public PooledDatabaseConnector(String url, int maxReaders, Duration borrowTimeout) {
+        this(url, DatabaseProfile.DURABLE, maxReaders, borrowTimeout);
+    }
+
+    public PooledDatabaseConnector(String url, DatabaseProfile profile, int maxReaders, Duration borrowTimeout) {
+        super(url, profile);
+        if (maxReaders < 1) throw new IllegalArgumentException("pool needs at least one reader");
+        this.maxReaders = maxReaders;
+        this.borrowTimeoutMillis = borrowTimeout.toMillis();
+        this.readerPermits = new Semaphore(maxReaders, true);
+    }
+
+    /** Borrows the single writer connection, waiting while another caller holds it. */
+    @Override
+    public Connection getConnection() {
+        acquire(writerPermit);
+        try {
+            if (writer == null || !isUsable(writer)) {
+                discard(writer);
+                writer = track(openConnection());
+            }
+            return handle(writer, open.get(writer), this::returnWriter);
+        } catch (RuntimeException e) {
+            writerPermit.release();
+            throw e;
+        }
+    }
+
+    /** Borrows a reader connection, opening a new one if none are idle and the pool isn't full. */
+    @Override
+    public Connection getReadConnection() {
+        acquire(readerPermits);
+        try {
+            Connection reader;
+            while ((reader = idleReaders.poll()) != null && !isUsable(reader)) {
+                discard(reader);
+            }
+            if (reader == null) reader = track(openConnection());
+            return handle(reader, open.get(reader), this::returnReader);
+        } catch (RuntimeException e) {
+            readerPermits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public StatementCacheStats getStatementCacheStats() {
+        return new StatementCacheStats(prepareHits.sum(), prepareMisses.sum());
+    }
+
+    /** Number of physical connections currently open. */
+    public int openConnectionCount() {
+        return open.size();
+    }
+
+    /**
+     * Stops lending connections, waits (up to the borrow timeout) for borrowed ones
+     * to come back, then closes every physical connection.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        boolean writerBack = false;
+        int readersBack = 0;
+        try {
+            writerBack = writerPermit.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (readerPermits.tryAcquire(maxReaders, borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                readersBack = maxReaders;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Connection c : open.keySet()) {
+            discard(c); // anything still borrowed after the timeout is closed underneath its user
+        }
+        idleReaders.clear();
+        writer = null;
+        if (writerBack) writerPermit.release();
+        readerPermits.release(readersBack);
+    }
+
+    // ===== borrowing helpers =====
+
+    private void acquire(Semaphore permits) {
+        if (closed) throw new IllegalStateException("Connection pool is closed: " + getUrl());
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("Timed out waiting for a database connection: " + getUrl());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for a database connection", e);
+        }
+    }
+
+    private void returnWriter(Connection c) {
+        if (closed || !reset(c)) {
+            discard(c);
+            writer = null;
+        }
+        writerPermit.release();
+    }
+
+    private void returnReader(Connection c) {
+        if (closed || !reset(c)) {
+            discard(c);
+        } else {
+            idleReaders.offer(c);
+        }
+        readerPermits.release();
+    }
+
+    /** Rolls back anything the borrower left open. Returns false if the connection is unusable. */
+    private static boolean reset(Connection c) {
+        try {
+            if (c.isClosed()) return false;
+            if (!c.getAutoCommit()) {
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static boolean isUsable(Connection c) {
+        try {
+            return !c.isClosed() && c.isValid(1);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection track(Connection c) {
+        open.put(c, new StatementCache(c, STATEMENT_CACHE_SIZE, prepareHits, prepareMisses));
+        return c;
+    }
+
+    private void discard(Connection c) {
+        if (c == null) return;
+        StatementCache statements = open.remove(c);
+        if (statements != null) statements.closeAll();
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+            // already broken; nothing else to release
+        }
+    }
+
+    private static Connection handle(Connection physical, StatementCache statements, Consumer<Connection> onRelease) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handle(physical, statements, onRelease));
+    }
+
+    /**
+     * What callers actually hold: forwards to the physical connection until close(),
+     * which returns it to the pool instead of closing it. prepareStatement(sql) goes through
+     * the connection's statement cache. Used by one caller at a time.
+     */
+    private static final class Handle implements InvocationHandler {
+        private final Connection physical;
+        private final StatementCache statements;
+        private final Consumer<Connection> onRelease;
+        private boolean released = false;
+
+        Handle(Connection physical, StatementCache statements, Consumer<Connection> onRelease) {
+            this.physical = physical;
+            this.statements = statements;
+            this.onRelease = onRelease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!released) {
+                        released = true;
+                        onRelease.accept(physical);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return released || physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled[" + physical + "]";
+                }
+                default -> {
+                    // fall through to the physical connection
+                }
+            }
+            if (released) throw new SQLException("Connection has already been returned to the pool.");
+            if (method.getName().equals("prepareStatement") && args.length == 1) {
+                return statements.prepare((String) args[0]);
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
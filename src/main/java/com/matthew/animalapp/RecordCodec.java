@@ -0,0 +1,216 @@
+package com.matthew.animalapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Line-level reading and writing for the RecordFormats. Hand-rolled (the app has no CSV or JSON library)
+ * and only as general as intake files need: CSV fields may be quoted with "" escapes, and a quoted
+ * field may contain line breaks (the reader joins the lines, see isCompleteCsvRecord). NDJSON objects
+ * are flat, with string, number, boolean or null values.
+ * Malformed lines throw IllegalArgumentException.
+ */
+final class RecordCodec {
+
+    private RecordCodec() {
+        // utility class, no instances
+    }
+
+    /** Fields of one CSV record (one line, or several joined with \n when a quoted field spans them). */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) throw new IllegalArgumentException("unterminated quoted field");
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"'); // "" inside quotes
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("unexpected text after quoted field");
+                }
+            } else {
+                int end = line.indexOf(',', i);
+                if (end < 0) end = line.length();
+                field.append(line, i, end);
+                i = end;
+            }
+            fields.add(field.toString());
+            if (i >= line.length()) return fields;
+            i++; // the comma
+        }
+    }
+
+    /** False if the text ends inside a quoted field, so the record goes on with the next line. */
+    static boolean isCompleteCsvRecord(CharSequence text) {
+        boolean quoted = false;
+        boolean fieldStart = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        i++; // "" inside quotes
+                    } else {
+                        quoted = false;
+                    }
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            }
+            fieldStart = !quoted && c == ',';
+        }
+        return !quoted;
+    }
+
+    /** Keys and values of one flat JSON object; null values are left out, numbers and booleans kept as text. */
+    static Map<String, String> parseJsonObject(String line) {
+        JsonCursor in = new JsonCursor(line);
+        Map<String, String> values = new HashMap<>();
+        in.expect('{');
+        if (!in.consume('}')) {
+            do {
+                String key = in.string();
+                in.expect(':');
+                String value = in.value();
+                if (value != null) values.put(key, value);
+            } while (in.consume(','));
+            in.expect('}');
+        }
+        in.end();
+        return values;
+    }
+
+    /** Appends the value as a CSV field, quoted only when it contains a comma, quote or line break. */
+    static void appendCsvField(StringBuilder out, String value) {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.append('"');
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    /** Appends the value as a quoted JSON string. */
+    static void appendJsonString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static final class JsonCursor {
+        private final String s;
+        private int i;
+
+        JsonCursor(String s) {
+            this.s = s;
+        }
+
+        void skipSpace() {
+            while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        }
+
+        boolean consume(char c) {
+            skipSpace();
+            if (i < s.length() && s.charAt(i) == c) {
+                i++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) throw new IllegalArgumentException("expected '" + c + "' at column " + (i + 1));
+        }
+
+        void end() {
+            skipSpace();
+            if (i < s.length()) throw new IllegalArgumentException("unexpected text at column " + (i + 1));
+        }
+
+        /** A string, number, true/false (as text) or null (as null). */
+        String value() {
+            skipSpace();
+            if (i < s.length() && s.charAt(i) == '"') return string();
+            int start = i;
+            while (i < s.length() && ",}] \t".indexOf(s.charAt(i)) < 0) i++;
+            String literal = s.substring(start, i);
+            if (literal.equals("null")) return null;
+            if (literal.equals("true") || literal.equals("false")) return literal;
+            if (literal.isEmpty() || !literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+                throw new IllegalArgumentException("unsupported value at column " + (start + 1));
+            }
+            return literal;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+            while (true) {
+                if (i >= s.length()) throw new IllegalArgumentException("unterminated string");
+                char c = s.charAt(i++);
+                if (c == '"') return out.toString();
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+                if (i >= s.length()) throw new IllegalArgumentException("unterminated string");
+                char e = s.charAt(i++);
+                switch (e) {
+                    case '"', '\\', '/' -> out.append(e);
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'n' -> out.append('\n');
+                    case 'r' -> out.append('\r');
+                    case 't' -> out.append('\t');
+                    case 'u' -> {
+                        if (i + 4 > s.length()) throw new IllegalArgumentException("bad \\u escape");
+                        out.append((char) Integer.parseInt(s.substring(i, i + 4), 16));
+                        i += 4;
+                    }
+                    default -> throw new IllegalArgumentException("bad escape \\" + e);
+                }
+            }
+        }
+    }
+}
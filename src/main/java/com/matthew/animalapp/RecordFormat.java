@@ -0,0 +1,21 @@
+package com.matthew.animalapp;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * File formats for bulk intake: CSV with a header row of column names, or NDJSON
+ * (one flat JSON object per line). Column and key names are IntakeRecord's field names.
+ */
+public enum RecordFormat {
+    CSV,
+    NDJSON;
+
+    /** Format for a file name: .csv, or .ndjson / .jsonl. */
+    public static RecordFormat forFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) return CSV;
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) return NDJSON;
+        throw new IllegalArgumentException("Unknown file type (expected .csv, .ndjson or .jsonl): " + file);
+    }
+}
@@ -0,0 +1,94 @@
+package com.matthew.animalapp;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable set of allowed values for the restricted intake fields (breed, species, country, gender).
+ * Each attribute gets a lookup map from the normalized form (trimmed, lower-cased) to the canonical
+ * spelling, built once, so checking an input is one hash lookup instead of an equalsIgnoreCase scan.
+ * Versions come from the database (see ReferenceDataRegistry); defaults() is version 0.
+ */
+public final class ReferenceData {
+
+    /** Restricted attributes. The name is the attribute column in the reference_values table. */
+    public enum Attribute {
+        BREED("breed"),
+        MONKEY_SPECIES("species"),
+        COUNTRY("country"),
+        GENDER("gender");
+
+        private final String tableName;
+
+        Attribute(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public String tableName() { return tableName; }
+
+        /** Attribute for a reference_values row, or null for one this build doesn't use. */
+        static Attribute fromTableName(String name) {
+            for (Attribute a : values()) {
+                if (a.tableName.equals(name)) return a;
+            }
+            return null;
+        }
+    }
+
+    private static final ReferenceData DEFAULTS = new ReferenceData(0, defaultValues());
+
+    private final long version;
+    private final Map<Attribute, List<String>> values = new EnumMap<>(Attribute.class);
+    private final Map<Attribute, Map<String, String>> lookup = new EnumMap<>(Attribute.class);
+
+    ReferenceData(long version, Map<Attribute, List<String>> valuesByAttribute) {
+        this.version = version;
+        for (Attribute a : Attribute.values()) {
+            List<String> list = List.copyOf(valuesByAttribute.getOrDefault(a, List.of()));
+            Map<String, String> map = new HashMap<>();
+            for (String v : list) map.putIfAbsent(normalize(v), v);
+            values.put(a, list);
+            lookup.put(a, Collections.unmodifiableMap(map));
+        }
+    }
+
+    /** The built-in lists (AttributeDictionary's words, male/female), used until a database is loaded. */
+    public static ReferenceData defaults() {
+        return DEFAULTS;
+    }
+
+    static Map<Attribute, List<String>> defaultValues() {
+        Map<Attribute, List<String>> defaults = new EnumMap<>(Attribute.class);
+        defaults.put(Attribute.BREED, AttributeDictionary.BREEDS.allowedValues());
+        defaults.put(Attribute.MONKEY_SPECIES, AttributeDictionary.MONKEY_SPECIES.allowedValues());
+        defaults.put(Attribute.COUNTRY, AttributeDictionary.COUNTRIES.allowedValues());
+        defaults.put(Attribute.GENDER, List.of("male", "female"));
+        return defaults;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /** Allowed values in display order. */
+    public List<String> values(Attribute attribute) {
+        return values.get(attribute);
+    }
+
+    /** Canonical spelling of the input (any casing, surrounding spaces ignored), or null if not allowed. */
+    public String canonical(Attribute attribute, String input) {
+        return input == null ? null : lookup.get(attribute).get(normalize(input));
+    }
+
+    public boolean isAllowed(Attribute attribute, String input) {
+        return canonical(attribute, input) != null;
+    }
+
+    private static String normalize(String s) {
+        return s.trim().toLowerCase(Locale.ROOT);
+    }
+}
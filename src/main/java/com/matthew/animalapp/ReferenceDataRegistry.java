@@ -0,0 +1,71 @@
+package com.matthew.animalapp;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the ReferenceData that the console prompts (Validation) and non-interactive checks read.
+ * refresh() compares the database's reference data version (bumped by triggers on the
+ * reference_values table) with the loaded one and swaps in a freshly built ReferenceData only
+ * when it changed, so a refresh that finds nothing new is a single-row read. Readers never block:
+ * they take whatever ReferenceData is current, and keep using it for the input they're checking.
+ */
+public final class ReferenceDataRegistry {
+
+    private static final ReferenceDataRegistry SHARED = new ReferenceDataRegistry();
+
+    /** Handle for a running auto-refresh; close() stops it. */
+    public interface AutoRefresh extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final AtomicReference<ReferenceData> current = new AtomicReference<>(ReferenceData.defaults());
+
+    /** The registry Validation uses. */
+    public static ReferenceDataRegistry shared() {
+        return SHARED;
+    }
+
+    public ReferenceData current() {
+        return current.get();
+    }
+
+    /** Replaces the reference data outright (tests, or data not kept in a database). */
+    public void install(ReferenceData data) {
+        current.set(Objects.requireNonNull(data, "reference data"));
+    }
+
+    /** Reloads from the database if its version differs from the loaded one. Returns true if reloaded. */
+    public boolean refresh(AnimalStorage helper) {
+        if (helper.getReferenceDataVersion() == current().getVersion()) return false;
+        ReferenceData loaded = helper.loadReferenceData();
+        current.set(loaded);
+        return true;
+    }
+
+    /**
+     * Calls refresh every interval on a daemon thread until the returned handle is closed.
+     * A failed refresh is reported and leaves the current data in place.
+     */
+    public AutoRefresh startAutoRefresh(AnimalStorage helper, Duration interval) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reference-data-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = interval.toMillis();
+        timer.scheduleWithFixedDelay(() -> {
+            try {
+                refresh(helper);
+            } catch (RuntimeException e) {
+                System.err.println("Reference data refresh failed: " + e.getMessage());
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+        return timer::shutdownNow;
+    }
+}
@@ -8,6 +8,12 @@ import java.util.Objects;
  * Abstract base class that represents any rescue animal (dog, monkey, etc.).
  * Common fields like name, gender, age, training status, etc. live here.
  * Other animals like Dog/Monkey extend this.
+ * Training/reservation changes are synchronized on the animal itself, so callers
+ * (AnimalManager) can hold the animal's lock across a change and its bookkeeping.
+ * Age, weight and acquisition date are stored typed (int years, double lbs, epoch day);
+ * the String getters are views over them, and the original text is only kept when it
+ * wouldn't print back the same (e.g. weight "50" vs "50.0", or text that doesn't parse).
+ * Countries are held as AttributeDictionary codes, so each record doesn't carry its own String.
  */
 public class RescueAnimal {
 
@@ -76,24 +82,34 @@ public class RescueAnimal {
     }
 
     // ===== Identity generator =====
+    // Legacy in-process counter for animals built without an ID; animals meant for a manager
+    // should take one from AnimalManager.newAnimalId (its database's sequence) instead
     private static final AtomicInteger ID_COUNTER = new AtomicInteger(1);
 
     private final String uniqueId; // immutable identity
 
     // ===== Common attributes (use same names/getters/setters for all animals) =====
+    /** getAgeYears()/getAcquisitionEpochDay() when the value is missing or didn't parse (weight uses NaN). */
+    public static final int UNKNOWN_AGE = -1;
+    public static final int UNKNOWN_DATE = Integer.MIN_VALUE;
+
     private String name;
     private String gender;
-    private String age;
-    private String weight;
-    private String acquisitionDate;     // kept as String to preserve user's existing method signatures
-    private String acquisitionCountry;
-    private TrainingStatus trainingStatus = TrainingStatus.INTAKE;
-    private boolean reserved = false;
-    private String inServiceCountry;    // only meaningful when IN_SERVICE
+    private int age = UNKNOWN_AGE;
+    private double weight = Double.NaN;
+    private int acquisitionDay = UNKNOWN_DATE;
+    // original text, only when the typed value doesn't format back to it (null otherwise)
+    private String ageText;
+    private String weightText;
+    private String acquisitionDateText;
+    private int acquisitionCountry;               // AttributeDictionary.COUNTRIES code
+    private volatile TrainingStatus trainingStatus = TrainingStatus.INTAKE;
+    private volatile boolean reserved = false;
+    private volatile int inServiceCountry;       // COUNTRIES code, only meaningful when IN_SERVICE
 
     // ===== Constructors =====
     protected RescueAnimal() {
-        this.uniqueId = "RA-" + ID_COUNTER.getAndIncrement();
+        this.uniqueId = AnimalIds.format(ID_COUNTER.getAndIncrement());
     }
 
     protected RescueAnimal(String name,
@@ -105,17 +121,17 @@ public class RescueAnimal {
                            String trainingStatus,
                            boolean reserved,
                            String inServiceCountry) {
-        this.uniqueId = "RA-" + ID_COUNTER.getAndIncrement();
+        this.uniqueId = AnimalIds.format(ID_COUNTER.getAndIncrement());
         this.name = name;
         this.gender = gender;
-        this.age = age;
-        this.weight = weight;
-        this.acquisitionDate = acquisitionDate;
-        this.acquisitionCountry = acquisitionCountry;
+        storeAge(age);
+        storeWeight(weight);
+        storeAcquisitionDate(acquisitionDate);
+        this.acquisitionCountry = AttributeDictionary.COUNTRIES.encode(acquisitionCountry);
         // set status via parser to keep legacy compatibility
         this.trainingStatus = TrainingStatus.parse(trainingStatus);
         this.reserved = reserved;
-        this.inServiceCountry = inServiceCountry;
+        this.inServiceCountry = AttributeDictionary.COUNTRIES.encode(inServiceCountry);
         // Normalize: if not IN_SERVICE, force not reserved and clear inServiceCountry
         normalizeServiceFields();
     }
@@ -134,13 +150,13 @@ public class RescueAnimal {
         this.uniqueId = id; // <-- don’t generate, use DB’s ID
         this.name = name;
         this.gender = gender;
-        this.age = age;
-        this.weight = weight;
-        this.acquisitionDate = acquisitionDate;
-        this.acquisitionCountry = acquisitionCountry;
+        storeAge(age);
+        storeWeight(weight);
+        storeAcquisitionDate(acquisitionDate);
+        this.acquisitionCountry = AttributeDictionary.COUNTRIES.encode(acquisitionCountry);
         this.trainingStatus = TrainingStatus.parse(trainingStatus);
         this.reserved = reserved;
-        this.inServiceCountry = inServiceCountry;
+        this.inServiceCountry = AttributeDictionary.COUNTRIES.encode(inServiceCountry);
         normalizeServiceFields();
     }
     /**
@@ -150,7 +166,7 @@ public class RescueAnimal {
     private void normalizeServiceFields() {
         if (this.trainingStatus != TrainingStatus.IN_SERVICE) {
             this.reserved = false;
-            this.inServiceCountry = null;
+            this.inServiceCountry = AttributeDictionary.NONE;
         }
     }
 
@@ -161,7 +177,7 @@ public class RescueAnimal {
     }
 
     /** Reserve the animal if eligible; otherwise throws error. */
-    public void reserve() {
+    public synchronized void reserve() {
         if (!canBeReserved()) {
             throw new IllegalStateException("Animal must be in service to be reserved.");
         }
@@ -169,7 +185,7 @@ public class RescueAnimal {
     }
 
     /** Unreserve the animal (allowed only if in service). */
-    public void unreserve() {
+    public synchronized void unreserve() {
         if (this.trainingStatus != TrainingStatus.IN_SERVICE) {
             // Keep behavior strict to avoid inconsistent state
             throw new IllegalStateException("Only in-service animals can change reservation state.");
@@ -188,7 +204,7 @@ public class RescueAnimal {
         setTrainingStatus(TrainingStatus.parse(newStatusRaw));
     }
 
-    public void setTrainingStatus(TrainingStatus newStatus) {
+    public synchronized void setTrainingStatus(TrainingStatus newStatus) {
         Objects.requireNonNull(newStatus, "new training status");
         if (this.trainingStatus == TrainingStatus.FARM) {
             throw new IllegalStateException("Training status is locked to 'farm' and cannot change.");
@@ -198,7 +214,7 @@ public class RescueAnimal {
             // terminal move
             this.trainingStatus = TrainingStatus.FARM;
             this.reserved = false;
-            this.inServiceCountry = null;
+            this.inServiceCountry = AttributeDictionary.NONE;
             return;
         }
 
@@ -221,7 +237,7 @@ public class RescueAnimal {
     }
 
     /** Shortcut: automatically moves animal forward one training step. */
-    public void advanceTrainingOneStep() {
+    public synchronized void advanceTrainingOneStep() {
         if (this.trainingStatus == TrainingStatus.FARM) {
             throw new IllegalStateException("Cannot advance training after farm status.");
         }
@@ -243,11 +259,12 @@ public class RescueAnimal {
      * If null/blank is provided, clears the field (still requires IN_SERVICE).
      * Country validation (allowed list) should be handled in Validation class.
      */
-    public void setInServiceCountry(String country) {
+    public synchronized void setInServiceCountry(String country) {
         if (this.trainingStatus != TrainingStatus.IN_SERVICE) {
             throw new IllegalStateException("In-service country can be set only when status is 'in service'.");
         }
-        this.inServiceCountry = (country == null || country.isBlank()) ? null : country.trim();
+        this.inServiceCountry = (country == null || country.isBlank())
+                ? AttributeDictionary.NONE : AttributeDictionary.COUNTRIES.encode(country.trim());
     }
 
     // ===== Getters/setters =====
@@ -260,23 +277,46 @@ public class RescueAnimal {
     public String getGender() { return gender; }
     public void setGender(String gender) { this.gender = gender; }
 
-    public String getAge() { return age; }
-    public void setAge(String age) { this.age = age; }
+    public String getAge() { return ageText != null ? ageText : AnimalFields.formatAge(age); }
+    public void setAge(String age) { storeAge(age); }
+    /** Age in whole years, or UNKNOWN_AGE. */
+    public int getAgeYears() { return age; }
+    public void setAgeYears(int years) {
+        this.age = years < 0 ? UNKNOWN_AGE : years;
+        this.ageText = null;
+    }
 
-    public String getWeight() { return weight; }
-    public void setWeight(String weight) { this.weight = weight; }
+    public String getWeight() { return weightText != null ? weightText : AnimalFields.formatWeight(weight); }
+    public void setWeight(String weight) { storeWeight(weight); }
+    /** Weight in pounds, or NaN when unknown. */
+    public double getWeightLbs() { return weight; }
+    public void setWeightLbs(double lbs) {
+        this.weight = lbs;
+        this.weightText = null;
+    }
 
-    public String getAcquisitionDate() { return acquisitionDate; }
-    public void setAcquisitionDate(String acquisitionDate) { this.acquisitionDate = acquisitionDate; }
+    public String getAcquisitionDate() {
+        return acquisitionDateText != null ? acquisitionDateText : AnimalFields.formatDate(acquisitionDay);
+    }
+    public void setAcquisitionDate(String acquisitionDate) { storeAcquisitionDate(acquisitionDate); }
+    /** Acquisition date as days since 1970-01-01, or UNKNOWN_DATE. */
+    public int getAcquisitionEpochDay() { return acquisitionDay; }
+    public void setAcquisitionEpochDay(int epochDay) {
+        this.acquisitionDay = epochDay;
+        this.acquisitionDateText = null;
+    }
 
-    public String getAcquisitionCountry() { return acquisitionCountry; }
-    public void setAcquisitionCountry(String acquisitionCountry) { this.acquisitionCountry = acquisitionCountry; }
+    public String getAcquisitionCountry() { return AttributeDictionary.COUNTRIES.decode(acquisitionCountry); }
+    public void setAcquisitionCountry(String acquisitionCountry) {
+        this.acquisitionCountry = AttributeDictionary.COUNTRIES.encode(acquisitionCountry);
+    }
+    int getAcquisitionCountryCode() { return acquisitionCountry; }
 
     public String getTrainingStatus() { return trainingStatus.menuLabel(); }
     public TrainingStatus getTrainingStatusEnum() { return trainingStatus; }
 
     public boolean isReserved() { return reserved; }
-    public void setReserved(boolean reserved) {
+    public synchronized void setReserved(boolean reserved) {
         if (reserved) {
             // reserving = must be IN_SERVICE
             if (!canBeReserved()) {
@@ -292,7 +332,44 @@ public class RescueAnimal {
         }
     }
 
-    public String getInServiceCountry() { return inServiceCountry; }
+    public String getInServiceCountry() { return AttributeDictionary.COUNTRIES.decode(inServiceCountry); }
+    int getInServiceCountryCode() { return inServiceCountry; }
+
+    // Loading path: the typed value comes from the database's typed column, so only the text it
+    // was saved with is compared (formatting, no parsing). Same fields as storeAge and friends.
+    void restoreAge(int years, String text) {
+        this.age = years;
+        this.ageText = Objects.equals(text, AnimalFields.formatAge(years)) ? null : text;
+    }
+
+    void restoreWeight(double lbs, String text) {
+        this.weight = lbs;
+        this.weightText = Objects.equals(text, AnimalFields.formatWeight(lbs)) ? null : text;
+    }
+
+    void restoreAcquisitionDate(int epochDay, String text) {
+        this.acquisitionDay = epochDay;
+        this.acquisitionDateText = Objects.equals(text, AnimalFields.formatDate(epochDay)) ? null : text;
+    }
+
+    // typed value first, then the text only if the value can't reproduce it
+    private void storeAge(String text) {
+        int parsed = AnimalFields.parseAge(text);
+        this.age = parsed;
+        this.ageText = Objects.equals(text, AnimalFields.formatAge(parsed)) ? null : text;
+    }
+
+    private void storeWeight(String text) {
+        double parsed = AnimalFields.parseWeight(text);
+        this.weight = parsed;
+        this.weightText = Objects.equals(text, AnimalFields.formatWeight(parsed)) ? null : text;
+    }
+
+    private void storeAcquisitionDate(String text) {
+        int parsed = AnimalFields.parseDate(text);
+        this.acquisitionDay = parsed;
+        this.acquisitionDateText = Objects.equals(text, AnimalFields.formatDate(parsed)) ? null : text;
+    }
 
     // ===== Equality & string representation =====
     @Override
@@ -313,11 +390,11 @@ public class RescueAnimal {
                 "Rescue ID: " + uniqueId + "\n" +
                 "Name: " + valueOrDash(name) + "\n" +
                 "Gender: " + valueOrDash(gender) + "\n" +
-                "Acquisition Date: " + valueOrDash(acquisitionDate) + "\n" +
-                "Acquisition Country: " + valueOrDash(acquisitionCountry) + "\n" +
+                "Acquisition Date: " + valueOrDash(getAcquisitionDate()) + "\n" +
+                "Acquisition Country: " + valueOrDash(getAcquisitionCountry()) + "\n" +
                 "Training Status: " + trainingStatus.menuLabel() + "\n" +
                 "Reserved: " + reserved + "\n" +
-                "In-Service Country: " + valueOrDash(inServiceCountry) + "\n";
+                "In-Service Country: " + valueOrDash(getInServiceCountry()) + "\n";
     }
 
     private static String valueOrDash(String s) {
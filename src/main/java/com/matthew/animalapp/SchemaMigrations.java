@@ -0,0 +1,248 @@
+package com.matthew.animalapp;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned schema changes for the animals database.
+ * The applied version is kept in SQLite's PRAGMA user_version; migration N moves the
+ * schema from version N-1 to N. Each migration runs in its own BEGIN IMMEDIATE transaction
+ * and re-checks the version once it holds the write lock, so two app instances starting
+ * against the same file can't both apply it. To change the schema, append a migration;
+ * never edit one that has shipped.
+ */
+final class SchemaMigrations {
+
+    @FunctionalInterface
+    interface Migration {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            SchemaMigrations::createAnimalsTable,   // 1
+            SchemaMigrations::addQueryIndexes,      // 2
+            SchemaMigrations::addChangeCounter,     // 3
+            SchemaMigrations::addIdSequence,        // 4
+            SchemaMigrations::addTypedColumns,      // 5
+            SchemaMigrations::addDictionaryCodes,   // 6
+            SchemaMigrations::addReferenceValues,   // 7
+            SchemaMigrations::codeReferenceValues   // 8
+    );
+
+    /** Text column, code column and dictionary attribute of each dictionary-coded animals column. */
+    private static final String[][] CODED_COLUMNS = {
+            {"breed", "breedCode", "breed"},
+            {"species", "speciesCode", "species"},
+            {"acquisitionCountry", "acquisitionCountryCode", "country"},
+            {"inServiceCountry", "inServiceCountryCode", "country"}};
+
+    private SchemaMigrations() {
+        // utility class, no instances
+    }
+
+    /** Schema version this build of the app expects. */
+    static int latestVersion() {
+        return MIGRATIONS.size();
+    }
+
+    /** Applies every pending migration. Returns the schema version afterwards. */
+    static int migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (int target = 1; target <= MIGRATIONS.size(); target++) {
+                stmt.execute("BEGIN IMMEDIATE");
+                try {
+                    int current = currentVersion(stmt);
+                    if (current > MIGRATIONS.size()) {
+                        throw new IllegalStateException("Database schema version " + current
+                                + " is newer than this app supports (" + MIGRATIONS.size() + ").");
+                    }
+                    if (current < target) {
+                        MIGRATIONS.get(target - 1).apply(stmt);
+                        stmt.execute("PRAGMA user_version = " + target);
+                    }
+                    stmt.execute("COMMIT");
+                } catch (SQLException | RuntimeException e) {
+                    stmt.execute("ROLLBACK");
+                    throw e;
+                }
+            }
+            return currentVersion(stmt);
+        }
+    }
+
+    static int currentVersion(Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // ===== migrations =====
+
+    // 1: the original table (IF NOT EXISTS, since databases from before migrations already have it)
+    private static void createAnimalsTable(Statement stmt) throws SQLException {
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS animals (
+                id TEXT PRIMARY KEY,
+                type TEXT NOT NULL,
+                name TEXT,
+                breed TEXT,
+                species TEXT,
+                gender TEXT,
+                age TEXT,
+                weight TEXT,
+                acquisitionDate TEXT,
+                acquisitionCountry TEXT,
+                trainingStatus TEXT,
+                reserved INTEGER,
+                inServiceCountry TEXT,
+                tailLength REAL,
+                height REAL,
+                bodyLength REAL
+            )
+        """);
+    }
+
+    // 2: indexes for filtered reads (type/status/available lists and name lookups)
+    private static void addQueryIndexes(Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_animals_type_status_reserved "
+                + "ON animals (type, trainingStatus, reserved)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_animals_status_reserved "
+                + "ON animals (trainingStatus, reserved)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_animals_name_nocase "
+                + "ON animals (name COLLATE NOCASE)");
+    }
+
+    // 3: a random database id and a counter bumped by every row change (validates AnimalSnapshot files)
+    private static void addChangeCounter(Statement stmt) throws SQLException {
+        stmt.execute("CREATE TABLE IF NOT EXISTS meta (key TEXT PRIMARY KEY, value INTEGER NOT NULL)");
+        stmt.execute("INSERT OR IGNORE INTO meta (key, value) VALUES ('databaseId', random())");
+        stmt.execute("INSERT OR IGNORE INTO meta (key, value) VALUES ('changeCounter', 0)");
+        for (String event : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS animals_counted_" + event.toLowerCase()
+                    + " AFTER " + event + " ON animals BEGIN"
+                    + " UPDATE meta SET value = value + 1 WHERE key = 'changeCounter'; END");
+        }
+    }
+
+    // 4: hi/lo ID sequence (see IdAllocator), seeded past the highest "RA-n" and kept past any ID inserted later
+    private static void addIdSequence(Statement stmt) throws SQLException {
+        stmt.execute("CREATE TABLE IF NOT EXISTS id_sequence (name TEXT PRIMARY KEY, next_value INTEGER NOT NULL)");
+        stmt.execute("INSERT OR IGNORE INTO id_sequence (name, next_value)"
+                + " SELECT 'animal', COALESCE(MAX(CAST(SUBSTR(id, 4) AS INTEGER)), 0) + 1"
+                + " FROM animals WHERE id LIKE 'RA-%'");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS animals_advance_id_sequence AFTER INSERT ON animals"
+                + " WHEN NEW.id LIKE 'RA-%' BEGIN"
+                + " UPDATE id_sequence SET next_value = MAX(next_value, CAST(SUBSTR(NEW.id, 4) AS INTEGER) + 1)"
+                + " WHERE name = 'animal'; END");
+    }
+
+    // 5: typed copies of age/weight/acquisitionDate for numeric and date filters (rules match AnimalFields)
+    private static void addTypedColumns(Statement stmt) throws SQLException {
+        stmt.execute("ALTER TABLE animals ADD COLUMN ageYears INTEGER");
+        stmt.execute("ALTER TABLE animals ADD COLUMN weightLbs REAL");
+        stmt.execute("ALTER TABLE animals ADD COLUMN acquisitionDay INTEGER");
+        stmt.execute("UPDATE animals SET ageYears = CAST(TRIM(age) AS INTEGER)"
+                + " WHERE TRIM(age) <> '' AND TRIM(age) NOT GLOB '*[^0-9]*' AND LENGTH(TRIM(age)) <= 9");
+        stmt.execute("UPDATE animals SET weightLbs = CAST(TRIM(weight) AS REAL)"
+                + " WHERE TRIM(weight) GLOB '[0-9]*' AND TRIM(weight) NOT GLOB '*[^0-9.]*'"
+                + " AND TRIM(weight) NOT GLOB '*.*.*' AND TRIM(weight) NOT GLOB '*.'");
+        // MM/dd/yyyy -> yyyy-MM-dd; date() normalizes impossible days like 02/30, so those are skipped
+        String iso = "(SUBSTR(TRIM(acquisitionDate), 7, 4) || '-' || SUBSTR(TRIM(acquisitionDate), 1, 2)"
+                + " || '-' || SUBSTR(TRIM(acquisitionDate), 4, 2))";
+        stmt.execute("UPDATE animals SET acquisitionDay = CAST(julianday(" + iso + ") - 2440587.5 AS INTEGER)"
+                + " WHERE TRIM(acquisitionDate) GLOB '[0-9][0-9]/[0-9][0-9]/[0-9][0-9][0-9][0-9]'"
+                + " AND date(" + iso + ") = " + iso);
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_animals_acquisition_day ON animals (acquisitionDay)");
+    }
+
+    // 6: breed/species/country as AttributeDictionary codes; the text column is kept only for other values
+    private static void addDictionaryCodes(Statement stmt) throws SQLException {
+        stmt.execute("CREATE TABLE IF NOT EXISTS dictionary (attribute TEXT NOT NULL, code INTEGER NOT NULL,"
+                + " value TEXT NOT NULL, PRIMARY KEY (attribute, code)) WITHOUT ROWID");
+        for (AttributeDictionary d : List.of(AttributeDictionary.BREEDS, AttributeDictionary.MONKEY_SPECIES,
+                AttributeDictionary.COUNTRIES)) {
+            List<String> words = d.allowedValues();
+            for (int i = 0; i < words.size(); i++) {
+                stmt.execute("INSERT OR IGNORE INTO dictionary (attribute, code, value) VALUES ('"
+                        + d.attribute() + "', " + (i + 1) + ", '" + words.get(i).replace("'", "''") + "')");
+            }
+        }
+        encodeColumn(stmt, "breed", "breedCode", AttributeDictionary.BREEDS);
+        encodeColumn(stmt, "species", "speciesCode", AttributeDictionary.MONKEY_SPECIES);
+        encodeColumn(stmt, "acquisitionCountry", "acquisitionCountryCode", AttributeDictionary.COUNTRIES);
+        encodeColumn(stmt, "inServiceCountry", "inServiceCountryCode", AttributeDictionary.COUNTRIES);
+    }
+
+    private static void encodeColumn(Statement stmt, String textColumn, String codeColumn,
+                                     AttributeDictionary dictionary) throws SQLException {
+        String lookup = "(SELECT code FROM dictionary WHERE attribute = '" + dictionary.attribute()
+                + "' AND value = animals." + textColumn + ")";
+        stmt.execute("ALTER TABLE animals ADD COLUMN " + codeColumn + " INTEGER");
+        stmt.execute("UPDATE animals SET " + codeColumn + " = " + lookup + ", " + textColumn + " = NULL"
+                + " WHERE " + lookup + " IS NOT NULL");
+    }
+
+    // 7: allowed intake values (ReferenceData), seeded with the built-in lists; edits bump referenceDataVersion
+    private static void addReferenceValues(Statement stmt) throws SQLException {
+        stmt.execute("CREATE TABLE IF NOT EXISTS reference_values (attribute TEXT NOT NULL, value TEXT NOT NULL,"
+                + " position INTEGER NOT NULL, PRIMARY KEY (attribute, value)) WITHOUT ROWID");
+        for (Map.Entry<ReferenceData.Attribute, List<String>> e : ReferenceData.defaultValues().entrySet()) {
+            List<String> words = e.getValue();
+            for (int i = 0; i < words.size(); i++) {
+                stmt.execute("INSERT OR IGNORE INTO reference_values (attribute, value, position) VALUES ('"
+                        + e.getKey().tableName() + "', '" + words.get(i).replace("'", "''") + "', " + i + ")");
+            }
+        }
+        stmt.execute("INSERT OR IGNORE INTO meta (key, value) VALUES ('referenceDataVersion', 1)");
+        for (String event : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS reference_values_versioned_" + event.toLowerCase()
+                    + " AFTER " + event + " ON reference_values BEGIN"
+                    + " UPDATE meta SET value = value + 1 WHERE key = 'referenceDataVersion'; END");
+        }
+    }
+
+    // 8: each breed/species/country in reference_values gets a dictionary code, now and whenever one is
+    // added, and rows holding it as text move to the code column. Codes are never removed or reused.
+    private static void codeReferenceValues(Statement stmt) throws SQLException {
+        stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_dictionary_value ON dictionary (attribute, value)");
+        List<String[]> missing = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery("SELECT attribute, value FROM reference_values r"
+                + " WHERE attribute IN ('breed', 'species', 'country') AND NOT EXISTS (SELECT 1 FROM dictionary d"
+                + " WHERE d.attribute = r.attribute AND d.value = r.value) ORDER BY attribute, position, value")) {
+            while (rs.next()) missing.add(new String[]{rs.getString(1), rs.getString(2)});
+        }
+        for (String[] m : missing) {
+            String attribute = "'" + m[0] + "'";
+            stmt.execute("INSERT INTO dictionary (attribute, code, value) SELECT " + attribute
+                    + ", COALESCE(MAX(code), 0) + 1, '" + m[1].replace("'", "''") + "' FROM dictionary"
+                    + " WHERE attribute = " + attribute);
+        }
+        for (String[] c : CODED_COLUMNS) {
+            String lookup = "(SELECT code FROM dictionary WHERE attribute = '" + c[2]
+                    + "' AND value = animals." + c[0] + ")";
+            stmt.execute("UPDATE animals SET " + c[1] + " = " + lookup + ", " + c[0] + " = NULL"
+                    + " WHERE " + c[0] + " IS NOT NULL AND " + lookup + " IS NOT NULL");
+        }
+
+        StringBuilder body = new StringBuilder(" INSERT INTO dictionary (attribute, code, value)"
+                + " SELECT NEW.attribute, (SELECT COALESCE(MAX(code), 0) + 1 FROM dictionary"
+                + " WHERE attribute = NEW.attribute), NEW.value WHERE NOT EXISTS (SELECT 1 FROM dictionary"
+                + " WHERE attribute = NEW.attribute AND value = NEW.value);");
+        for (String[] c : CODED_COLUMNS) {
+            body.append(" UPDATE animals SET ").append(c[1])
+                    .append(" = (SELECT code FROM dictionary WHERE attribute = '").append(c[2])
+                    .append("' AND value = NEW.value), ").append(c[0]).append(" = NULL")
+                    .append(" WHERE NEW.attribute = '").append(c[2]).append("' AND ").append(c[0]).append(" = NEW.value;");
+        }
+        for (String event : new String[]{"INSERT", "UPDATE"}) {
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS reference_values_coded_" + event.toLowerCase()
+                    + " AFTER " + event + " ON reference_values"
+                    + " WHEN NEW.attribute IN ('breed', 'species', 'country') BEGIN" + body + " END");
+        }
+    }
+}
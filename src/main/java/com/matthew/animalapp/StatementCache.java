@@ -0,0 +1,156 @@
+package com.matthew.animalapp;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prepared statements kept for one long-lived pooled connection, keyed by SQL text,
+ * so SQLite compiles each statement once instead of on every call.
+ * Callers get a wrapper whose close() resets the statement (parameters, batch, open result)
+ * and leaves it cached. If the same SQL is already checked out, a plain uncached statement is
+ * returned so the two uses can't clobber each other. Least recently used entries are closed
+ * once the cache is full. Only used by the connection's current borrower (one thread at a time).
+ */
+class StatementCache {
+
+    private final Connection connection;
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final Map<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<PreparedStatement> inUse = new HashSet<>();
+
+    StatementCache(Connection connection, int capacity, LongAdder hits, LongAdder misses) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement cached = statements.get(sql);
+        if (cached != null && inUse.contains(cached)) {
+            // same SQL already checked out (nested use): hand out a plain throwaway statement
+            misses.increment();
+            return connection.prepareStatement(sql);
+        }
+        if (cached != null && !cached.isClosed()) {
+            hits.increment();
+        } else {
+            misses.increment();
+            cached = connection.prepareStatement(sql);
+            statements.put(sql, cached);
+            evictOverflow();
+        }
+        inUse.add(cached);
+        return wrap(sql, cached);
+    }
+
+    /** Closes every cached statement (the connection is being discarded). */
+    void closeAll() {
+        for (PreparedStatement ps : statements.values()) {
+            closeQuietly(ps);
+        }
+        statements.clear();
+        inUse.clear();
+    }
+
+    private void release(String sql, PreparedStatement ps, ResultSet lastResult) {
+        inUse.remove(ps);
+        if (statements.get(sql) != ps) {
+            closeQuietly(ps); // evicted while it was checked out
+            return;
+        }
+        try {
+            // An unclosed ResultSet keeps SQLite's statement active (and its read lock held)
+            if (lastResult != null && !lastResult.isClosed()) lastResult.close();
+            ps.clearParameters();
+            ps.clearBatch();
+        } catch (SQLException e) {
+            statements.remove(sql);
+            closeQuietly(ps);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<PreparedStatement> eldest = statements.values().iterator();
+        while (statements.size() > capacity && eldest.hasNext()) {
+            PreparedStatement ps = eldest.next();
+            eldest.remove();
+            if (!inUse.contains(ps)) closeQuietly(ps); // in-use ones are closed on release
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignored) {
+            // nothing useful to do with a statement that won't close
+        }
+    }
+
+    private PreparedStatement wrap(String sql, PreparedStatement ps) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatement(sql, ps));
+    }
+
+    /** What the caller holds: forwards to the cached statement until close(). */
+    private final class CachedStatement implements InvocationHandler {
+        private final String sql;
+        private final PreparedStatement ps;
+        private ResultSet lastResult;
+        private boolean released = false;
+
+        CachedStatement(String sql, PreparedStatement ps) {
+            this.sql = sql;
+            this.ps = ps;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!released) {
+                        released = true;
+                        release(sql, ps, lastResult);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return released || ps.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                    // fall through to the cached statement
+                }
+            }
+            if (released) throw new SQLException("Statement is closed.");
+            try {
+                Object result = method.invoke(ps, args);
+                if (result instanceof ResultSet rs) lastResult = rs;
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
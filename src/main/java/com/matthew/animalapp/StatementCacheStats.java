@@ -0,0 +1,29 @@
+package com.matthew.animalapp;
+
+/**
+ * Prepared statement cache counters: a hit reused an already compiled statement,
+ * a miss had SQLite compile it.
+ */
+public final class StatementCacheStats {
+    private final long hits;
+    private final long misses;
+
+    public StatementCacheStats(long hits, long misses) {
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+
+    /** Share of prepares served from the cache (0 when nothing has been prepared). */
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("prepares: %d hits, %d misses (%.1f%% hit ratio)", hits, misses, getHitRatio() * 100);
+    }
+}
@@ -0,0 +1,80 @@
+package com.matthew.animalapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+
+/**
+ * The storage backends AnimalManager can run on, by name:
+ * "sqlite" (DatabaseHelper on a pooled connection, animals.db by default, tuned with
+ * animalapp.dbProfile) and "memory" (InMemoryAnimalStorage, empty at startup and gone at exit),
+ * plus any AnimalStorageProvider registered through ServiceLoader.
+ */
+public final class StorageProviders {
+
+    public static final String DEFAULT = "sqlite";
+
+    private static final AnimalStorageProvider SQLITE = new AnimalStorageProvider() {
+        @Override
+        public String name() {
+            return "sqlite";
+        }
+
+        /** Location is a database file or a jdbc:sqlite: URL. */
+        @Override
+        public AnimalStorage open(String location) {
+            String url = (location == null || location.isBlank()) ? DatabaseConnector.DEFAULT_URL
+                    : location.startsWith("jdbc:") ? location : "jdbc:sqlite:" + location.trim();
+            DatabaseProfile profile = DatabaseProfile.parse(System.getProperty("animalapp.dbProfile", "durable"));
+            PooledDatabaseConnector connector = new PooledDatabaseConnector(url, profile);
+            try {
+                return new DatabaseHelper(connector); // closing the helper closes the pool
+            } catch (RuntimeException e) {
+                connector.close();
+                throw e;
+            }
+        }
+    };
+
+    private static final AnimalStorageProvider MEMORY = new AnimalStorageProvider() {
+        @Override
+        public String name() {
+            return "memory";
+        }
+
+        /** Nothing is kept between runs, so location is ignored. */
+        @Override
+        public AnimalStorage open(String location) {
+            return new InMemoryAnimalStorage();
+        }
+    };
+
+    private StorageProviders() {
+        // utility class, no instances
+    }
+
+    /** Built-in providers first, then ServiceLoader ones (a built-in name can't be replaced). */
+    public static List<AnimalStorageProvider> all() {
+        List<AnimalStorageProvider> providers = new ArrayList<>(List.of(SQLITE, MEMORY));
+        for (AnimalStorageProvider p : ServiceLoader.load(AnimalStorageProvider.class)) providers.add(p);
+        return providers;
+    }
+
+    /** The provider with this name (any casing). Throws IllegalArgumentException listing the known names. */
+    public static AnimalStorageProvider forName(String name) {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("storage backend is required");
+        String wanted = name.trim().toLowerCase(Locale.ROOT);
+        List<String> known = new ArrayList<>();
+        for (AnimalStorageProvider p : all()) {
+            if (p.name().toLowerCase(Locale.ROOT).equals(wanted)) return p;
+            known.add(p.name());
+        }
+        throw new IllegalArgumentException("Unknown storage backend: " + name + " (available: " + String.join(", ", known) + ")");
+    }
+
+    /** Opens the named backend at location (null for its default). */
+    public static AnimalStorage open(String name, String location) {
+        return forName(name).open(location);
+    }
+}
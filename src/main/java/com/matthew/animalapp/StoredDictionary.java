@@ -0,0 +1,55 @@
+package com.matthew.animalapp;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One database's dictionary table: the code it keeps in breedCode, speciesCode and the country code
+ * columns for each value. This is the only source of stored codes; AttributeDictionary codes never
+ * reach the database, DatabaseHelper maps between the two by value. Immutable. Rows are only ever
+ * added to the table, so an old copy is never wrong, only missing values added since it was loaded.
+ */
+final class StoredDictionary {
+
+    private final Map<String, Map<String, Integer>> codes = new HashMap<>(); // attribute -> value -> code
+    private final Map<String, String[]> values = new HashMap<>();            // attribute -> value by code
+
+    private StoredDictionary() {
+    }
+
+    static StoredDictionary load(Connection conn) throws SQLException {
+        StoredDictionary loaded = new StoredDictionary();
+        try (Statement stmt = conn.createStatement(); // rarely run, so kept out of the statement cache
+             ResultSet rs = stmt.executeQuery("SELECT attribute, code, value FROM dictionary")) {
+            while (rs.next()) {
+                String attribute = rs.getString(1);
+                int code = rs.getInt(2);
+                String value = rs.getString(3);
+                loaded.codes.computeIfAbsent(attribute, a -> new HashMap<>()).put(value, code);
+                String[] byCode = loaded.values.getOrDefault(attribute, new String[0]);
+                if (code >= byCode.length) byCode = Arrays.copyOf(byCode, code + 1);
+                byCode[code] = value;
+                loaded.values.put(attribute, byCode);
+            }
+        }
+        return loaded;
+    }
+
+    /** Stored code for the value (exact spelling), or AttributeDictionary.NONE if it isn't in the table. */
+    int code(AttributeDictionary dictionary, String value) {
+        Map<String, Integer> byValue = codes.get(dictionary.attribute());
+        Integer code = (byValue == null || value == null) ? null : byValue.get(value);
+        return code != null ? code : AttributeDictionary.NONE;
+    }
+
+    /** Value stored under the code, or null if this copy doesn't have it. */
+    String value(AttributeDictionary dictionary, int code) {
+        String[] byCode = values.get(dictionary.attribute());
+        return (byCode == null || code < 0 || code >= byCode.length) ? null : byCode[code];
+    }
+}
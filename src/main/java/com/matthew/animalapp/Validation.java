@@ -3,28 +3,28 @@ package com.matthew.animalapp;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Scanner;
-import java.util.Set;
 
 /**
  * Validation utilities for console input.
  * Provides cancel handling, yes/no prompts, and restricted input checks.
+ * Allowed breeds/species/countries/genders come from ReferenceDataRegistry.shared(),
+ * so the prompts and non-interactive checks use the same (refreshable) lists.
  */
 public final class Validation {
 
-    private static final Set<String> ALLOWED_BREEDS = new HashSet<>(Arrays.asList(
-            "German Shepherd", "Labrador Retriever", "Belgian Malinois", "Bloodhound"
-    ));
-
-    private static final Set<String> ALLOWED_MONKEY_SPECIES = new HashSet<>(Arrays.asList(
-            "Capuchin", "Guenon", "Macaque", "Marmoset", "Squirrel monkey", "Tamarin"
-    ));
-
-    private static final Set<String> ALLOWED_COUNTRIES = new HashSet<>(Arrays.asList(
-            "United States", "Canada", "Mexico"
-    ));
+    // Intake ranges (US units), shared by the menu prompts and BulkValidator
+    public static final int MIN_AGE = 1;
+    public static final int MAX_AGE = 30;
+    public static final double MIN_WEIGHT = 1;
+    public static final double MAX_WEIGHT = 440;
+    public static final double MIN_TAIL_LENGTH = 1;
+    public static final double MAX_TAIL_LENGTH = 60;
+    public static final double MIN_HEIGHT = 1;
+    public static final double MAX_HEIGHT = 100;
+    public static final double MIN_BODY_LENGTH = 1;
+    public static final double MAX_BODY_LENGTH = 80;
 
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("MM/dd/yyyy");
 
@@ -67,12 +67,15 @@ public final class Validation {
     // ===== Gender =====
     public static String readGender(Scanner scanner) {
         while (true) {
-            System.out.print("Enter gender (male/female): ");
+            ReferenceData data = ReferenceDataRegistry.shared().current();
+            List<String> genders = data.values(ReferenceData.Attribute.GENDER);
+            System.out.print("Enter gender (" + String.join("/", genders) + "): ");
             String input = scanner.nextLine().trim();
             checkCancel(input);
-            if (input.equalsIgnoreCase("male")) return "male";
-            if (input.equalsIgnoreCase("female")) return "female";
-            System.out.println("Invalid gender. Please enter 'male' or 'female'.");
+            String gender = data.canonical(ReferenceData.Attribute.GENDER, input);
+            if (gender != null) return gender;
+            System.out.println("Invalid gender. Please enter " + String.join(" or ", genders.stream()
+                    .map(g -> "'" + g + "'").toList()) + ".");
         }
     }
 
@@ -128,58 +131,31 @@ public final class Validation {
 
     // ===== Restricted =====
     public static String readBreed(Scanner scanner) {
-        while (true) {
-            System.out.print("Enter breed " + ALLOWED_BREEDS + " (or cancel): ");
-            String input = scanner.nextLine().trim();
-            checkCancel(input);
-            for (String breed : ALLOWED_BREEDS) {
-                if (breed.equalsIgnoreCase(input)) {
-                    return breed;
-                }
-            }
-            System.out.println("Invalid breed. Allowed: " + ALLOWED_BREEDS);
-        }
+        return readAllowed(scanner, ReferenceData.Attribute.BREED, "Enter breed ", "breed");
     }
 
     public static String readMonkeySpecies(Scanner scanner) {
-        while (true) {
-            System.out.print("Enter species " + ALLOWED_MONKEY_SPECIES + " (or cancel): ");
-            String input = scanner.nextLine().trim();
-            checkCancel(input);
-            for (String species : ALLOWED_MONKEY_SPECIES) {
-                if (species.equalsIgnoreCase(input)) {
-                    return species;
-                }
-            }
-            System.out.println("Invalid species. Allowed: " + ALLOWED_MONKEY_SPECIES);
-        }
+        return readAllowed(scanner, ReferenceData.Attribute.MONKEY_SPECIES, "Enter species ", "species");
     }
 
     public static String readAcquisitionCountry(Scanner scanner) {
-        while (true) {
-            System.out.print("Enter aquisition country " + ALLOWED_COUNTRIES + " (or cancel): ");
-            String input = scanner.nextLine().trim();
-            checkCancel(input);
-            for (String country : ALLOWED_COUNTRIES) {
-                if (country.equalsIgnoreCase(input)) {
-                    return country;
-                }
-            }
-            System.out.println("Invalid country. Allowed: " + ALLOWED_COUNTRIES);
-        }
+        return readAllowed(scanner, ReferenceData.Attribute.COUNTRY, "Enter aquisition country ", "country");
     }
 
     public static String readInServiceCountry(Scanner scanner) {
+        return readAllowed(scanner, ReferenceData.Attribute.COUNTRY, "Enter in service country ", "country");
+    }
+
+    /** Prompts until the input matches an allowed value (any casing); returns its canonical spelling. */
+    private static String readAllowed(Scanner scanner, ReferenceData.Attribute attribute, String prompt, String label) {
         while (true) {
-            System.out.print("Enter in service country " + ALLOWED_COUNTRIES + " (or cancel): ");
+            ReferenceData data = ReferenceDataRegistry.shared().current();
+            System.out.print(prompt + data.values(attribute) + " (or cancel): ");
             String input = scanner.nextLine().trim();
             checkCancel(input);
-            for (String country : ALLOWED_COUNTRIES) {
-                if (country.equalsIgnoreCase(input)) {
-                    return country;
-                }
-            }
-            System.out.println("Invalid country. Allowed: " + ALLOWED_COUNTRIES);
+            String value = data.canonical(attribute, input);
+            if (value != null) return value;
+            System.out.println("Invalid " + label + ". Allowed: " + data.values(attribute));
         }
     }
 
@@ -0,0 +1,68 @@
+package com.matthew.animalapp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of BulkValidator.validate: every problem found, by record index (0-based, input order),
+ * plus counts and the time taken.
+ */
+public final class ValidationReport {
+
+    /** One problem with one field of one record. */
+    public record RecordError(int index, String field, String message) {
+        @Override
+        public String toString() {
+            return "record " + index + ": " + field + ": " + message;
+        }
+    }
+
+    private final int records;
+    private final List<RecordError> errors;
+    private final BitSet invalid = new BitSet();
+    private final Duration elapsed;
+
+    ValidationReport(int records, List<RecordError> errors, Duration elapsed) {
+        this.records = records;
+        this.errors = Collections.unmodifiableList(new ArrayList<>(errors));
+        for (RecordError e : errors) invalid.set(e.index());
+        this.elapsed = elapsed;
+    }
+
+    public int getRecordCount() { return records; }
+    public int getInvalidCount() { return invalid.cardinality(); }
+    public int getValidCount() { return records - getInvalidCount(); }
+    public boolean isValid(int index) { return !invalid.get(index); }
+
+    /** Every error, ordered by record index (a record can have several). */
+    public List<RecordError> getErrors() { return errors; }
+
+    public List<RecordError> errorsFor(int index) {
+        int lo = 0;
+        int hi = errors.size();
+        while (lo < hi) { // first error at or after index
+            int mid = (lo + hi) >>> 1;
+            if (errors.get(mid).index() < index) lo = mid + 1; else hi = mid;
+        }
+        List<RecordError> found = new ArrayList<>();
+        for (int i = lo; i < errors.size() && errors.get(i).index() == index; i++) found.add(errors.get(i));
+        return found;
+    }
+
+    public Duration getElapsed() { return elapsed; }
+
+    /** Records checked per second (0 when there were none). */
+    public double getRecordsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return (records == 0 || nanos == 0) ? 0.0 : records * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Validated %,d records in %,d ms (%,.0f records/sec): %,d valid, %,d invalid, %,d errors",
+                records, elapsed.toMillis(), getRecordsPerSecond(), getValidCount(), getInvalidCount(), errors.size());
+    }
+}
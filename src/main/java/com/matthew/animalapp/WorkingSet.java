@@ -0,0 +1,83 @@
+package com.matthew.animalapp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded LRU cache of animals for AnimalManager's bounded-memory mode.
+ * Keys are AnimalIds.lookupKey values, so lookups keep the manager's case-insensitive matching.
+ * Every load or change of one ID happens under that ID's stripe lock (lockFor), so two
+ * copies of the same animal can't be live at once:
+ * an animal evicted mid-change finishes and saves before anyone can fault it back in.
+ */
+class WorkingSet {
+
+    private static final int STRIPES = 64;
+
+    private final int capacity;
+    private final Map<String, RescueAnimal> lru;   // guarded by itself
+    private final Object[] stripes = new Object[STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    WorkingSet(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("working set needs room for at least one animal");
+        this.capacity = capacity;
+        this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RescueAnimal> eldest) {
+                return size() > WorkingSet.this.capacity;
+            }
+        };
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Object();
+    }
+
+    /** Lock to hold while loading, adding, changing or removing this key. */
+    Object lockFor(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    /** Cached animal (marks it recently used and counts a hit), or null (counts a miss). */
+    RescueAnimal get(String key) {
+        RescueAnimal a;
+        synchronized (lru) {
+            a = lru.get(key);
+        }
+        if (a != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return a;
+    }
+
+    /** Cached animal without counting a hit or miss (used when merging list results). */
+    RescueAnimal peek(String key) {
+        synchronized (lru) {
+            return lru.get(key);
+        }
+    }
+
+    void put(String key, RescueAnimal a) {
+        synchronized (lru) {
+            lru.put(key, a);
+        }
+    }
+
+    void remove(String key) {
+        synchronized (lru) {
+            lru.remove(key);
+        }
+    }
+
+    int size() {
+        synchronized (lru) {
+            return lru.size();
+        }
+    }
+
+    WorkingSetStats stats() {
+        return new WorkingSetStats(hits.sum(), misses.sum(), size(), capacity);
+    }
+}
@@ -0,0 +1,36 @@
+package com.matthew.animalapp;
+
+/**
+ * Counters for AnimalManager's bounded working set: a hit found the animal in memory,
+ * a miss had to fault it in from the database.
+ */
+public final class WorkingSetStats {
+    private final long hits;
+    private final long misses;
+    private final int size;
+    private final int capacity;
+
+    public WorkingSetStats(long hits, long misses, int size, int capacity) {
+        this.hits = hits;
+        this.misses = misses;
+        this.size = size;
+        this.capacity = capacity;
+    }
+
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public int getSize() { return size; }
+    public int getCapacity() { return capacity; }
+
+    /** Share of lookups served from memory (0 when nothing has been looked up). */
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("working set: %d/%d animals, %d hits, %d misses (%.1f%% hit ratio)",
+                size, capacity, hits, misses, getHitRatio() * 100);
+    }
+}
@@ -0,0 +1,225 @@
+package com.matthew.animalapp;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Write-behind buffer between AnimalManager and its AnimalStorage.
+ * Changes are coalesced per animal ID (ten updates to one animal become one row write)
+ * and a background thread saves them with AnimalStorage.saveBatch once maxBatchSize
+ * animals are dirty or the oldest change reaches maxStaleness.
+ * close() stops the thread and does a final synchronous flush.
+ */
+public class WriteBehindQueue implements AutoCloseable {
+
+    private final AnimalStorage dbHelper;
+    private final int maxBatchSize;
+    private final long maxStalenessNanos;
+
+    private final Object lock = new Object();          // guards everything below
+    private Map<String, RescueAnimal> upserts = new LinkedHashMap<>();
+    private Set<String> deletes = new LinkedHashSet<>();
+    private Map<String, RescueAnimal> inFlightUpserts = Map.of(); // batch being written right now
+    private Set<String> inFlightDeletes = Set.of();
+    private long oldestChangeNanos;                    // valid while something is pending
+    private long retryAfterNanos;                      // back-off after a failed background flush
+    private long rowsWritten;                          // summed saveBatch results
+    private boolean closed = false;
+
+    private final Object flushLock = new Object();     // one flush at a time, so batches land in order
+    private final Thread flusher;
+
+    public WriteBehindQueue(AnimalStorage dbHelper, int maxBatchSize, Duration maxStaleness) {
+        this.dbHelper = dbHelper;
+        this.maxBatchSize = maxBatchSize;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.flusher = new Thread(this::runFlusher, "write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /** Queue a save of the animal's current state (read when the batch is written). */
+    public void markDirty(RescueAnimal a) {
+        synchronized (lock) {
+            ensureOpen();
+            boolean wasEmpty = isEmpty();
+            deletes.remove(a.getUniqueId());
+            upserts.put(a.getUniqueId(), a);
+            changed(wasEmpty);
+        }
+    }
+
+    /** Queue a delete; any pending save for the same ID is dropped. */
+    public void markDeleted(String id) {
+        synchronized (lock) {
+            ensureOpen();
+            boolean wasEmpty = isEmpty();
+            upserts.remove(id);
+            deletes.add(id);
+            changed(wasEmpty);
+        }
+    }
+
+    /** Number of animals with changes not yet written. */
+    public int pendingCount() {
+        synchronized (lock) {
+            return upserts.size() + deletes.size();
+        }
+    }
+
+    /** Rows changed in the database by the batches written so far (see AnimalStorage.saveBatch). */
+    public long rowsWritten() {
+        synchronized (lock) {
+            return rowsWritten;
+        }
+    }
+
+    /**
+     * Changes not yet in the database, including a batch that is being written right now:
+     * ID -> animal to save, or ID -> null for a delete. Readers that go to the database
+     * (AnimalManager's bounded mode) lay this over what they read.
+     */
+    public Map<String, RescueAnimal> pendingChanges() {
+        synchronized (lock) {
+            Map<String, RescueAnimal> pending = new LinkedHashMap<>();
+            inFlightUpserts.forEach(pending::put);
+            for (String id : inFlightDeletes) pending.put(id, null);
+            upserts.forEach(pending::put);          // queued changes are newer than the in-flight batch
+            for (String id : deletes) pending.put(id, null);
+            return pending;
+        }
+    }
+
+    /**
+     * Writes everything queued so far in one transaction. Throws if the write fails;
+     * the failed changes stay queued (unless newer ones replaced them) and are retried.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, RescueAnimal> batchUpserts;
+            Set<String> batchDeletes;
+            synchronized (lock) {
+                if (isEmpty()) return;
+                batchUpserts = upserts;
+                batchDeletes = deletes;
+                upserts = new LinkedHashMap<>();
+                deletes = new LinkedHashSet<>();
+                inFlightUpserts = batchUpserts;
+                inFlightDeletes = batchDeletes;
+            }
+            try {
+                int changed = dbHelper.saveBatch(batchUpserts.values(), batchDeletes);
+                synchronized (lock) {
+                    rowsWritten += changed;
+                }
+            } catch (RuntimeException e) {
+                requeue(batchUpserts, batchDeletes);
+                throw e;
+            } finally {
+                synchronized (lock) {
+                    inFlightUpserts = Map.of();
+                    inFlightDeletes = Set.of();
+                }
+            }
+        }
+    }
+
+    /** Stops the background thread and flushes what is left. Throws if that final flush fails. */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        boolean interrupted = false;
+        while (flusher.isAlive()) {
+            try {
+                flusher.join(); // let an in-flight batch finish rather than interrupting JDBC
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        try {
+            flush();
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== background flushing =====
+
+    private void runFlusher() {
+        while (true) {
+            synchronized (lock) {
+                try {
+                    while (!closed && !flushDue()) {
+                        if (isEmpty()) {
+                            lock.wait();
+                        } else {
+                            lock.wait(Math.max(1, nanosUntilDue() / 1_000_000));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (closed) return; // close() does the final flush itself
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                System.err.println("Write-behind flush failed, will retry: " + e.getMessage());
+            }
+        }
+    }
+
+    // ===== helpers (call with lock held) =====
+
+    private void changed(boolean wasEmpty) {
+        if (wasEmpty) {
+            oldestChangeNanos = System.nanoTime();
+            lock.notifyAll(); // flusher starts its staleness countdown
+        } else if (upserts.size() + deletes.size() >= maxBatchSize) {
+            lock.notifyAll();
+        }
+    }
+
+    private boolean flushDue() {
+        return !isEmpty() && nanosUntilDue() <= 0;
+    }
+
+    private long nanosUntilDue() {
+        long now = System.nanoTime();
+        long retryWait = retryAfterNanos - now;
+        if (retryWait > 0) return retryWait;
+        if (upserts.size() + deletes.size() >= maxBatchSize) return 0;
+        return oldestChangeNanos + maxStalenessNanos - now;
+    }
+
+    private boolean isEmpty() {
+        return upserts.isEmpty() && deletes.isEmpty();
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Write-behind queue is closed.");
+    }
+
+    private void requeue(Map<String, RescueAnimal> failedUpserts, Set<String> failedDeletes) {
+        synchronized (lock) {
+            boolean wasEmpty = isEmpty();
+            // anything changed again since the batch was taken is newer, so it wins
+            failedUpserts.forEach((id, a) -> {
+                if (!upserts.containsKey(id) && !deletes.contains(id)) upserts.put(id, a);
+            });
+            for (String id : failedDeletes) {
+                if (!upserts.containsKey(id)) deletes.add(id);
+            }
+            long now = System.nanoTime();
+            if (wasEmpty) oldestChangeNanos = now;
+            retryAfterNanos = now + maxStalenessNanos;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Export of a 2M-row file DB to CSV and NDJSON, a filtered export, and the live heap
+ * measured part way through (it should stay flat: rows are written as they are read).
+ * The rows are generated in SQL (a recursive CTE) so setting up doesn't dominate the run.
+ */
+@Tag("benchmark")
+class AnimalExporterBenchmarkTest {
+    static final int ROWS = 2_000_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testExportTwoMillionRows() throws SQLException, IOException {
+        String url = "jdbc:sqlite:" + tempDir.resolve("animals.db");
+        try (PooledDatabaseConnector connector = new PooledDatabaseConnector(url, DatabaseProfile.BULK_LOAD)) {
+            DatabaseHelper helper = new DatabaseHelper(connector);
+            try (Connection conn = connector.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("""
+                    WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < ?)
+                    INSERT INTO animals (id, type, name, breedCode, speciesCode, gender, age, weight, acquisitionDate,
+                                         acquisitionCountryCode, trainingStatus, reserved, tailLength, height, bodyLength,
+                                         ageYears, weightLbs, acquisitionDay)
+                    SELECT 'RA-' || n, CASE n % 2 WHEN 0 THEN 'dog' ELSE 'monkey' END, 'Animal ' || n,
+                           CASE n % 2 WHEN 0 THEN 1 + n % 4 END, CASE n % 2 WHEN 1 THEN 1 + n % 6 END,
+                           'female', '3', '55.0', '01/15/2024', 1 + n % 3,
+                           CASE n % 3 WHEN 0 THEN 'intake' WHEN 1 THEN 'Phase II' ELSE 'in service' END, 0,
+                           CASE n % 2 WHEN 1 THEN 20.0 END, CASE n % 2 WHEN 1 THEN 18.0 END,
+                           CASE n % 2 WHEN 1 THEN 16.0 END, 3, 55.0, 19737
+                    FROM seq""".replace("?", Integer.toString(ROWS)));
+            }
+
+            AnimalExporter exporter = new AnimalExporter(helper);
+            for (RecordFormat format : RecordFormat.values()) {
+                Path file = tempDir.resolve(format == RecordFormat.CSV ? "animals.csv" : "animals.ndjson");
+                long start = System.nanoTime();
+                long rows = exporter.exportFile(AnimalQuery.all(), file);
+                long ms = (System.nanoTime() - start) / 1_000_000;
+                assertEquals(ROWS, rows);
+                System.out.printf("%s: %,d rows in %,d ms (%,.0f rows/sec), %,d MB written%n",
+                        file.getFileName(), rows, ms, rows * 1000.0 / ms, Files.size(file) >> 20);
+            }
+
+            // live heap (after a GC) every 500K rows: flat if nothing is held per row
+            HeapCheckingWriter out = new HeapCheckingWriter(ROWS / 4);
+            exporter.export(AnimalQuery.all(), RecordFormat.NDJSON, out);
+            System.out.println("Live heap growth at 25/50/75/100%: " + out.growthMb + " MB");
+            for (long mb : out.growthMb) assertTrue(mb < 32, "export should not hold rows in memory: " + out.growthMb);
+
+            long start = System.nanoTime();
+            long dogsInService = exporter.exportFile(AnimalQuery.all().type("dog")
+                    .statuses(RescueAnimal.TrainingStatus.IN_SERVICE), tempDir.resolve("in-service-dogs.csv"));
+            System.out.printf("Filtered (dogs in service): %,d rows in %,d ms%n",
+                    dogsInService, (System.nanoTime() - start) / 1_000_000);
+            assertEquals(ROWS / 6, dogsInService, 1);
+        }
+    }
+
+    /** Discards the output, measuring the heap left after a GC every {@code every} lines. */
+    private static final class HeapCheckingWriter extends Writer {
+        final List<Long> growthMb = new ArrayList<>();
+        private final long every;
+        private final long base;
+        private long lines;
+
+        HeapCheckingWriter(long every) {
+            this.every = every;
+            this.base = liveHeap();
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (buf[i] == '\n' && ++lines % every == 0) growthMb.add((liveHeap() - base) >> 20);
+            }
+        }
+
+        @Override
+        public Writer append(CharSequence csq) {
+            for (int i = 0; i < csq.length(); i++) {
+                if (csq.charAt(i) == '\n' && ++lines % every == 0) growthMb.add((liveHeap() - base) >> 20);
+            }
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private static long liveHeap() {
+            Runtime rt = Runtime.getRuntime();
+            System.gc();
+            return rt.totalMemory() - rt.freeMemory();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalExporterTest {
+
+    static final String DATE = "01/15/" + LocalDate.now().getYear();
+
+    @TempDir
+    Path tempDir;
+
+    DatabaseHelper helper;
+    Dog rex;
+    Dog ace;
+    Monkey milo;
+
+    @BeforeEach
+    void setup() {
+        helper = new DatabaseHelper(new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+        rex = new Dog("Rex, \"the Nose\"", "Bloodhound", "male", "3", "55.0",
+                DATE, "United States", "in service", true, "Canada");
+        ace = new Dog("Ace", "Labrador Retriever", "female", "2", "40.0",
+                DATE, "Mexico", "intake", false, null);
+        milo = new Monkey("Milo", "Capuchin", "male", "4", "12.5",
+                DATE, "Canada", "Phase II", false, null, 20.0, 18.5, 16.0);
+        helper.saveBatch(List.of(rex, ace, milo), List.of());
+    }
+
+    private static String export(AnimalStorage h, AnimalQuery query, RecordFormat format) throws IOException {
+        StringWriter out = new StringWriter();
+        new AnimalExporter(h).fetchSize(2).export(query, format, out);
+        return out.toString();
+    }
+
+    @Test
+    void testCsvHasHeaderAndQuotesWhereNeeded() throws IOException {
+        List<String> lines = export(helper, AnimalQuery.all(), RecordFormat.CSV).lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals(String.join(",", AnimalExporter.NAMES), lines.get(0));
+        assertEquals(rex.getUniqueId() + ",dog,\"Rex, \"\"the Nose\"\"\",Bloodhound,,male,3,55.0," + DATE
+                + ",United States,in service,true,Canada,,,", lines.get(1));
+        assertEquals(milo.getUniqueId() + ",monkey,Milo,,Capuchin,male,4,12.5," + DATE
+                + ",Canada,Phase II,false,,20.0,18.5,16.0", lines.get(3));
+        assertEquals(rex.getName(), RecordCodec.parseCsvLine(lines.get(1)).get(2));
+    }
+
+    @Test
+    void testFiltersByTypeAndStatus() throws IOException {
+        AnimalQuery dogsInTraining = AnimalQuery.all().type("dog").statuses(RescueAnimal.TrainingStatus.INTAKE);
+        List<String> lines = export(helper, dogsInTraining, RecordFormat.NDJSON).lines().toList();
+        assertEquals(1, lines.size());
+        assertEquals("Ace", RecordCodec.parseJsonObject(lines.get(0)).get("name"));
+
+        assertEquals(2, export(helper, AnimalQuery.all().type("monkey"), RecordFormat.CSV).lines().count()); // header + Milo
+    }
+
+    @Test
+    void testNdjsonTypesValues() throws IOException {
+        String first = export(helper, AnimalQuery.all(), RecordFormat.NDJSON).lines().findFirst().orElseThrow();
+        assertTrue(first.contains("\"reserved\":true"), first);
+        assertTrue(first.contains("\"tailLength\":null"), first);
+        assertTrue(first.contains("\"name\":\"Rex, \\\"the Nose\\\"\""), first);
+        Map<String, String> row = RecordCodec.parseJsonObject(first);
+        assertEquals("Canada", row.get("inServiceCountry"));
+        assertFalse(row.containsKey("species"));
+    }
+
+    @Test
+    void testFakeHelperWritesTheSameRows() throws IOException {
+        FakeDatabaseHelper fake = new FakeDatabaseHelper();
+        fake.saveBatch(List.of(rex, ace, milo), List.of());
+        for (RecordFormat format : RecordFormat.values()) {
+            assertEquals(export(helper, AnimalQuery.all(), format), export(fake, AnimalQuery.all(), format));
+        }
+    }
+
+    @Test
+    void testExportCanBeImportedAgain() throws IOException {
+        for (RecordFormat format : RecordFormat.values()) {
+            Path file = tempDir.resolve(format == RecordFormat.CSV ? "animals.csv" : "animals.ndjson");
+            try (AnimalManager source = new AnimalManager(helper)) {
+                assertEquals(3, source.exportTo(file, AnimalQuery.all()));
+            }
+            try (AnimalManager target = new AnimalManager(new FakeDatabaseHelper())) {
+                ImportReport report = new BulkImporter(target).importFile(file);
+                assertEquals(3, report.getImportedCount(), report.getErrors().toString());
+                Monkey copy = (Monkey) target.findByName("Milo").get(0);
+                assertEquals(18.5, copy.getHeight());
+                assertEquals("Phase II", copy.getTrainingStatus());
+                assertTrue(target.findByName(rex.getName()).get(0).isReserved());
+            }
+        }
+    }
+
+    @Test
+    void testLineBreaksInAFieldSurviveCsv() throws IOException {
+        Dog twoLines = new Dog("Rex\nJunior", "Bloodhound", "male", "1", "20.0",
+                DATE, "Canada", "intake", false, null);
+        helper.saveBatch(List.of(twoLines), List.of());
+        Path ndjson = tempDir.resolve("animals.ndjson");
+        Path csv = tempDir.resolve("animals.csv");
+        try (AnimalManager source = new AnimalManager(helper)) {
+            assertEquals(4, source.exportTo(ndjson, AnimalQuery.all()));
+        }
+        try (AnimalManager middle = new AnimalManager(new FakeDatabaseHelper())) {
+            assertEquals(4, new BulkImporter(middle).importFile(ndjson).getImportedCount());
+            assertEquals(4, middle.exportTo(csv, AnimalQuery.all()));
+        }
+        assertEquals(6, Files.readAllLines(csv).size()); // header, four records, one of them on two lines
+
+        try (AnimalManager target = new AnimalManager(new FakeDatabaseHelper())) {
+            ImportReport report = new BulkImporter(target).importFile(csv);
+            assertEquals(4, report.getImportedCount(), report.getErrors().toString());
+            assertEquals(1, target.findByName("Rex\nJunior").size());
+            assertEquals(1, target.findByName("Milo").size());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalGeneratorTest {
+
+    static final LocalDate AS_OF = LocalDate.of(2025, 6, 30);
+
+    @TempDir
+    Path tempDir;
+
+    /** The animal as intake text (what BulkValidator checks), without its ID. */
+    static IntakeRecord record(RescueAnimal a) {
+        boolean dog = a instanceof Dog;
+        Monkey m = dog ? null : (Monkey) a;
+        return new IntakeRecord(dog ? "dog" : "monkey", a.getName(),
+                dog ? ((Dog) a).getBreed() : null, dog ? null : m.getSpecies(), a.getGender(),
+                a.getAge(), a.getWeight(), a.getAcquisitionDate(), a.getAcquisitionCountry(),
+                a.getTrainingStatus(), a.isReserved() ? "yes" : "no", a.getInServiceCountry(),
+                dog ? null : Double.toString(m.getTailLength()), dog ? null : Double.toString(m.getHeight()),
+                dog ? null : Double.toString(m.getBodyLength()));
+    }
+
+    @Test
+    void testSameSeedGivesSameAnimals() {
+        List<IntakeRecord> first = new AnimalGenerator(7, ReferenceData.defaults()).asOf(AS_OF)
+                .generate(500).stream().map(AnimalGeneratorTest::record).toList();
+        List<IntakeRecord> again = new AnimalGenerator(7, ReferenceData.defaults()).asOf(AS_OF)
+                .generate(500).stream().map(AnimalGeneratorTest::record).toList();
+        List<IntakeRecord> other = new AnimalGenerator(8, ReferenceData.defaults()).asOf(AS_OF)
+                .generate(500).stream().map(AnimalGeneratorTest::record).toList();
+
+        assertEquals(first, again);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void testEveryAnimalPassesValidation() {
+        List<IntakeRecord> records = new AnimalGenerator(42, ReferenceData.defaults())
+                .generate(20_000).stream().map(AnimalGeneratorTest::record).toList();
+
+        ValidationReport report = new BulkValidator(new ReferenceDataRegistry()).validate(records);
+
+        assertEquals(0, report.getInvalidCount(), report.getErrors().stream().limit(5).toList().toString());
+    }
+
+    @Test
+    void testStatusDistributionAndServiceRules() {
+        int count = 100_000;
+        Map<RescueAnimal.TrainingStatus, Integer> counts = new EnumMap<>(RescueAnimal.TrainingStatus.class);
+        int dogs = 0;
+        for (RescueAnimal a : new AnimalGenerator(1, ReferenceData.defaults()).generate(count)) {
+            counts.merge(a.getTrainingStatusEnum(), 1, Integer::sum);
+            if (a instanceof Dog) dogs++;
+            boolean inService = a.getTrainingStatusEnum() == RescueAnimal.TrainingStatus.IN_SERVICE;
+            assertEquals(inService, a.getInServiceCountry() != null, a.getUniqueId());
+            assertTrue(inService || !a.isReserved(), a.getUniqueId());
+        }
+
+        for (RescueAnimal.TrainingStatus s : RescueAnimal.TrainingStatus.values()) {
+            double share = 100.0 * counts.getOrDefault(s, 0) / count;
+            assertEquals(AnimalGenerator.STATUS_PERCENT[s.ordinal()], share, 1.0, s.name());
+        }
+        assertEquals(AnimalGenerator.DOG_PERCENT, 100.0 * dogs / count, 1.0);
+    }
+
+    @Test
+    void testWriteToDatabaseReservesIdsInBatches() {
+        DatabaseHelper helper = new DatabaseHelper(new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+        helper.addOrUpdateAnimal(new Dog("RA-1", "Rex", "Bloodhound", "male", "3", "55",
+                "01/15/2024", "United States", "intake", false, null));
+        helper.advanceIdSequencePast(1);
+
+        assertEquals(2_500, new AnimalGenerator(3).writeTo(helper, 2_500, 1_000));
+
+        List<RescueAnimal> stored = helper.listAnimals();
+        assertEquals(2_501, stored.size());
+        Set<String> ids = new HashSet<>();
+        stored.forEach(a -> ids.add(a.getUniqueId()));
+        assertEquals(2_501, ids.size());
+        assertEquals("Rex", helper.getAnimalById("RA-1").getName());
+        assertTrue(helper.reserveIdBlock(1) > 2_501, "sequence moved past the generated animals");
+    }
+
+    @Test
+    void testAddToManager() {
+        FakeDatabaseHelper helper = new FakeDatabaseHelper();
+        try (AnimalManager manager = new AnimalManager(helper)) {
+            assertEquals(25_000, new AnimalGenerator(5).addTo(manager, 25_000));
+            assertEquals(25_000, manager.listAll().size());
+            assertEquals(25_000, helper.listAnimals().size());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalIdsTest {
+
+    @Test
+    void testParseCanonicalIds() {
+        assertEquals(7, AnimalIds.parseNumber("RA-7"));
+        assertEquals(7, AnimalIds.parseNumber("ra-7"));
+        assertEquals(0, AnimalIds.parseNumber("RA-0"));
+        assertEquals(Integer.MAX_VALUE, AnimalIds.parseNumber("RA-2147483647"));
+    }
+
+    @Test
+    void testParseRejectsNonCanonicalIds() {
+        assertEquals(-1, AnimalIds.parseNumber(null));
+        assertEquals(-1, AnimalIds.parseNumber("RA-"));
+        assertEquals(-1, AnimalIds.parseNumber("RA-07"));
+        assertEquals(-1, AnimalIds.parseNumber(" RA-7"));
+        assertEquals(-1, AnimalIds.parseNumber("RA-7 "));
+        assertEquals(-1, AnimalIds.parseNumber("RA--7"));
+        assertEquals(-1, AnimalIds.parseNumber("RB-7"));
+        assertEquals(-1, AnimalIds.parseNumber("RA-2147483648"));
+    }
+
+    @Test
+    void testFormatRoundTrips() {
+        assertEquals("RA-42", AnimalIds.format(42));
+        assertEquals(42, AnimalIds.parseNumber(AnimalIds.format(42)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Startup load time of AnimalManager on a file DB with 1..N loader threads,
+ * next to the old single-query listAnimals() load and a load from an AnimalSnapshot file.
+ */
+@Tag("benchmark")
+class AnimalLoaderBenchmarkTest {
+    static final int ROWS = 200_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoadTimeByThreadCount() {
+        String url = "jdbc:sqlite:" + tempDir.resolve("animals.db");
+        try (PooledDatabaseConnector connector = new PooledDatabaseConnector(url, DatabaseProfile.BALANCED)) {
+            DatabaseHelper helper = new DatabaseHelper(connector);
+            List<RescueAnimal> dogs = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                dogs.add(new Dog("Dog" + i, "Bloodhound", "male", "3", "50",
+                        "01/01/2022", "United States", "intake", false, null));
+            }
+            helper.saveBatch(dogs, List.of());
+            dogs = null;
+
+            long start = System.nanoTime();
+            assertEquals(ROWS, helper.listAnimals().size());
+            System.out.printf("listAnimals(): %,d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+            for (int threads : new int[]{1, 2, 4}) {
+                try (AnimalManager manager = new AnimalManager(helper, ManagerOptions.defaults().loadThreads(threads))) {
+                    LoadReport report = manager.awaitLoaded();
+                    assertEquals(ROWS, report.getRows());
+                    System.out.println(report);
+                }
+            }
+
+            Path snapshot = tempDir.resolve("animals.snapshot");
+            new AnimalManager(helper, ManagerOptions.defaults().snapshot(snapshot)).close();
+            try (AnimalManager fromSnapshot = new AnimalManager(helper, ManagerOptions.defaults().snapshot(snapshot))) {
+                LoadReport report = fromSnapshot.awaitLoaded();
+                assertTrue(report.isFromSnapshot());
+                assertEquals(ROWS, report.getRows());
+                System.out.println(report);
+            }
+        }
+    }
+}
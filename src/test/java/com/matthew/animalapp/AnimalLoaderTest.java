@@ -0,0 +1,172 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSlicesCoverTheRangeWithoutOverlap() {
+        List<long[]> slices = AnimalLoader.slices(1, 100_000, 4);
+        assertEquals(4, slices.size());
+        long next = 1;
+        for (long[] slice : slices) {
+            assertEquals(next, slice[0]);
+            next = slice[1] + 1;
+        }
+        assertEquals(100_001, next);
+        assertEquals(1, AnimalLoader.slices(1, 50, 4).size()); // too small to be worth splitting
+    }
+
+    @Test
+    void testFakeHelperRowsKeepTheirRowidWhenUpdated() {
+        FakeDatabaseHelper helper = new FakeDatabaseHelper();
+        for (int i = 1; i <= 3; i++) {
+            helper.addOrUpdateAnimal(new Dog("RA-" + i, "Dog" + i, "Bloodhound", "male", "3", "50",
+                    "01/01/2022", "United States", "intake", false, null));
+        }
+        helper.addOrUpdateAnimal(new Dog("RA-1", "Ace", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null));
+        helper.deleteAnimal("RA-2");
+
+        assertArrayEquals(new long[]{1, 3}, helper.rowidRange());
+        List<String> first = new ArrayList<>();
+        List<String> rest = new ArrayList<>();
+        assertEquals(1, helper.streamAnimals(1, 1, a -> first.add(a.getName())));
+        assertEquals(1, helper.streamAnimals(2, 3, a -> rest.add(a.getName())));
+        assertEquals(List.of("Ace"), first); // the update stayed at rowid 1
+        assertEquals(List.of("Dog3"), rest);
+    }
+
+    @Test
+    void testParallelLoadReadsEveryRow() {
+        try (PooledDatabaseConnector connector = new PooledDatabaseConnector(
+                "jdbc:sqlite:" + tempDir.resolve("animals.db"))) {
+            DatabaseHelper helper = new DatabaseHelper(connector);
+            List<RescueAnimal> dogs = new ArrayList<>();
+            for (int i = 0; i < 25_000; i++) {
+                dogs.add(new Dog("Dog" + i, "Bloodhound", "male", "3", "50",
+                        "01/01/2022", "United States", i % 2 == 0 ? "in service" : "intake", false, null));
+            }
+            helper.saveBatch(dogs, List.of());
+
+            try (AnimalManager manager = new AnimalManager(helper, ManagerOptions.defaults().loadThreads(4))) {
+                LoadReport report = manager.awaitLoaded();
+                assertEquals(25_000, report.getRows());
+                assertEquals(25_000, manager.listAll().size());
+                assertEquals(12_500, manager.listAvailableForService("dog").size());
+                assertTrue(report.getRowsPerSecond() > 0);
+            }
+        }
+    }
+
+    @Test
+    void testWritesGetInWhileAFileBackedLoadIsRunning() throws Exception {
+        String url = "jdbc:sqlite:" + tempDir.resolve("animals.db"); // DURABLE: rollback journal
+        DatabaseHelper helper = new DatabaseHelper(new DatabaseConnector(url));
+        int rows = (int) (5 * AnimalLoader.ROWIDS_PER_STATEMENT);
+        List<RescueAnimal> dogs = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            dogs.add(new Dog("RA-" + (i + 1), "Dog" + i, "Bloodhound", "male", "3", "50",
+                    "01/01/2022", "United States", "intake", false, null));
+        }
+        helper.saveBatch(dogs, List.of());
+
+        // each row takes at least 80us, so the whole load holds a reader for longer than
+        // the writer's 3 s busy timeout; a single statement's worth of rows does not
+        DatabaseHelper other = new DatabaseHelper(new DatabaseConnector(url));
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<LoadReport> load = AnimalLoader.start(helper, 1, null, a -> {
+            started.countDown();
+            LockSupport.parkNanos(80_000);
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        other.addOrUpdateAnimal(new Dog("RA-0", "Late", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null)); // throws SQLITE_BUSY if locked out
+        assertFalse(load.isDone(), "the write should finish before the load does");
+        assertEquals(rows, load.get(60, TimeUnit.SECONDS).getRows());
+        assertEquals("Late", helper.getAnimalById("RA-0").getName());
+    }
+
+    @Test
+    void testOperatorsCanWorkWhileTheLoadIsRunning() throws Exception {
+        GatedHelper helper = new GatedHelper();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Dog dog = new Dog("Dog" + i, "Bloodhound", "male", "3", "50",
+                    "01/01/2022", "United States", "in service", false, null);
+            helper.addOrUpdateAnimal(dog);
+            ids.add(dog.getUniqueId());
+        }
+        AnimalManager manager = new AnimalManager(helper, ManagerOptions.defaults().backgroundLoad());
+        assertTrue(helper.read.await(10, TimeUnit.SECONDS)); // loader holds its (soon stale) rows
+        assertFalse(manager.whenLoaded().isDone());
+
+        manager.reserveAnimal(ids.get(0).toLowerCase());
+        assertTrue(manager.removeAnimal(ids.get(1)));
+        assertNull(manager.getAnimalById(ids.get(1)));
+        Dog added = new Dog("New", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        assertEquals(AnimalIds.parseNumber(ids.get(2)) + 1, AnimalIds.parseNumber(added.getUniqueId()));
+        assertTrue(manager.addAnimal(added));
+
+        helper.gate.countDown();
+        assertEquals(3, manager.awaitLoaded().getRows());
+        assertEquals(3, manager.listAll().size());                    // removed animal stays removed
+        assertTrue(manager.getAnimalById(ids.get(0)).isReserved());   // change made during the load is kept
+        assertEquals(1, manager.listAvailableForService("dog").size());
+    }
+
+    @Test
+    void testFailedBackgroundLoadIsReported() {
+        FakeDatabaseHelper helper = new FakeDatabaseHelper() {
+            @Override
+            public long[] rowidRange() {
+                throw new RuntimeException("Error reading animals rowid range");
+            }
+        };
+        AnimalManager manager = new AnimalManager(helper, ManagerOptions.defaults().backgroundLoad());
+        RuntimeException e = assertThrows(RuntimeException.class, () -> manager.listByType("dog"));
+        assertEquals("Error reading animals rowid range", e.getMessage());
+    }
+
+    /** Snapshot rows are held back until the test opens the gate. */
+    static class GatedHelper extends FakeDatabaseHelper {
+        final CountDownLatch read = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public int streamAnimals(long fromRowid, long toRowid, Consumer<RescueAnimal> sink) {
+            List<RescueAnimal> snapshot = new ArrayList<>();
+            super.streamAnimals(fromRowid, toRowid, a -> snapshot.add(copyOf(a))); // rows read before the gate
+            read.countDown();
+            try {
+                assertTrue(gate.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            snapshot.forEach(sink);
+            return snapshot.size();
+        }
+
+        private static RescueAnimal copyOf(RescueAnimal a) {
+            return new Dog(a.getUniqueId(), a.getName(), ((Dog) a).getBreed(), a.getGender(), a.getAge(),
+                    a.getWeight(), a.getAcquisitionDate(), a.getAcquisitionCountry(), a.getTrainingStatus(),
+                    a.isReserved(), a.getInServiceCountry());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalManagerConcurrencyTest {
+    static final int THREADS = 8;
+
+    FakeDatabaseHelper fakeHelper;
+    AnimalManager manager;
+
+    @BeforeEach
+    void setup() {
+        fakeHelper = new FakeDatabaseHelper();
+        manager = new AnimalManager(fakeHelper);
+    }
+
+    @Test
+    void testConcurrentReservationsNeverDoubleBook() throws Exception {
+        List<String> ids = addDogs(50, "in service");
+        AtomicInteger reserved = new AtomicInteger();
+
+        runConcurrently(THREADS, worker -> {
+            List<String> order = new ArrayList<>(ids);
+            Collections.shuffle(order, new Random(worker));
+            for (String id : order) {
+                try {
+                    manager.reserveAnimal(id);
+                    reserved.incrementAndGet();
+                } catch (IllegalStateException alreadyReserved) {
+                    // another operator got there first
+                }
+            }
+        });
+
+        assertEquals(ids.size(), reserved.get());
+        assertTrue(manager.listAvailableForService("dog").isEmpty());
+        for (String id : ids) {
+            assertTrue(fakeHelper.getAnimalById(id).isReserved());
+        }
+    }
+
+    @Test
+    void testConcurrentTrainingAdvancesAreNotLost() throws Exception {
+        List<String> ids = addDogs(100, "intake");
+        AtomicInteger advanced = new AtomicInteger();
+
+        runConcurrently(THREADS, worker -> {
+            for (int round = 0; round < 10; round++) {
+                for (String id : ids) {
+                    try {
+                        manager.advanceTraining(id.toLowerCase());
+                        advanced.incrementAndGet();
+                    } catch (IllegalStateException done) {
+                        // already in service
+                    }
+                }
+            }
+        });
+
+        // intake -> Phase I..V -> in service is exactly six steps per animal
+        assertEquals(ids.size() * 6, advanced.get());
+        assertEquals(ids.size(), manager.listByStatus("dog", "in service").size());
+        assertEquals(ids.size(), manager.listAvailableForService("dog").size());
+        for (String id : ids) {
+            assertEquals(RescueAnimal.TrainingStatus.IN_SERVICE,
+                    fakeHelper.getAnimalById(id).getTrainingStatusEnum());
+        }
+    }
+
+    @Test
+    void testConcurrentRemoveAndChangeKeepIndexesConsistent() throws Exception {
+        List<String> ids = addDogs(200, "in service");
+
+        runConcurrently(THREADS, worker -> {
+            Random random = new Random(worker);
+            for (int i = 0; i < 2000; i++) {
+                String id = ids.get(random.nextInt(ids.size()));
+                try {
+                    switch (random.nextInt(4)) {
+                        case 0 -> manager.reserveAnimal(id);
+                        case 1 -> manager.unreserveAnimal(id);
+                        case 2 -> manager.updateTraining(id, "farm");
+                        default -> manager.removeAnimal(id);
+                    }
+                } catch (NoSuchElementException | IllegalStateException ignored) {
+                    // removed, already reserved or locked to farm by another worker
+                }
+            }
+        });
+
+        List<RescueAnimal> remaining = manager.listAll();
+        assertEquals(new HashSet<>(remaining), new HashSet<>(manager.listByType("dog")));
+        assertEquals(new HashSet<>(remaining), new HashSet<>(fakeHelper.listAnimals()));
+        Set<RescueAnimal> expectedAvailable = new HashSet<>();
+        remaining.stream()
+                .filter(a -> a.getTrainingStatusEnum() == RescueAnimal.TrainingStatus.IN_SERVICE && !a.isReserved())
+                .forEach(expectedAvailable::add);
+        assertEquals(expectedAvailable, new HashSet<>(manager.listAvailableForService("dog")));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testReadThroughputScalesWithThreads() throws Exception {
+        List<String> ids = addDogs(100_000, "in service");
+        int lookupsPerThread = 2_000_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        double baseline = 0;
+        System.out.printf("getAnimalById scaling (%d cores, %,d animals)%n", cores, ids.size());
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            AtomicInteger misses = new AtomicInteger();
+            long start = System.nanoTime();
+            runConcurrently(threads, worker -> {
+                Random random = new Random(worker);
+                for (int i = 0; i < lookupsPerThread; i++) {
+                    if (manager.getAnimalById(ids.get(random.nextInt(ids.size()))) == null) {
+                        misses.incrementAndGet();
+                    }
+                }
+            });
+            double opsPerSec = (double) threads * lookupsPerThread / ((System.nanoTime() - start) / 1e9);
+            if (threads == 1) baseline = opsPerSec;
+            System.out.printf("  %2d threads: %,14.0f lookups/sec (%.2fx)%n", threads, opsPerSec, opsPerSec / baseline);
+            assertEquals(0, misses.get());
+        }
+    }
+
+    // ===== helpers =====
+
+    private List<String> addDogs(int count, String status) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Dog d = new Dog("Dog" + i, "Bloodhound", "male", "3", "50",
+                    "01/01/2022", "United States", status, false,
+                    status.equals("in service") ? "Canada" : null);
+            assertTrue(manager.addAnimal(d));
+            ids.add(d.getUniqueId());
+        }
+        return ids;
+    }
+
+    interface Worker {
+        void run(int worker) throws Exception;
+    }
+
+    /** Starts all workers at once and rethrows the first failure. */
+    private static void runConcurrently(int threads, Worker body) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int worker = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    body.run(worker);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                try {
+                    f.get(60, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception ex) throw ex;
+                    throw e;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
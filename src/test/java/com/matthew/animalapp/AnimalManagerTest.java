@@ -3,7 +3,7 @@ package com.matthew.animalapp;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.List;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -13,10 +13,10 @@ class AnimalManagerTest {
 
     @BeforeEach
     void setup() {
-        DatabaseHelper fakeHelper = new FakeDatabaseHelper();
+        AnimalStorage fakeHelper = new FakeDatabaseHelper();
         manager = new AnimalManager(fakeHelper);
 
-        dog = new Dog("Rex", "Labrador", "male", "3", "50",
+        dog = new Dog(manager.newAnimalId(), "Rex", "Labrador", "male", "3", "50",
                 "01/01/2022", "United States", "in service", false, "USA");
         manager.addAnimal(dog);
     }
@@ -56,4 +56,179 @@ class AnimalManagerTest {
         List<RescueAnimal> available = manager.listAvailableForService("dog");
         assertEquals(1, available.size());
     }
+
+    @Test
+    void testGetAnimalByIdIgnoresCase() {
+        String id = dog.getUniqueId();
+        assertSame(dog, manager.getAnimalById(id.toLowerCase()));
+        assertSame(dog, manager.getAnimalById("rA-" + id.substring(3)));
+        assertNull(manager.getAnimalById(" " + id));
+        assertNull(manager.getAnimalById(null));
+    }
+
+    @Test
+    void testLeadingZerosAreADifferentId() {
+        // equalsIgnoreCase("RA-07", "RA-7") is false, so they must not collide
+        Dog seven = new Dog("RA-7", "Ace", "Bloodhound", "male", "2", "40",
+                "01/01/2023", "Canada", "intake", false, null);
+        Dog zeroSeven = new Dog("RA-07", "Bea", "Bloodhound", "female", "2", "40",
+                "01/01/2023", "Canada", "intake", false, null);
+        assertTrue(manager.addAnimal(seven));
+        assertTrue(manager.addAnimal(zeroSeven));
+        assertSame(seven, manager.getAnimalById("ra-7"));
+        assertSame(zeroSeven, manager.getAnimalById("ra-07"));
+    }
+
+    @Test
+    void testAddRejectsIdDifferingOnlyByCase() {
+        Dog legacy = new Dog("legacy-1", "Ace", "Bloodhound", "male", "2", "40",
+                "01/01/2023", "Canada", "intake", false, null);
+        Dog shouted = new Dog("LEGACY-1", "Bea", "Bloodhound", "female", "2", "40",
+                "01/01/2023", "Canada", "intake", false, null);
+        assertTrue(manager.addAnimal(legacy));
+        assertFalse(manager.addAnimal(shouted));
+        assertSame(legacy, manager.getAnimalById("Legacy-1"));
+        assertTrue(manager.removeAnimal("LEGACY-1"));
+        assertNull(manager.getAnimalById("legacy-1"));
+    }
+
+    @Test
+    void testRemoveAnimalIgnoresCase() {
+        assertTrue(manager.removeAnimal(dog.getUniqueId().toLowerCase()));
+        assertNull(manager.getAnimalById(dog.getUniqueId()));
+        assertFalse(manager.removeAnimal(dog.getUniqueId()));
+    }
+
+    @Test
+    void testStateChangesAcceptAnyCase() {
+        String id = dog.getUniqueId().toLowerCase();
+        manager.reserveAnimal(id);
+        assertTrue(dog.isReserved());
+        manager.unreserveAnimal(id);
+        assertFalse(dog.isReserved());
+        assertThrows(NoSuchElementException.class, () -> manager.advanceTraining("ra-0"));
+    }
+
+    @Test
+    void testResetIdCounterSkipsNonCanonicalIds() {
+        manager.addAnimal(new Dog("legacy-9", "Ace", "Bloodhound", "male", "2", "40",
+                "01/01/2023", "Canada", "intake", false, null));
+        manager.addAnimal(new Dog("RA-500", "Bea", "Bloodhound", "female", "2", "40",
+                "01/01/2023", "Canada", "intake", false, null));
+        manager.resetIdCounter();
+        assertEquals("RA-501", manager.newAnimalId());
+    }
+
+    @Test
+    void testIndexesFollowTrainingChanges() {
+        Dog pup = new Dog("Pup", "Bloodhound", "female", "1", "20",
+                "01/01/2024", "Canada", "Phase V", false, null);
+        manager.addAnimal(pup);
+        assertEquals(List.of(pup), manager.listByStatus("dog", "phase v"));
+        assertEquals(1, manager.listAvailableForService("dog").size());
+
+        manager.advanceTraining(pup.getUniqueId());
+        assertTrue(manager.listByStatus("dog", "Phase V").isEmpty());
+        assertEquals(2, manager.listByStatus("dog", "in service").size());
+        assertEquals(2, manager.listAvailableForService("dog").size());
+
+        manager.updateTraining(pup.getUniqueId(), "farm");
+        assertEquals(List.of(pup), manager.listByStatus("Dog", "farm"));
+        assertEquals(1, manager.listAvailableForService("dog").size());
+    }
+
+    @Test
+    void testIndexesFollowReservationAndRemoval() {
+        manager.reserveAnimal(dog.getUniqueId());
+        assertTrue(manager.listAvailableForService("dog").isEmpty());
+        assertEquals(1, manager.listByStatus("dog", "in service").size());
+
+        manager.unreserveAnimal(dog.getUniqueId());
+        assertEquals(List.of(dog), manager.listAvailableForService("dog"));
+
+        manager.removeAnimal(dog.getUniqueId());
+        assertTrue(manager.listByType("dog").isEmpty());
+        assertTrue(manager.listByStatus("dog", "in service").isEmpty());
+        assertTrue(manager.listAvailableForService("dog").isEmpty());
+    }
+
+    @Test
+    void testRejectedChangeKeepsIndexes() {
+        Dog pup = new Dog("Pup", "Bloodhound", "female", "1", "20",
+                "01/01/2024", "Canada", "intake", false, null);
+        manager.addAnimal(pup);
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.updateTraining(pup.getUniqueId(), "Phase III"));
+        assertThrows(IllegalStateException.class, () -> manager.reserveAnimal(pup.getUniqueId()));
+        assertEquals(List.of(pup), manager.listByStatus("dog", "intake"));
+        assertEquals(2, manager.listByType("dog").size());
+    }
+
+    @Test
+    void testIndexesMatchFullScanAfterMixedOperations() {
+        Random random = new Random(42);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            RescueAnimal a = (i % 2 == 0)
+                    ? new Dog("D" + i, "Bloodhound", "male", "2", "40",
+                            "01/01/2023", "Canada", "intake", false, null)
+                    : new Monkey("M" + i, "Capuchin", "female", "2", "10",
+                            "01/01/2023", "Mexico", "Phase IV", false, null, 10, 20, 15);
+            manager.addAnimal(a);
+            ids.add(a.getUniqueId());
+        }
+        for (int i = 0; i < 2000; i++) {
+            String id = ids.get(random.nextInt(ids.size()));
+            try {
+                switch (random.nextInt(5)) {
+                    case 0 -> manager.advanceTraining(id);
+                    case 1 -> manager.reserveAnimal(id);
+                    case 2 -> manager.unreserveAnimal(id);
+                    case 3 -> manager.updateTraining(id, random.nextInt(20) == 0 ? "farm" : "in service");
+                    default -> manager.removeAnimal(id);
+                }
+            } catch (RuntimeException ignored) {
+                // invalid transitions are part of the mix
+            }
+        }
+        for (String type : List.of("dog", "monkey")) {
+            List<RescueAnimal> ofType = manager.listAll().stream()
+                    .filter(a -> type.equals("dog") ? a instanceof Dog : a instanceof Monkey)
+                    .toList();
+            assertEquals(new HashSet<>(ofType), new HashSet<>(manager.listByType(type)));
+            for (RescueAnimal.TrainingStatus status : RescueAnimal.TrainingStatus.values()) {
+                Set<RescueAnimal> expected = new HashSet<>();
+                ofType.stream().filter(a -> a.getTrainingStatusEnum() == status).forEach(expected::add);
+                assertEquals(expected, new HashSet<>(manager.listByStatus(type, status.menuLabel())));
+            }
+            Set<RescueAnimal> expectedAvailable = new HashSet<>();
+            ofType.stream()
+                    .filter(a -> a.getTrainingStatusEnum() == RescueAnimal.TrainingStatus.IN_SERVICE && !a.isReserved())
+                    .forEach(expectedAvailable::add);
+            assertEquals(expectedAvailable, new HashSet<>(manager.listAvailableForService(type)));
+        }
+    }
+
+    @Test
+    void testAddAllWritesOneBatchAndSkipsTakenIds() {
+        List<Integer> batchSizes = new ArrayList<>();
+        AnimalManager batched = new AnimalManager(new FakeDatabaseHelper() {
+            @Override
+            public synchronized int saveBatch(Collection<RescueAnimal> upserts, Collection<String> deletes) {
+                batchSizes.add(upserts.size());
+                return super.saveBatch(upserts, deletes);
+            }
+        });
+        Dog ace = new Dog("RA-900", "Ace", "Bloodhound", "male", "2", "40",
+                "01/01/2022", "United States", "intake", false, null);
+        Dog taken = new Dog(dog.getUniqueId(), "Impostor", "Bloodhound", "male", "2", "40",
+                "01/01/2022", "United States", "intake", false, null);
+        batched.addAnimal(dog);
+
+        assertEquals(List.of(ace), batched.addAll(List.of(ace, taken)));
+        assertEquals(List.of(1), batchSizes);
+        assertSame(dog, batched.getAnimalById(dog.getUniqueId()));
+        assertEquals(2, batched.listByType("dog").size());
+        batched.close();
+    }
 }
@@ -0,0 +1,111 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalManagerWorkingSetTest {
+
+    @TempDir
+    Path tempDir;
+
+    DatabaseHelper helper;
+    List<String> ids = new ArrayList<>();
+    AnimalManager manager;
+
+    @BeforeEach
+    void setup() {
+        helper = new DatabaseHelper(new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+        for (int i = 0; i < 5; i++) {
+            Dog dog = new Dog("Dog" + i, "Bloodhound", "male", "3", "50",
+                    "01/01/2022", "United States", "in service", false, "Canada");
+            helper.addOrUpdateAnimal(dog);
+            ids.add(dog.getUniqueId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) manager.close();
+    }
+
+    @Test
+    void testNothingIsLoadedUntilUsed() {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().workingSet(3));
+        assertEquals(0, manager.getWorkingSetStats().getSize());
+
+        assertEquals("Dog0", manager.getAnimalById(ids.get(0)).getName());
+        assertSame(manager.getAnimalById(ids.get(0)), manager.getAnimalById(ids.get(0).toLowerCase()));
+
+        WorkingSetStats stats = manager.getWorkingSetStats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void testWorkingSetStaysBoundedAndEvictedAnimalsReloadTheirSavedState() {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().workingSet(2));
+        manager.reserveAnimal(ids.get(0));
+        for (String id : ids) manager.getAnimalById(id);
+        assertEquals(2, manager.getWorkingSetStats().getSize());
+
+        RescueAnimal reloaded = manager.getAnimalById(ids.get(0)); // evicted above
+        assertTrue(reloaded.isReserved());
+        assertThrows(IllegalStateException.class, () -> manager.reserveAnimal(ids.get(0)));
+    }
+
+    @Test
+    void testListsAreAnsweredByTheDatabase() {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().workingSet(2));
+        manager.reserveAnimal(ids.get(1));
+        manager.updateTraining(ids.get(2), "farm");
+
+        assertEquals(5, manager.listByType("dog").size());
+        assertEquals(3, manager.listAvailableForService("dog").size());
+        assertEquals(1, manager.listByStatus("dog", "farm").size());
+        assertEquals(List.of(manager.getAnimalById(ids.get(3))), manager.findByName("dog3"));
+        assertTrue(manager.removeAnimal(ids.get(4)));
+        assertEquals(4, manager.listAll().size());
+        assertNull(manager.getAnimalById(ids.get(4)));
+    }
+
+    @Test
+    void testAddRejectsIdsAlreadyInTheDatabaseAndContinuesNumbering() {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().workingSet(2));
+        assertFalse(manager.addAnimal(helper.getAnimalById(ids.get(0))));
+
+        Dog added = new Dog("New", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        assertEquals(AnimalIds.parseNumber(ids.get(4)) + 1, AnimalIds.parseNumber(added.getUniqueId()));
+        assertTrue(manager.addAnimal(added));
+        assertNotNull(helper.getAnimalById(added.getUniqueId()));
+    }
+
+    @Test
+    void testQueuedChangesAreVisibleBeforeTheyAreWritten() {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().workingSet(1)
+                .writeBehind(1000, Duration.ofHours(1)));
+        manager.reserveAnimal(ids.get(0));
+        manager.removeAnimal(ids.get(1));
+        manager.getAnimalById(ids.get(2)); // evicts the reserved animal before it is written
+
+        assertFalse(helper.getAnimalById(ids.get(0)).isReserved());
+        assertTrue(manager.getAnimalById(ids.get(0)).isReserved());
+        assertNull(manager.getAnimalById(ids.get(1)));
+        assertEquals(3, manager.listAvailableForService("dog").size());
+        assertEquals(4, manager.listAll().size());
+
+        manager.flush();
+        assertTrue(helper.getAnimalById(ids.get(0)).isReserved());
+        assertNull(helper.getAnimalById(ids.get(1)));
+    }
+}
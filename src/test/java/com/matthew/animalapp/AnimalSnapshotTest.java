@@ -0,0 +1,165 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    DatabaseHelper helper;
+    Path snapshot;
+    Dog dog;
+    Monkey monkey;
+    List<AnimalManager> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        helper = new DatabaseHelper(new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+        snapshot = tempDir.resolve("animals.snapshot");
+        dog = new Dog("Rex", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "in service", false, "Canada");
+        monkey = new Monkey("George", "Capuchin", "male", "5", "30",
+                "01/01/2020", "Mexico", "Phase II", false, null, 12.5, 24.0, 18.0);
+        helper.addOrUpdateAnimal(dog);
+        helper.addOrUpdateAnimal(monkey);
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(AnimalManager::close);
+    }
+
+    private AnimalManager open() {
+        return open(helper);
+    }
+
+    private AnimalManager open(AnimalStorage db) {
+        AnimalManager manager = new AnimalManager(db, ManagerOptions.defaults().snapshot(snapshot));
+        opened.add(manager);
+        return manager;
+    }
+
+    @Test
+    void testCleanShutdownSnapshotIsLoadedOnNextStart() {
+        AnimalManager first = open();
+        assertFalse(first.awaitLoaded().isFromSnapshot());
+        first.reserveAnimal(dog.getUniqueId());
+        first.close();
+        assertTrue(Files.exists(snapshot));
+
+        AnimalManager second = open();
+        LoadReport report = second.awaitLoaded();
+        assertTrue(report.isFromSnapshot());
+        assertEquals(2, report.getRows());
+        assertTrue(second.getAnimalById(dog.getUniqueId()).isReserved());
+        Monkey loaded = (Monkey) second.getAnimalById(monkey.getUniqueId());
+        assertEquals("Phase II", loaded.getTrainingStatus());
+        assertEquals(24.0, loaded.getHeight());
+        assertEquals(1, second.listByStatus("monkey", "phase ii").size());
+    }
+
+    @Test
+    void testSnapshotIsIgnoredOnceTheDatabaseChanges() {
+        open().close();
+        Dog later = new Dog("Max", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        helper.addOrUpdateAnimal(later); // written by someone else after the snapshot
+
+        AnimalManager manager = open();
+        assertFalse(manager.awaitLoaded().isFromSnapshot());
+        assertNotNull(manager.getAnimalById(later.getUniqueId()));
+    }
+
+    @Test
+    void testNoSnapshotWhenAnotherWriterChangedTheDatabaseBeforeClose() {
+        open().close();
+        AnimalManager first = open();
+        assertTrue(first.awaitLoaded().isFromSnapshot());
+
+        DatabaseHelper otherWriter = new DatabaseHelper(
+                new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+        Dog later = new Dog("RA-900", "Max", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        otherWriter.addOrUpdateAnimal(later);
+        otherWriter.deleteAnimal(monkey.getUniqueId());
+        first.reserveAnimal(dog.getUniqueId());
+        first.close();
+        assertFalse(Files.exists(snapshot)); // it would hide Max and bring the monkey back
+
+        AnimalManager next = open();
+        assertFalse(next.awaitLoaded().isFromSnapshot());
+        assertNotNull(next.getAnimalById("RA-900"));
+        assertNull(next.getAnimalById(monkey.getUniqueId()));
+        assertTrue(next.getAnimalById(dog.getUniqueId()).isReserved());
+    }
+
+    @Test
+    void testOwnWriteBehindChangesStillAllowASnapshot() {
+        AnimalManager manager = new AnimalManager(helper, ManagerOptions.defaults()
+                .snapshot(snapshot).writeBehind(100, Duration.ofMinutes(1)));
+        opened.add(manager);
+        Dog shortStay = new Dog("Max", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        manager.addAnimal(shortStay);
+        manager.removeAnimal(shortStay.getUniqueId()); // coalesced: the delete finds no row
+        manager.removeAnimal(monkey.getUniqueId());
+        manager.reserveAnimal(dog.getUniqueId());
+        manager.close();
+        assertTrue(Files.exists(snapshot));
+
+        AnimalManager next = open();
+        assertTrue(next.awaitLoaded().isFromSnapshot());
+        assertEquals(List.of(dog.getUniqueId()), next.listAll().stream().map(RescueAnimal::getUniqueId).toList());
+    }
+
+    @Test
+    void testCorruptSnapshotFallsBackToSql() throws Exception {
+        open().close();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(snapshot, bytes);
+
+        AnimalManager manager = open();
+        assertFalse(manager.awaitLoaded().isFromSnapshot());
+        assertEquals(2, manager.listAll().size());
+    }
+
+    @Test
+    void testSnapshotOfAnotherDatabaseIsIgnored() {
+        open().close();
+        DatabaseHelper other = new DatabaseHelper(
+                new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("other.db")));
+        other.addOrUpdateAnimal(dog);
+        other.addOrUpdateAnimal(monkey);
+
+        AnimalManager manager = open(other);
+        assertFalse(manager.awaitLoaded().isFromSnapshot());
+    }
+
+    @Test
+    void testNoSnapshotAfterAFailedWrite() {
+        FakeDatabaseHelper failing = new FakeDatabaseHelper() {
+            @Override
+            public synchronized void addOrUpdateAnimal(RescueAnimal a) {
+                throw new RuntimeException("Error saving animal");
+            }
+        };
+        AnimalManager manager = open(failing);
+        assertThrows(RuntimeException.class, () -> manager.addAnimal(new Dog("Max", "Bloodhound", "male",
+                "3", "50", "01/01/2022", "United States", "intake", false, null)));
+        manager.close();
+        assertFalse(Files.exists(snapshot));
+    }
+}
@@ -0,0 +1,95 @@
+package com.matthew.animalapp;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Heap taken by the primary ID index at 1M animals: the boxed ConcurrentHashMap&lt;Integer, RescueAnimal&gt;
+ * the store used before next to IntAnimalMap, plus the time for 1M lookups in each.
+ * Sizes are worked out from the object layout (IntAnimalMap's from its actual array lengths), not
+ * from heap deltas around System.gc(), which are mostly noise at this scale.
+ * Every key maps to the same animal, so only the index itself is counted.
+ */
+@Tag("benchmark")
+class AnimalStoreBenchmarkTest {
+    static final int ANIMALS = 1_000_000;
+
+    @Test
+    void testFootprintAtOneMillionAnimals() {
+        Dog shared = new Dog("RA-0", "Rex", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        int ref = referenceBytes();
+
+        Map<Integer, RescueAnimal> boxed = new ConcurrentHashMap<>();
+        for (int i = 0; i < ANIMALS; i++) boxed.put(i, shared);
+        long boxedLookupMs = timeLookups(key -> boxed.get(key));
+        assertEquals(ANIMALS, boxed.size());
+        boxed.clear();
+        // per entry: a Node (header, int hash, key/value/next refs) and an Integer; plus the table array
+        long node = align(header(ref) + Integer.BYTES + 3L * ref);
+        long integer = align(header(ref) + Integer.BYTES);
+        long boxedBytes = ANIMALS * (node + integer) + array(tableSlots(ANIMALS), ref, ref);
+
+        IntAnimalMap primitive = new IntAnimalMap();
+        for (int i = 0; i < ANIMALS; i++) primitive.putIfAbsent(i, shared);
+        long primitiveLookupMs = timeLookups(primitive::get);
+        assertEquals(ANIMALS, primitive.size());
+        int capacity = primitive.capacity();
+        long primitiveBytes = array(capacity, Integer.BYTES, ref) + array(capacity, ref, ref);
+
+        System.out.printf("%-42s %,d KB (%.1f bytes/animal), 1M lookups %,d ms%n", "ConcurrentHashMap<Integer, RescueAnimal>:",
+                boxedBytes / 1024, (double) boxedBytes / ANIMALS, boxedLookupMs);
+        System.out.printf("%-42s %,d KB (%.1f bytes/animal), 1M lookups %,d ms%n", "IntAnimalMap (" + capacity + " slots):",
+                primitiveBytes / 1024, (double) primitiveBytes / ANIMALS, primitiveLookupMs);
+
+        // load factor under 0.75 with doubling: 1M keys need 2^21 slots of one int key and one reference
+        assertEquals(1 << 21, capacity);
+        double perAnimal = (double) primitiveBytes / ANIMALS;
+        assertEquals((double) (1 << 21) * (Integer.BYTES + ref) / ANIMALS, perAnimal, 0.01); // 16.8 with compressed refs
+        assertTrue(primitiveBytes * 2 < boxedBytes);
+    }
+
+    private interface Lookup {
+        RescueAnimal get(int key);
+    }
+
+    private static long timeLookups(Lookup lookup) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ANIMALS; i++) {
+            assertNotNull(lookup.get(i));
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /** Smallest power-of-two table that holds this many entries under a 0.75 load factor. */
+    private static int tableSlots(int entries) {
+        int slots = 16;
+        while (entries > slots * 3L / 4) slots *= 2;
+        return slots;
+    }
+
+    /** 4 with compressed oops (the default below 32 GB of heap), else 8. */
+    private static int referenceBytes() {
+        HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        return Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue()) ? 4 : 8;
+    }
+
+    private static long header(int ref) {
+        return ref == 4 ? 12 : 16; // mark word plus (compressed) class pointer
+    }
+
+    private static long array(int length, int elementBytes, int ref) {
+        return align(header(ref) + Integer.BYTES + (long) length * elementBytes);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,60 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttributeDictionaryTest {
+
+    @Test
+    void testBuiltInWordsHaveStableCodes() {
+        AttributeDictionary countries = AttributeDictionary.COUNTRIES;
+        assertEquals(1, countries.encode("United States"));
+        assertEquals(2, countries.encode("Canada"));
+        assertEquals(3, countries.encode("Mexico"));
+        assertTrue(countries.isBuiltIn(2));
+        assertEquals("Canada", countries.decode(2));
+        assertEquals(2, countries.builtInCodeIgnoreCase("cANADA"));
+    }
+
+    @Test
+    void testOtherValuesGetProcessLocalCodes() {
+        AttributeDictionary breeds = AttributeDictionary.BREEDS;
+        int code = breeds.encode("Test Breed " + System.nanoTime());
+        assertFalse(breeds.isBuiltIn(code));
+        assertEquals(code, breeds.encode(breeds.decode(code)));
+        assertEquals(AttributeDictionary.NONE, breeds.builtInCodeIgnoreCase(breeds.decode(code)));
+        assertNotEquals(breeds.encode("bloodhound"), breeds.encode("Bloodhound")); // exact spelling is kept
+    }
+
+    @Test
+    void testNullIsCodeZero() {
+        assertEquals(AttributeDictionary.NONE, AttributeDictionary.MONKEY_SPECIES.encode(null));
+        assertNull(AttributeDictionary.MONKEY_SPECIES.decode(AttributeDictionary.NONE));
+    }
+
+    @Test
+    void testConcurrentEncodersAgreeOnCodes() throws InterruptedException {
+        String prefix = "Species " + System.nanoTime() + " ";
+        Set<String> pairs = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    int code = AttributeDictionary.MONKEY_SPECIES.encode(prefix + i);
+                    assertEquals(prefix + i, AttributeDictionary.MONKEY_SPECIES.decode(code));
+                    pairs.add(i + "=" + code);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(500, pairs.size()); // each value got exactly one code
+    }
+}
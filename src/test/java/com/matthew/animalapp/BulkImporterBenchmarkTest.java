@@ -0,0 +1,57 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk import of a 200K-record CSV file into a file DB, next to the same number of
+ * one-at-a-time addAnimal calls (one database write each), as the menu's intake does.
+ */
+@Tag("benchmark")
+class BulkImporterBenchmarkTest {
+    static final int RECORDS = 200_000;
+    static final int ONE_AT_A_TIME = 20_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testImportThroughput() throws IOException {
+        Path file = tempDir.resolve("transfer.csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write(BulkImporterTest.HEADER);
+            out.newLine();
+            for (int i = 0; i < RECORDS; i++) {
+                out.write(BulkImporterTest.dogLine("Dog" + i));
+                out.newLine();
+            }
+        }
+
+        String url = "jdbc:sqlite:" + tempDir.resolve("animals.db");
+        try (PooledDatabaseConnector connector = new PooledDatabaseConnector(url, DatabaseProfile.BALANCED);
+             AnimalManager manager = new AnimalManager(new DatabaseHelper(connector), ManagerOptions.defaults().idBlockSize(10_000))) {
+            ImportReport report = new BulkImporter(manager).checkpoint(tempDir.resolve("transfer.csv.checkpoint"))
+                    .importFile(file);
+            System.out.println(report);
+            assertEquals(RECORDS, report.getImportedCount());
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ONE_AT_A_TIME; i++) {
+                manager.addAnimal(new Dog(manager.newAnimalId(), "Single" + i, "Bloodhound", "male", "3", "55",
+                        "01/15/2024", "United States", "intake", false, null));
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("addAnimal one at a time: %,d records in %,d ms (%,.0f records/sec)%n",
+                    ONE_AT_A_TIME, (long) (seconds * 1000), ONE_AT_A_TIME / seconds);
+            assertEquals(RECORDS + ONE_AT_A_TIME, manager.listAll().size());
+        }
+    }
+}
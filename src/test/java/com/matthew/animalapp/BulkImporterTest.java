@@ -0,0 +1,212 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkImporterTest {
+
+    static final String YEAR = Integer.toString(LocalDate.now().getYear());
+    static final String HEADER = "type,name,breed,species,gender,age,weight,acquisitionDate,acquisitionCountry,"
+            + "trainingStatus,reserved,inServiceCountry,tailLength,height,bodyLength";
+
+    @TempDir
+    Path tempDir;
+
+    /** Fails the failOnBatch-th saveBatch call (0 = never). */
+    static class FlakyHelper extends FakeDatabaseHelper {
+        volatile int failOnBatch;
+        int batches;
+
+        @Override
+        public synchronized int saveBatch(Collection<RescueAnimal> upserts, Collection<String> deletes) {
+            if (++batches == failOnBatch) throw new IllegalStateException("disk full");
+            return super.saveBatch(upserts, deletes);
+        }
+    }
+
+    FlakyHelper helper;
+    AnimalManager manager;
+
+    @BeforeEach
+    void setup() {
+        helper = new FlakyHelper();
+        manager = new AnimalManager(helper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    static String dogLine(String name) {
+        return "dog," + name + ",Bloodhound,,male,3,55,01/15/" + YEAR + ",United States,intake,no,,,,";
+    }
+
+    private Path csv(String... lines) throws IOException {
+        List<String> all = new ArrayList<>();
+        all.add(HEADER);
+        all.addAll(List.of(lines));
+        return Files.write(tempDir.resolve("transfer.csv"), all);
+    }
+
+    @Test
+    void testImportsCsv() throws IOException {
+        Path file = csv(dogLine("Rex"),
+                "\"Monkey\",\"Milo, Jr.\",,capuchin,female,4,12.5,02/01/" + YEAR + ",canada,in service,yes,mexico,20,18,16",
+                "",
+                dogLine("Ace"));
+        ImportReport report = new BulkImporter(manager).batchSize(2).importFile(file);
+
+        assertEquals(3, report.getRecordsRead());
+        assertEquals(3, report.getImportedCount());
+        assertEquals(0, report.getInvalidCount());
+        assertEquals(2, helper.batches);
+
+        Monkey milo = (Monkey) manager.findByName("Milo, Jr.").get(0);
+        assertEquals("Capuchin", milo.getSpecies());
+        assertEquals("Canada", milo.getAcquisitionCountry());
+        assertEquals("Mexico", milo.getInServiceCountry());
+        assertTrue(milo.isReserved());
+        assertEquals(18.0, milo.getHeight());
+        assertEquals(1, manager.listByType("dog").stream().filter(a -> a.getName().equals("Ace")).count());
+    }
+
+    @Test
+    void testImportsNdjson() throws IOException {
+        Path file = Files.write(tempDir.resolve("transfer.ndjson"), List.of(
+                "{\"type\":\"dog\",\"name\":\"Rex\",\"breed\":\"german shepherd\",\"gender\":\"Male\",\"age\":5,"
+                        + "\"weight\":70.5,\"acquisitionDate\":\"03/03/" + YEAR + "\",\"acquisitionCountry\":\"Mexico\","
+                        + "\"trainingStatus\":\"phase 2\",\"reserved\":false,\"inServiceCountry\":null}",
+                "{\"type\":\"dog\",\"name\":"));
+        ImportReport report = new BulkImporter(manager).importFile(file);
+
+        assertEquals(1, report.getImportedCount());
+        assertEquals(1, report.getInvalidCount());
+        assertEquals(2, report.getErrors().get(0).index());
+        assertEquals("line", report.getErrors().get(0).field());
+        Dog rex = (Dog) manager.findByName("rex").get(0);
+        assertEquals("German Shepherd", rex.getBreed());
+        assertEquals("male", rex.getGender());
+        assertEquals(70.5, rex.getWeightLbs());
+        assertEquals(RescueAnimal.TrainingStatus.PHASE_II, rex.getTrainingStatusEnum());
+    }
+
+    @Test
+    void testInvalidRecordsAreReportedByLine() throws IOException {
+        Path file = csv(dogLine("Rex"),
+                "dog,Bad,Bloodhound,,male,99,55,01/15/" + YEAR + ",United States,intake,no,,,,",
+                "dog,Short,Bloodhound");
+        ImportReport report = new BulkImporter(manager).importFile(file);
+
+        assertEquals(1, report.getImportedCount());
+        assertEquals(2, report.getInvalidCount());
+        assertEquals(List.of(3, 4), report.getErrors().stream().map(ValidationReport.RecordError::index).toList());
+        assertEquals("age", report.getErrors().get(0).field());
+        assertTrue(manager.findByName("Bad").isEmpty());
+    }
+
+    @Test
+    void testDuplicatesOfStoredAnimalsAndEarlierLinesAreDropped() throws IOException {
+        manager.addAnimal(new Dog("Rex", "Bloodhound", "male", "3", "55",
+                "01/15/" + YEAR, "United States", "Phase I", false, null));
+        Path file = csv(dogLine(" rex "), dogLine("Ace"), dogLine("ACE"),
+                "dog,Ace,Bloodhound,,male,3,55,01/16/" + YEAR + ",United States,intake,no,,,,"); // other date
+        ImportReport report = new BulkImporter(manager).importFile(file);
+
+        assertEquals(2, report.getDuplicateCount());
+        assertEquals(2, report.getImportedCount());
+        assertEquals(3, manager.listAll().size());
+    }
+
+    @Test
+    void testBoundedMemoryImportChecksDuplicatesPerBatchWithoutAFullScan() throws IOException {
+        FakeDatabaseHelper noScans = new FakeDatabaseHelper() {
+            @Override
+            public synchronized List<RescueAnimal> listAnimals() {
+                throw new AssertionError("dedupe must not read every stored animal");
+            }
+        };
+        noScans.addOrUpdateAnimal(new Dog("RA-900", "Rex", "Bloodhound", "male", "3", "55",
+                "01/15/" + YEAR, "United States", "Phase I", false, null));
+        try (AnimalManager bounded = new AnimalManager(noScans, ManagerOptions.defaults().workingSet(2)
+                .writeBehind(100, Duration.ofMinutes(1)))) {
+            Path file = csv(dogLine(" rex "), dogLine("Ace"), dogLine("Bo"),
+                    dogLine("ACE"), dogLine("Cy"), dogLine("bo")); // repeats land in later batches
+            ImportReport report = new BulkImporter(bounded).batchSize(2).queueCapacity(1).importFile(file);
+
+            assertEquals(3, report.getDuplicateCount());
+            assertEquals(3, report.getImportedCount());
+            assertEquals(1, bounded.findByNames(List.of("ace")).size());
+            assertEquals(4, noScans.count(AnimalQuery.all()));
+        }
+    }
+
+    @Test
+    void testStoredNonAsciiNameIsADuplicate() throws IOException {
+        DatabaseHelper sqlite = new DatabaseHelper(new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+        sqlite.addOrUpdateAnimal(new Dog("RA-900", "Émile", "Bloodhound", "male", "3", "55",
+                "01/15/" + YEAR, "United States", "intake", false, null));
+        try (AnimalManager bounded = new AnimalManager(sqlite, ManagerOptions.defaults().workingSet(2))) {
+            ImportReport report = new BulkImporter(bounded).importFile(csv(dogLine("Émile"), dogLine("emile")));
+            assertEquals(1, report.getDuplicateCount());
+            assertEquals(1, report.getImportedCount());
+        }
+
+        // NOCASE folds ASCII only, and so does matches()
+        AnimalQuery query = AnimalQuery.all().names(List.of("émile"));
+        assertEquals(0, sqlite.count(query));
+        assertFalse(query.matches(sqlite.getAnimalById("RA-900")));
+        assertEquals(1, sqlite.count(AnimalQuery.all().names(List.of("ÉMILE"))));
+    }
+
+    @Test
+    void testResumesFromTheCheckpointAfterAFailure() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10; i++) lines.add(dogLine("Dog" + i));
+        Path file = csv(lines.toArray(new String[0]));
+        Path checkpoint = tempDir.resolve("transfer.csv.checkpoint");
+        BulkImporter importer = new BulkImporter(manager).batchSize(3).checkpoint(checkpoint);
+
+        helper.failOnBatch = 3;
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> importer.importFile(file));
+        assertEquals("disk full", e.getMessage());
+        assertEquals("7", Files.readString(checkpoint)); // header + two batches of three
+        assertEquals(6, manager.listAll().size());
+
+        helper.failOnBatch = 0;
+        ImportReport report = importer.importFile(file);
+        assertEquals(7, report.getResumedAfterLine());
+        assertEquals(4, report.getRecordsRead());
+        assertEquals(4, report.getImportedCount());
+        assertEquals(10, manager.listAll().size());
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    void testBatchSavedBeforeItsCheckpointIsNotImportedTwice() throws IOException {
+        Path file = csv(dogLine("Rex"), dogLine("Ace"), dogLine("Max"));
+        Path checkpoint = tempDir.resolve("transfer.csv.checkpoint");
+        BulkImporter importer = new BulkImporter(manager).checkpoint(checkpoint);
+        assertEquals(3, importer.importFile(file).getImportedCount());
+
+        Files.writeString(checkpoint, "2"); // as if the process died before checkpointing the last two
+        ImportReport report = importer.importFile(file);
+        assertEquals(2, report.getRecordsRead());
+        assertEquals(2, report.getDuplicateCount());
+        assertEquals(0, report.getImportedCount());
+        assertEquals(3, manager.listAll().size());
+    }
+}
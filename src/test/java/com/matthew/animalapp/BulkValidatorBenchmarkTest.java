@@ -0,0 +1,42 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of BulkValidator on 1M intake records (one in ten invalid), next to the same
+ * rules run on a single thread through check().
+ */
+@Tag("benchmark")
+class BulkValidatorBenchmarkTest {
+    static final int RECORDS = 1_000_000;
+
+    @Test
+    void testValidateOneMillionRecords() {
+        List<IntakeRecord> records = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            String name = (i % 10 == 0) ? "" : "Animal " + i;
+            records.add(i % 2 == 0 ? BulkValidatorTest.dog(name) : BulkValidatorTest.monkey(name));
+        }
+        BulkValidator validator = new BulkValidator(new ReferenceDataRegistry());
+        validator.validate(records.subList(0, 50_000)); // warm-up
+
+        long start = System.nanoTime();
+        int invalid = 0;
+        for (int i = 0; i < RECORDS; i++) {
+            if (!validator.check(records.get(i), i).isEmpty()) invalid++;
+        }
+        long sequentialMs = (System.nanoTime() - start) / 1_000_000;
+
+        ValidationReport report = validator.validate(records);
+        System.out.printf("Sequential check(): %,d records in %,d ms%n", RECORDS, sequentialMs);
+        System.out.printf("Parallel (%d cores): %s%n", Runtime.getRuntime().availableProcessors(), report);
+        assertEquals(invalid, report.getInvalidCount());
+        assertEquals(RECORDS / 10, report.getInvalidCount());
+    }
+}
@@ -0,0 +1,142 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkValidatorTest {
+
+    static final String THIS_YEAR = Integer.toString(LocalDate.now().getYear());
+
+    static IntakeRecord dog(String name) {
+        return new IntakeRecord("dog", name, "Bloodhound", null, "male", "3", "55",
+                "01/15/" + THIS_YEAR, "United States", "Phase II", "no", null, null, null, null);
+    }
+
+    static IntakeRecord monkey(String name) {
+        return new IntakeRecord("Monkey", name, null, "capuchin", "female", "4", "12.5",
+                "02/01/" + THIS_YEAR, "Canada", "in service", "yes", "Mexico", "20", "18", "16");
+    }
+
+    private static List<String> fields(ValidationReport report, int index) {
+        return report.errorsFor(index).stream().map(ValidationReport.RecordError::field).toList();
+    }
+
+    @Test
+    void testValidDogAndMonkeyPass() {
+        ValidationReport report = new BulkValidator(new ReferenceDataRegistry())
+                .validate(List.of(dog("Rex"), monkey("Milo")));
+        assertEquals(2, report.getRecordCount());
+        assertEquals(2, report.getValidCount());
+        assertTrue(report.getErrors().isEmpty(), report.getErrors().toString());
+    }
+
+    @Test
+    void testReportsEveryBadFieldWithItsIndex() {
+        IntakeRecord bad = new IntakeRecord("dog", " ", "Poodle", null, "other", "31", "heavy",
+                "13/01/2020", "Peru", "retired", "maybe", null, null, null, null);
+        ValidationReport report = new BulkValidator(new ReferenceDataRegistry())
+                .validate(List.of(dog("Rex"), bad, dog("Ace")));
+
+        assertEquals(1, report.getInvalidCount());
+        assertTrue(report.isValid(0));
+        assertFalse(report.isValid(1));
+        assertTrue(report.isValid(2));
+        assertEquals(List.of("name", "breed", "gender", "age", "weight", "acquisitionDate",
+                "acquisitionCountry", "trainingStatus", "reserved"), fields(report, 1));
+        assertTrue(report.errorsFor(0).isEmpty());
+    }
+
+    @Test
+    void testMonkeyMeasurementsAndServiceRules() {
+        IntakeRecord monkey = new IntakeRecord("monkey", "Milo", null, "Lemur", "female", "4", "12",
+                "02/01/" + THIS_YEAR, "Canada", "intake", "yes", "Mexico", "0", "101", "");
+        ValidationReport report = new BulkValidator(new ReferenceDataRegistry()).validate(List.of(monkey));
+        assertEquals(List.of("species", "tailLength", "height", "bodyLength", "inServiceCountry", "reserved"),
+                fields(report, 0));
+
+        IntakeRecord inService = new IntakeRecord("dog", "Rex", "Bloodhound", null, "male", "3", "55",
+                "01/15/" + THIS_YEAR, "Canada", "in service", "yes", null, null, null, null);
+        assertEquals(List.of("inServiceCountry"),
+                fields(new BulkValidator(new ReferenceDataRegistry()).validate(List.of(inService)), 0));
+    }
+
+    @Test
+    void testAcquisitionYearMustFitTheAge() {
+        int year = LocalDate.now().getYear();
+        IntakeRecord tooOld = new IntakeRecord("dog", "Rex", "Bloodhound", null, "male", "2", "55",
+                "01/15/" + (year - 4), "Canada", "intake", "", null, null, null, null);
+        IntakeRecord future = new IntakeRecord("dog", "Rex", "Bloodhound", null, "male", "2", "55",
+                "01/15/" + (year + 1), "Canada", "intake", "", null, null, null, null);
+        ValidationReport report = new BulkValidator(new ReferenceDataRegistry()).validate(List.of(tooOld, future));
+        assertEquals(List.of("acquisitionDate"), fields(report, 0));
+        assertEquals(List.of("acquisitionDate"), fields(report, 1));
+    }
+
+    @Test
+    void testMapsUseColumnNames() {
+        Map<String, String> row = new HashMap<>();
+        row.put("type", "dog");
+        row.put("name", "Rex");
+        row.put("breed", "german shepherd");
+        row.put("gender", "Male");
+        row.put("age", "5");
+        row.put("weight", "70.0");
+        row.put("acquisitionDate", "03/03/" + THIS_YEAR);
+        row.put("acquisitionCountry", "mexico");
+        row.put("trainingStatus", "farm");
+        Map<String, String> missing = Map.of("type", "dog");
+
+        ValidationReport report = new BulkValidator(new ReferenceDataRegistry()).validateMaps(List.of(row, missing));
+        assertTrue(report.isValid(0), report.errorsFor(0).toString());
+        assertFalse(report.isValid(1));
+        assertEquals(1, report.getValidCount());
+    }
+
+    @Test
+    void testUsesTheRegistrysCurrentData() {
+        ReferenceDataRegistry registry = new ReferenceDataRegistry();
+        BulkValidator validator = new BulkValidator(registry);
+        IntakeRecord peru = new IntakeRecord("dog", "Rex", "Bloodhound", null, "male", "3", "55",
+                "01/15/" + THIS_YEAR, "Peru", "intake", "no", null, null, null, null);
+        assertEquals(List.of("acquisitionCountry"), fields(validator.validate(List.of(peru)), 0));
+
+        Map<ReferenceData.Attribute, List<String>> values = new EnumMap<>(ReferenceData.defaultValues());
+        List<String> countries = new ArrayList<>(values.get(ReferenceData.Attribute.COUNTRY));
+        countries.add("Peru");
+        values.put(ReferenceData.Attribute.COUNTRY, countries);
+        registry.install(new ReferenceData(2, values));
+
+        assertTrue(validator.validate(List.of(peru)).isValid(0));
+        assertTrue(validator.check(peru, 0).isEmpty());
+    }
+
+    @Test
+    void testLargeRunKeepsInputOrder() {
+        int count = BulkValidator.CHUNK_SIZE * 5 + 123;
+        List<IntakeRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(i % 7 == 0 ? dog("") : (i % 2 == 0 ? dog("Dog " + i) : monkey("Monkey " + i)));
+        }
+        ValidationReport report = new BulkValidator(new ReferenceDataRegistry()).validate(records);
+
+        assertEquals(count, report.getRecordCount());
+        int expectedInvalid = (count + 6) / 7;
+        assertEquals(expectedInvalid, report.getInvalidCount());
+        assertEquals(expectedInvalid, report.getErrors().size());
+        int previous = -1;
+        for (ValidationReport.RecordError e : report.getErrors()) {
+            assertTrue(e.index() > previous);
+            assertEquals(0, e.index() % 7);
+            assertEquals("name", e.field());
+            previous = e.index();
+        }
+    }
+}
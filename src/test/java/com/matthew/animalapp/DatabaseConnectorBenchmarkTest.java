@@ -0,0 +1,60 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Per-operation latency of DatabaseHelper against a file DB:
+ * a new connection per call (DatabaseConnector) vs long-lived pooled connections
+ * (which also reuse their prepared statements).
+ */
+@Tag("benchmark")
+class DatabaseConnectorBenchmarkTest {
+    static final int ROWS = 500;
+    static final int READS = 5_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testOpenPerCallVersusPooled() {
+        String url = "jdbc:sqlite:" + tempDir.resolve("bench.db");
+        double[] perCall = run("open-per-call", new DatabaseConnector(url));
+        double[] pooled;
+        try (PooledDatabaseConnector pool = new PooledDatabaseConnector(url)) {
+            pooled = run("pooled", pool);
+        }
+        System.out.printf("read speedup %.1fx, upsert speedup %.1fx%n", perCall[1] / pooled[1], perCall[0] / pooled[0]);
+    }
+
+    /** Returns {micros per upsert, micros per point read}. */
+    private static double[] run(String label, DatabaseConnector connector) {
+        DatabaseHelper helper = new DatabaseHelper(connector);
+        List<Dog> dogs = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            dogs.add(new Dog("Dog" + i, "Bloodhound", "male", "3", "50",
+                    "01/01/2022", "United States", "intake", false, null));
+        }
+
+        long start = System.nanoTime();
+        dogs.forEach(helper::addOrUpdateAnimal);
+        double upsertMicros = (System.nanoTime() - start) / 1e3 / ROWS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < READS; i++) {
+            assertNotNull(helper.getAnimalById(dogs.get(i % ROWS).getUniqueId()));
+        }
+        double readMicros = (System.nanoTime() - start) / 1e3 / READS;
+
+        System.out.printf("%-14s upsert %8.1f us/op   point read %8.1f us/op   %s%n",
+                label, upsertMicros, readMicros, helper.getStatementCacheStats());
+        return new double[]{upsertMicros, readMicros};
+    }
+}
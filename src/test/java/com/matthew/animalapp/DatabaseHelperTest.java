@@ -0,0 +1,220 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseHelperTest {
+
+    @TempDir
+    Path tempDir;
+
+    DatabaseHelper helper;
+
+    @BeforeEach
+    void setup() {
+        helper = new DatabaseHelper(new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+    }
+
+    @Test
+    void testRoundTripDogAndMonkey() {
+        Dog dog = new Dog("Rex", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "in service", true, "Canada");
+        Monkey monkey = new Monkey("George", "Capuchin", "male", "5", "30",
+                "01/01/2020", "Mexico", "Phase II", false, null, 12.5, 24.0, 18.0);
+        helper.addOrUpdateAnimal(dog);
+        helper.addOrUpdateAnimal(monkey);
+
+        Dog loadedDog = (Dog) helper.getAnimalById(dog.getUniqueId());
+        assertEquals("Bloodhound", loadedDog.getBreed());
+        assertTrue(loadedDog.isReserved());
+        assertEquals("Canada", loadedDog.getInServiceCountry());
+        Monkey loadedMonkey = (Monkey) helper.getAnimalById(monkey.getUniqueId());
+        assertEquals("Phase II", loadedMonkey.getTrainingStatus());
+        assertEquals(12.5, loadedMonkey.getTailLength());
+        assertEquals(2, helper.listAnimals().size());
+    }
+
+    @Test
+    void testSaveBatchWritesUpsertsAndDeletes() {
+        Dog keep = new Dog("Keep", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        Dog drop = new Dog("Drop", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        helper.saveBatch(List.of(keep, drop), List.of());
+        keep.advanceTrainingOneStep();
+        helper.saveBatch(List.of(keep), List.of(drop.getUniqueId()));
+
+        List<RescueAnimal> all = helper.listAnimals();
+        assertEquals(1, all.size());
+        assertEquals("Phase I", all.get(0).getTrainingStatus());
+    }
+
+    @Test
+    void testQueryFiltersInTheDatabase() {
+        Dog available = new Dog("Rex", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "in service", false, "Canada");
+        Dog reserved = new Dog("Rover", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "Canada", "in service", true, "Canada");
+        Dog intake = new Dog("Max", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        Monkey monkey = new Monkey("Rocky", "Capuchin", "male", "5", "30",
+                "01/01/2020", "Mexico", "in service", false, "Canada", 12.5, 24.0, 18.0);
+        helper.saveBatch(List.of(available, reserved, intake, monkey), List.of());
+
+        List<RescueAnimal> dogsForService = helper.query(AnimalQuery.all().type("Dog")
+                .statuses(RescueAnimal.TrainingStatus.IN_SERVICE).reserved(false));
+        assertEquals(List.of(available), dogsForService);
+        assertEquals(3, helper.count(AnimalQuery.all().nameStartsWith("r")));
+        assertEquals(2, helper.count(AnimalQuery.all().acquisitionCountries("united states", "Mexico")
+                .statuses(RescueAnimal.TrainingStatus.IN_SERVICE, RescueAnimal.TrainingStatus.INTAKE)
+                .type("dog")));
+        assertEquals(0, helper.count(AnimalQuery.all().nameStartsWith("R_")));
+        assertEquals(3, helper.count(AnimalQuery.all().inServiceCountries("CANADA")));
+        assertEquals(List.of(reserved, monkey), helper.query(AnimalQuery.all().names(List.of(" rocky", "ROVER", "Ro"))));
+    }
+
+    @Test
+    void testQueryPagesInInsertionOrder() {
+        List<RescueAnimal> dogs = new java.util.ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            dogs.add(new Dog("Dog" + i, "Bloodhound", "male", "3", "50",
+                    "01/01/2022", "United States", "intake", false, null));
+        }
+        helper.saveBatch(dogs, List.of());
+
+        assertEquals(dogs.subList(0, 2), helper.query(AnimalQuery.all().limit(2)));
+        assertEquals(dogs.subList(2, 4), helper.query(AnimalQuery.all().limit(2).offset(2)));
+        assertEquals(dogs.subList(3, 5), helper.query(AnimalQuery.all().offset(3)));
+        assertEquals(5, helper.count(AnimalQuery.all().limit(1)));
+    }
+
+    @Test
+    void testProjectReturnsOnlyRequestedColumns() {
+        Dog dog = new Dog("Rex", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "in service", true, "Canada");
+        helper.addOrUpdateAnimal(dog);
+
+        List<Map<AnimalQuery.Column, Object>> rows = helper.project(AnimalQuery.all(),
+                AnimalQuery.Column.ID, AnimalQuery.Column.NAME, AnimalQuery.Column.RESERVED);
+        assertEquals(1, rows.size());
+        Map<AnimalQuery.Column, Object> row = rows.get(0);
+        assertEquals(3, row.size());
+        assertEquals(dog.getUniqueId(), row.get(AnimalQuery.Column.ID));
+        assertEquals("Rex", row.get(AnimalQuery.Column.NAME));
+        assertEquals(Boolean.TRUE, row.get(AnimalQuery.Column.RESERVED));
+    }
+
+    @Test
+    void testFakeHelperAnswersQueriesTheSameWay() {
+        FakeDatabaseHelper fake = new FakeDatabaseHelper();
+        Dog rex = new Dog("Rex", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "in service", false, "Canada");
+        Dog max = new Dog("Max", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        for (AnimalStorage h : List.of(helper, fake)) {
+            h.saveBatch(List.of(rex, max), List.of());
+            AnimalQuery query = AnimalQuery.all().type("dog").nameStartsWith("RE");
+            assertEquals(List.of(rex), h.query(query));
+            assertEquals(1, h.count(query));
+            assertEquals(List.of(max), h.query(AnimalQuery.all().names(List.of("max "))));
+            assertEquals("in service",
+                    h.project(query, AnimalQuery.Column.TRAINING_STATUS).get(0).get(AnimalQuery.Column.TRAINING_STATUS));
+        }
+    }
+
+    @Test
+    void testAgeWeightAndDateRangesUseTypedColumns() {
+        FakeDatabaseHelper fake = new FakeDatabaseHelper();
+        Dog pup = new Dog("Pup", "Bloodhound", "male", "1", "20.5",
+                "03/15/2023", "United States", "intake", false, null);
+        Dog adult = new Dog("Adult", "Bloodhound", "male", "6", "70.0",
+                "06/01/2020", "United States", "intake", false, null);
+        Dog unknown = new Dog("Unknown", "Bloodhound", "male", "old", "heavy",
+                "sometime", "United States", "intake", false, null);
+        for (AnimalStorage h : List.of(helper, fake)) {
+            h.saveBatch(List.of(pup, adult, unknown), List.of());
+            assertEquals(List.of(pup), h.query(AnimalQuery.all().ageBetween(0, 2)));
+            assertEquals(List.of(adult), h.query(AnimalQuery.all().weightBetween(50, 100)));
+            assertEquals(List.of(pup), h.query(AnimalQuery.all()
+                    .acquiredBetween(LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31))));
+            assertEquals(2, h.count(AnimalQuery.all().ageBetween(0, 30)));
+            assertEquals(20.5, h.project(AnimalQuery.all().nameStartsWith("Pup"), AnimalQuery.Column.WEIGHT_LBS)
+                    .get(0).get(AnimalQuery.Column.WEIGHT_LBS));
+        }
+        assertEquals("heavy", helper.getAnimalById(unknown.getUniqueId()).getWeight());
+    }
+
+    @Test
+    void testLoadingReadsTheTypedColumns() throws SQLException {
+        DatabaseConnector connector = new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db"));
+        helper.saveBatch(List.of(
+                new Dog("RA-1", "Typed", "Bloodhound", "male", "3", "50.0", "01/02/2022",
+                        "United States", "intake", false, null),
+                new Dog("RA-2", "Odd", "Bloodhound", "male", " 12 ", "heavy", "2/3/2022",
+                        "United States", "intake", false, null),
+                new Dog("RA-3", "ByHand", "Bloodhound", "male", "3", "50", "01/02/2022",
+                        "United States", "intake", false, null)), List.of());
+        try (Connection conn = connector.getConnection();
+             Statement stmt = conn.createStatement()) {
+            // the typed column wins over the text, which is kept as written
+            stmt.execute("UPDATE animals SET ageYears = 7 WHERE id = 'RA-1'");
+            // written without the typed columns: the text is parsed
+            stmt.execute("UPDATE animals SET ageYears = NULL, weightLbs = NULL, acquisitionDay = NULL"
+                    + " WHERE id = 'RA-3'");
+        }
+
+        RescueAnimal typed = helper.getAnimalById("RA-1");
+        assertEquals(7, typed.getAgeYears());
+        assertEquals("3", typed.getAge());
+        assertEquals("50.0", typed.getWeight());
+        assertEquals((int) LocalDate.of(2022, 1, 2).toEpochDay(), typed.getAcquisitionEpochDay());
+
+        RescueAnimal odd = helper.getAnimalById("RA-2");
+        assertEquals(12, odd.getAgeYears());
+        assertEquals(" 12 ", odd.getAge());
+        assertTrue(Double.isNaN(odd.getWeightLbs()));
+        assertEquals("heavy", odd.getWeight());
+        assertEquals("2/3/2022", odd.getAcquisitionDate());
+
+        RescueAnimal byHand = helper.getAnimalById("RA-3");
+        assertEquals(3, byHand.getAgeYears());
+        assertEquals(50.0, byHand.getWeightLbs());
+        assertEquals("50", byHand.getWeight());
+        assertEquals((int) LocalDate.of(2022, 1, 2).toEpochDay(), byHand.getAcquisitionEpochDay());
+    }
+
+    @Test
+    void testDictionaryValuesAndOtherTextRoundTrip() {
+        FakeDatabaseHelper fake = new FakeDatabaseHelper();
+        Dog coded = new Dog("Coded", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "Canada", "in service", false, "Mexico");
+        Dog legacy = new Dog("Legacy", "Labrador", "male", "3", "50",
+                "01/01/2022", "USA", "intake", false, null);
+        for (AnimalStorage h : List.of(helper, fake)) {
+            h.saveBatch(List.of(coded, legacy), List.of());
+            assertEquals(List.of(coded), h.query(AnimalQuery.all().acquisitionCountries("CANADA", "Peru")));
+            assertEquals(List.of(legacy), h.query(AnimalQuery.all().acquisitionCountries("usa")));
+            assertEquals(List.of(coded), h.query(AnimalQuery.all().inServiceCountries("mexico")));
+            List<Map<AnimalQuery.Column, Object>> rows = h.project(AnimalQuery.all(),
+                    AnimalQuery.Column.BREED, AnimalQuery.Column.ACQUISITION_COUNTRY);
+            assertEquals("Bloodhound", rows.get(0).get(AnimalQuery.Column.BREED));
+            assertEquals("Labrador", rows.get(1).get(AnimalQuery.Column.BREED));
+            assertEquals("USA", rows.get(1).get(AnimalQuery.Column.ACQUISITION_COUNTRY));
+        }
+        Dog loaded = (Dog) helper.getAnimalById(legacy.getUniqueId());
+        assertEquals("Labrador", loaded.getBreed());
+        assertEquals("USA", loaded.getAcquisitionCountry());
+        assertEquals("Mexico", helper.getAnimalById(coded.getUniqueId()).getInServiceCountry());
+    }
+}
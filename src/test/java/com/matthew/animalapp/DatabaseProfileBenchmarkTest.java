@@ -0,0 +1,66 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Write and read throughput of DatabaseHelper on a file DB for each DatabaseProfile,
+ * using single-row upserts (one transaction each, like the console app) and batched saves.
+ */
+@Tag("benchmark")
+class DatabaseProfileBenchmarkTest {
+    static final int SINGLE_ROWS = 1_000;
+    static final int BATCH_ROWS = 20_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testThroughputPerProfile() {
+        System.out.printf("%-10s %16s %16s %16s%n", "profile", "upserts/sec", "batch rows/sec", "reads/sec");
+        for (DatabaseProfile profile : DatabaseProfile.values()) {
+            String url = "jdbc:sqlite:" + tempDir.resolve(profile.label() + ".db");
+            try (PooledDatabaseConnector connector = new PooledDatabaseConnector(url, profile)) {
+                DatabaseHelper helper = new DatabaseHelper(connector);
+
+                List<Dog> dogs = newDogs(SINGLE_ROWS);
+                long start = System.nanoTime();
+                dogs.forEach(helper::addOrUpdateAnimal);
+                double upserts = SINGLE_ROWS / seconds(start);
+
+                List<RescueAnimal> batch = new ArrayList<>(newDogs(BATCH_ROWS));
+                start = System.nanoTime();
+                helper.saveBatch(batch, List.of());
+                double batchRows = BATCH_ROWS / seconds(start);
+
+                start = System.nanoTime();
+                for (Dog d : dogs) {
+                    assertNotNull(helper.getAnimalById(d.getUniqueId()));
+                }
+                double reads = SINGLE_ROWS / seconds(start);
+
+                System.out.printf("%-10s %,16.0f %,16.0f %,16.0f%n", profile.label(), upserts, batchRows, reads);
+            }
+        }
+    }
+
+    private static List<Dog> newDogs(int count) {
+        List<Dog> dogs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dogs.add(new Dog("Dog" + i, "Bloodhound", "male", "3", "50",
+                    "01/01/2022", "United States", "intake", false, null));
+        }
+        return dogs;
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+}
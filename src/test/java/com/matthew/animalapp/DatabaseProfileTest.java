@@ -0,0 +1,57 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseProfileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testParseAcceptsLabelsAndNames() {
+        assertEquals(DatabaseProfile.BULK_LOAD, DatabaseProfile.parse("bulk-load"));
+        assertEquals(DatabaseProfile.BULK_LOAD, DatabaseProfile.parse(" BULK_LOAD "));
+        assertEquals(DatabaseProfile.BALANCED, DatabaseProfile.parse("Balanced"));
+        assertThrows(IllegalArgumentException.class, () -> DatabaseProfile.parse("fast"));
+    }
+
+    @Test
+    void testBalancedProfileIsAppliedToEveryConnection() throws SQLException {
+        DatabaseConnector connector = new DatabaseConnector(
+                "jdbc:sqlite:" + tempDir.resolve("balanced.db"), DatabaseProfile.BALANCED);
+        for (int i = 0; i < 2; i++) {
+            try (Connection conn = connector.getConnection()) {
+                assertEquals("wal", pragma(conn, "journal_mode"));
+                assertEquals("1", pragma(conn, "synchronous")); // NORMAL
+                assertEquals("2", pragma(conn, "temp_store"));  // MEMORY
+                assertEquals("-16000", pragma(conn, "cache_size"));
+            }
+        }
+    }
+
+    @Test
+    void testDurableProfileKeepsSqliteDefaults() throws SQLException {
+        DatabaseConnector connector = new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("durable.db"));
+        assertEquals(DatabaseProfile.DURABLE, connector.getProfile());
+        try (Connection conn = connector.getConnection()) {
+            assertEquals("delete", pragma(conn, "journal_mode"));
+            assertEquals("2", pragma(conn, "synchronous")); // FULL
+        }
+    }
+
+    private static String pragma(Connection conn, String name) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("PRAGMA " + name)) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdAllocatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    DatabaseHelper helper;
+
+    @BeforeEach
+    void setup() {
+        helper = new DatabaseHelper(new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+    }
+
+    @Test
+    void testNumbersComeFromReservedBlocks() {
+        IdAllocator ids = new IdAllocator(helper, 10);
+        for (int expected = 1; expected <= 25; expected++) {
+            assertEquals(expected, ids.getAsInt());
+        }
+        assertEquals(31, helper.reserveIdBlock(1)); // three blocks of ten were taken
+    }
+
+    @Test
+    void testTwoAllocatorsOnOneDatabaseNeverOverlap() {
+        // like two app instances sharing animals.db
+        DatabaseHelper otherProcess = new DatabaseHelper(
+                new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+        IdAllocator a = new IdAllocator(helper, 5);
+        IdAllocator b = new IdAllocator(otherProcess, 5);
+        Set<Integer> seen = new java.util.HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(seen.add(a.getAsInt()));
+            assertTrue(seen.add(b.getAsInt()));
+        }
+    }
+
+    @Test
+    void testConcurrentCallersGetUniqueNumbers() throws InterruptedException {
+        IdAllocator ids = new IdAllocator(helper, 7);
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    assertTrue(seen.add(ids.getAsInt()));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(4000, seen.size());
+    }
+
+    @Test
+    void testSequenceSkipsPastIdsInsertedFromElsewhere() {
+        helper.addOrUpdateAnimal(new Dog("RA-700", "Imported", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null));
+        assertEquals(701, new IdAllocator(helper, 10).getAsInt());
+    }
+
+    @Test
+    void testSequenceStartsPastExistingIdsWhenAdded() {
+        // a database from before the sequence table existed
+        helper.addOrUpdateAnimal(new Dog("RA-41", "Old", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null));
+        DatabaseHelper reopened = new DatabaseHelper(
+                new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+        assertEquals(42, new IdAllocator(reopened, 10).getAsInt());
+    }
+
+    @Test
+    void testAdvancePastDropsTheCurrentBlock() {
+        IdAllocator ids = new IdAllocator(helper, 100);
+        assertEquals(1, ids.getAsInt());
+        ids.advancePast(500);
+        assertEquals(501, ids.getAsInt());
+    }
+
+    @Test
+    void testEachManagerHandsOutIdsFromItsOwnDatabase() {
+        DatabaseHelper other = new DatabaseHelper(
+                new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("other.db")));
+        other.addOrUpdateAnimal(new Dog("RA-300", "Elsewhere", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null));
+        try (AnimalManager manager = new AnimalManager(helper, ManagerOptions.defaults().idBlockSize(10));
+             AnimalManager opened = new AnimalManager(other, ManagerOptions.defaults().idBlockSize(10))) {
+            assertEquals("RA-1", manager.newAnimalId()); // opening the other manager didn't take over
+            assertEquals("RA-301", opened.newAnimalId());
+            Dog dog = new Dog(manager.newAnimalId(), "Rex", "Bloodhound", "male", "3", "50",
+                    "01/01/2022", "United States", "intake", false, null);
+            assertEquals("RA-2", dog.getUniqueId());
+            assertTrue(manager.addAnimal(dog));
+        }
+        assertEquals(11, helper.reserveIdBlock(1));
+        assertEquals(311, other.reserveIdBlock(1));
+    }
+}
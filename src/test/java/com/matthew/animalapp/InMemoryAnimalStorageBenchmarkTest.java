@@ -0,0 +1,65 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AnimalManager against a simulated slow disk (InMemoryAnimalStorage with 2 ms +/- 1 ms per write):
+ * a write per change versus write-behind batching, and how write-behind copes with failing writes.
+ */
+@Tag("benchmark")
+class InMemoryAnimalStorageBenchmarkTest {
+    static final int CHANGES = 2_000;
+
+    private static InMemoryAnimalStorage slowDisk() {
+        return new InMemoryAnimalStorage(1).writeLatency(Duration.ofMillis(2), Duration.ofMillis(1));
+    }
+
+    @Test
+    void testWriteBehindOnSlowDisk() {
+        double direct = changesPerSecond(slowDisk(), ManagerOptions.defaults(), 0);
+        double batched = changesPerSecond(slowDisk(), ManagerOptions.defaults().writeBehind(500, Duration.ofMillis(200)), 0);
+        System.out.printf("slow disk: %,.0f changes/sec direct, %,.0f changes/sec write-behind (%.1fx)%n",
+                direct, batched, batched / direct);
+        assertTrue(batched > direct, "write-behind should hide per-write latency");
+    }
+
+    @Test
+    void testWriteBehindRetriesThroughFailures() {
+        InMemoryAnimalStorage helper = slowDisk();
+        double rate = changesPerSecond(helper, ManagerOptions.defaults().writeBehind(200, Duration.ofMillis(50)), 0.2);
+        helper.failureRate(0);
+        try (AnimalManager manager = new AnimalManager(helper)) {
+            assertEquals(CHANGES, manager.listAll().size());
+        }
+        System.out.printf("20%% failing writes: %,.0f changes/sec write-behind, %d injected failures%n",
+                rate, helper.getInjectedFailureCount());
+    }
+
+    /**
+     * Adds CHANGES animals (created first, so their IDs are reserved before writes start failing)
+     * and flushes; returns changes per second including the final flush.
+     */
+    private static double changesPerSecond(InMemoryAnimalStorage helper, ManagerOptions options, double failureRate) {
+        try (AnimalManager manager = new AnimalManager(helper, options)) {
+            List<RescueAnimal> animals = new AnimalGenerator(3, ReferenceData.defaults()).generate(CHANGES);
+            helper.failureRate(failureRate);
+            long start = System.nanoTime();
+            animals.forEach(manager::addAnimal);
+            while (true) {
+                try {
+                    manager.flush();
+                    break;
+                } catch (RuntimeException e) {
+                    // injected failure: the batch stays queued, try again
+                }
+            }
+            return CHANGES / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryAnimalStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Dog dog(String id, String name) {
+        return new Dog(id, name, "Bloodhound", "male", "3", "55.0",
+                "01/15/2024", "United States", "intake", false, null);
+    }
+
+    @Test
+    void testRowsAreCopiesUntilSaved() {
+        InMemoryAnimalStorage helper = new InMemoryAnimalStorage();
+        Dog rex = dog("RA-1", "Rex");
+        helper.addOrUpdateAnimal(rex);
+
+        rex.setName("Changed");
+        assertEquals("Rex", helper.getAnimalById("RA-1").getName());
+        assertNotSame(helper.getAnimalById("RA-1"), helper.getAnimalById("RA-1"));
+
+        helper.addOrUpdateAnimal(rex);
+        assertEquals("Changed", helper.getAnimalById("RA-1").getName());
+        assertEquals(2, helper.getChangeCounter());
+    }
+
+    @Test
+    void testUpsertKeepsRowidAndQueriesPageInRowidOrder() {
+        InMemoryAnimalStorage helper = new InMemoryAnimalStorage();
+        helper.saveBatch(List.of(dog("RA-1", "Ace"), dog("RA-2", "Bo"), dog("RA-3", "Cy")), List.of());
+        helper.addOrUpdateAnimal(dog("RA-1", "Ace II"));
+        helper.deleteAnimal("RA-2");
+        helper.addOrUpdateAnimal(dog("RA-4", "Di"));
+
+        assertEquals(List.of("Ace II", "Cy", "Di"), helper.listAnimals().stream().map(RescueAnimal::getName).toList());
+        assertEquals(List.of("Cy"), helper.query(AnimalQuery.all().offset(1).limit(1)).stream()
+                .map(RescueAnimal::getName).toList());
+        assertArrayEquals(new long[]{1, 4}, helper.rowidRange());
+        List<String> slice = new ArrayList<>();
+        assertEquals(1, helper.streamAnimals(2, 3, a -> slice.add(a.getName()))); // rowid 2 was deleted
+        assertEquals(List.of("Cy"), slice);
+        assertEquals(4, helper.maxAnimalNumber());
+    }
+
+    @Test
+    void testIdSequenceSkipsInsertedNumbers() {
+        InMemoryAnimalStorage helper = new InMemoryAnimalStorage();
+        assertEquals(1, helper.reserveIdBlock(10));
+        helper.addOrUpdateAnimal(dog("RA-50", "Rex"));
+        assertEquals(51, helper.reserveIdBlock(5));
+        helper.deleteAnimal("RA-50");
+        assertEquals(56, helper.reserveIdBlock(1));
+        helper.advanceIdSequencePast(100);
+        assertEquals(101, helper.reserveIdBlock(1));
+    }
+
+    @Test
+    void testInjectedFailureLeavesBatchUnapplied() {
+        InMemoryAnimalStorage helper = new InMemoryAnimalStorage();
+        helper.addOrUpdateAnimal(dog("RA-1", "Rex"));
+        helper.failNextWrites(1);
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> helper.saveBatch(List.of(dog("RA-2", "Ace")), List.of("RA-1")));
+        assertInstanceOf(SQLException.class, e.getCause());
+        assertNotNull(helper.getAnimalById("RA-1"));
+        assertNull(helper.getAnimalById("RA-2"));
+        assertEquals(1, helper.getInjectedFailureCount());
+
+        helper.saveBatch(List.of(dog("RA-2", "Ace")), List.of()); // only the next write failed
+        assertNotNull(helper.getAnimalById("RA-2"));
+    }
+
+    @Test
+    void testFailureRateIsSeededAndReadsNeverFail() {
+        InMemoryAnimalStorage first = new InMemoryAnimalStorage(9).failureRate(0.3);
+        InMemoryAnimalStorage second = new InMemoryAnimalStorage(9).failureRate(0.3);
+        StringBuilder a = new StringBuilder(), b = new StringBuilder();
+        for (int i = 1; i <= 200; i++) {
+            a.append(tryAdd(first, i) ? '+' : '-');
+            b.append(tryAdd(second, i) ? '+' : '-');
+        }
+        assertEquals(a.toString(), b.toString());
+        assertEquals(first.getInjectedFailureCount(), 200 - first.listAnimals().size());
+        assertTrue(first.getInjectedFailureCount() > 30 && first.getInjectedFailureCount() < 90,
+                "about 30% of 200 writes failed: " + first.getInjectedFailureCount());
+        assertThrows(IllegalArgumentException.class, () -> first.failureRate(1.5));
+    }
+
+    private static boolean tryAdd(InMemoryAnimalStorage helper, int n) {
+        try {
+            helper.addOrUpdateAnimal(dog(AnimalIds.format(n), "Dog " + n));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Test
+    void testWriteLatencyDelaysWritesOnly() {
+        InMemoryAnimalStorage helper = new InMemoryAnimalStorage()
+                .writeLatency(Duration.ofMillis(20), Duration.ofMillis(5));
+        long start = System.nanoTime();
+        helper.addOrUpdateAnimal(dog("RA-1", "Rex"));
+        long writeNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        helper.getAnimalById("RA-1");
+        long readNanos = System.nanoTime() - start;
+
+        assertTrue(writeNanos >= Duration.ofMillis(20).toNanos(), "write took " + writeNanos + " ns");
+        assertTrue(readNanos < Duration.ofMillis(20).toNanos(), "read took " + readNanos + " ns");
+    }
+
+    @Test
+    void testExportMatchesSqlite() throws IOException {
+        LocalDate asOf = LocalDate.now();
+        DatabaseHelper sqlite = new DatabaseHelper(new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db")));
+        InMemoryAnimalStorage memory = new InMemoryAnimalStorage();
+        new AnimalGenerator(11, ReferenceData.defaults()).asOf(asOf).writeTo(sqlite, 3_000, 700);
+        new AnimalGenerator(11, ReferenceData.defaults()).asOf(asOf).writeTo(memory, 3_000, 700);
+        sqlite.deleteAnimal("RA-10");
+        memory.deleteAnimal("RA-10");
+
+        for (AnimalQuery query : List.of(AnimalQuery.all(),
+                AnimalQuery.all().type("monkey").statuses(RescueAnimal.TrainingStatus.IN_SERVICE).reserved(false),
+                AnimalQuery.all().ageBetween(3, 6).offset(5).limit(40))) {
+            assertEquals(export(sqlite, query), export(memory, query));
+            assertEquals(sqlite.count(query), memory.count(query));
+        }
+    }
+
+    private static String export(AnimalStorage helper, AnimalQuery query) throws IOException {
+        StringWriter out = new StringWriter();
+        new AnimalExporter(helper).fetchSize(64).export(query, RecordFormat.CSV, out);
+        return out.toString();
+    }
+
+    @Test
+    void testManagerReloadsWhatWasSaved() {
+        InMemoryAnimalStorage helper = new InMemoryAnimalStorage();
+        String id;
+        try (AnimalManager manager = new AnimalManager(helper)) {
+            Dog rex = new Dog("Rex", "Bloodhound", "male", "3", "55.0",
+                    "01/15/2024", "United States", "Phase V", false, null);
+            assertTrue(manager.addAnimal(rex));
+            manager.advanceTraining(rex.getUniqueId());
+            id = rex.getUniqueId();
+        }
+        try (AnimalManager manager = new AnimalManager(helper, ManagerOptions.defaults().loadThreads(4))) {
+            assertEquals(RescueAnimal.TrainingStatus.IN_SERVICE, manager.getAnimalById(id).getTrainingStatusEnum());
+            assertEquals(1, manager.listAll().size());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntAnimalMapTest {
+
+    private static Dog dog(String name) {
+        return new Dog(name, "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+    }
+
+    @Test
+    void testPutGetRemove() {
+        IntAnimalMap map = new IntAnimalMap();
+        Dog rex = dog("Rex");
+        assertNull(map.putIfAbsent(7, rex));
+        assertSame(rex, map.get(7));
+        assertSame(rex, map.putIfAbsent(7, dog("Other")));
+        assertEquals(1, map.size());
+        assertSame(rex, map.remove(7));
+        assertNull(map.get(7));
+        assertNull(map.remove(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void testEdgeKeys() {
+        IntAnimalMap map = new IntAnimalMap();
+        Dog zero = dog("Zero");
+        Dog max = dog("Max");
+        map.putIfAbsent(0, zero);
+        map.putIfAbsent(Integer.MAX_VALUE, max);
+        assertSame(zero, map.get(0));
+        assertSame(max, map.get(Integer.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE, map.maxKey());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    void testRemoveOnlyMatchingAnimal() {
+        IntAnimalMap map = new IntAnimalMap();
+        Dog rex = dog("Rex");
+        map.putIfAbsent(3, rex);
+        assertNull(map.remove(3, dog("Copy")));
+        assertSame(rex, map.get(3));
+        assertSame(rex, map.remove(3, rex));
+        assertEquals(-1, map.maxKey());
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomChurn() {
+        // exercises growth and the backward-shift delete across long probe runs
+        IntAnimalMap map = new IntAnimalMap();
+        Map<Integer, RescueAnimal> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertSame(expected.remove(key), map.remove(key));
+            } else {
+                Dog d = dog("D" + i);
+                assertSame(expected.putIfAbsent(key, d), map.putIfAbsent(key, d));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 5_000; key++) {
+            assertSame(expected.get(key), map.get(key));
+        }
+        List<RescueAnimal> values = new ArrayList<>();
+        map.copyValuesTo(values);
+        assertEquals(expected.size(), values.size());
+        assertTrue(values.containsAll(expected.values()));
+    }
+
+    @Test
+    void testReadersNeverMissStableKeysWhileWritersChurn() throws InterruptedException {
+        IntAnimalMap map = new IntAnimalMap();
+        Dog stable = dog("Stable");
+        for (int key = 0; key < 1_000; key += 2) map.putIfAbsent(key, stable);
+
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger misses = new AtomicInteger();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    for (int key = 0; key < 1_000; key += 2) {
+                        if (map.get(key) != stable) misses.incrementAndGet();
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        Dog churn = dog("Churn");
+        for (int round = 0; round < 200; round++) {
+            // odd keys only, so the stable even keys get shifted around but never removed
+            for (int key = 1 + 2 * round; key < 100_000; key += 2 * 97) map.putIfAbsent(key, churn);
+            for (int key = 1 + 2 * round; key < 100_000; key += 2 * 97) map.remove(key);
+        }
+        done.set(true);
+        for (Thread reader : readers) reader.join();
+        assertEquals(0, misses.get());
+    }
+}
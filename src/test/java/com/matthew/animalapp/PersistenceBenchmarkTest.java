@@ -0,0 +1,195 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end throughput and latency of DatabaseHelper on a file-backed animals database as it grows
+ * (10K, 100K and 1M rows by default): single-row upserts, point reads, full lists and deletes, each
+ * from one caller and from several at once. Runs only with {@code mvn test -Ppersistence}.
+ *
+ * <p>The database is the app's own setup (PooledDatabaseConnector with the animalapp.dbProfile
+ * profile, "durable" by default) and is grown in place between sizes. Each operation's latency is
+ * timed on its own; deleted rows are put back untimed so every size keeps its row count.
+ * The report is a fixed-order table with one line per (rows, callers, operation), written to
+ * persistence.report when that is set, so two releases' reports can be diffed line by line.
+ * Override the sizes with -Dpersistence.sizes=10000,100000 and the concurrent callers with
+ * -Dpersistence.threads=8.
+ */
+@Tag("persistence")
+class PersistenceBenchmarkTest {
+    static final int FILL_BATCH = 50_000;
+    static final int UPSERTS = 5_000;
+    static final int READS = 20_000;
+    static final int DELETES = 2_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPersistenceThroughputAndLatency() throws Exception {
+        int[] sizes = Arrays.stream(System.getProperty("persistence.sizes", "10000,100000,1000000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).sorted().toArray();
+        int threads = Integer.getInteger("persistence.threads", 4);
+        DatabaseProfile profile = DatabaseProfile.parse(System.getProperty("animalapp.dbProfile", "durable"));
+
+        List<String> report = new ArrayList<>();
+        report.add("# DatabaseHelper persistence benchmark (file-backed SQLite, profile " + profile.label() + ")");
+        report.add("# java " + System.getProperty("java.version") + ", " + Runtime.getRuntime().availableProcessors() + " cpus");
+        report.add(String.format("%-9s %-7s %-7s %9s %14s %12s %12s",
+                "rows", "callers", "op", "ops", "ops/sec", "p50 us", "p99 us"));
+
+        String url = "jdbc:sqlite:" + tempDir.resolve("animals.db");
+        try (PooledDatabaseConnector connector = new PooledDatabaseConnector(url, profile)) {
+            DatabaseHelper helper = new DatabaseHelper(connector);
+            int rows = 0;
+            for (int size : sizes) {
+                rows = fill(helper, rows, size);
+                for (int callers : new int[]{1, threads}) {
+                    report.add(run(helper, size, callers, "upsert", UPSERTS, PersistenceBenchmarkTest::upsert));
+                    report.add(run(helper, size, callers, "read", READS, PersistenceBenchmarkTest::read));
+                    report.add(run(helper, size, callers, "list", Math.max(3, 200_000 / size), PersistenceBenchmarkTest::list));
+                    report.add(run(helper, size, callers, "delete", Math.min(DELETES, size / 10), PersistenceBenchmarkTest::delete));
+                }
+                assertEquals(size, helper.count(AnimalQuery.all()), "row count after the " + size + " run");
+            }
+        }
+
+        report.forEach(System.out::println);
+        String reportFile = System.getProperty("persistence.report");
+        if (reportFile != null && !reportFile.isBlank()) {
+            write(Path.of(reportFile), report);
+        }
+    }
+
+    /** Saves rows RA-(from+1)..RA-to in batches and returns the new row count. */
+    private static int fill(DatabaseHelper helper, int from, int to) {
+        List<RescueAnimal> batch = new ArrayList<>(FILL_BATCH);
+        for (int n = from + 1; n <= to; n++) {
+            batch.add(animal(n, "intake"));
+            if (batch.size() == FILL_BATCH || n == to) {
+                helper.saveBatch(batch, List.of());
+                batch.clear();
+            }
+        }
+        helper.advanceIdSequencePast(to);
+        return to;
+    }
+
+    /** Alternating dogs and monkeys with fixed IDs, so every size holds the same animals. */
+    static RescueAnimal animal(int n, String status) {
+        String id = AnimalIds.format(n);
+        if (n % 2 == 0) {
+            return new Dog(id, "Dog " + n, "Bloodhound", "male", "3", "55.0",
+                    "01/15/2024", "United States", status, false, null);
+        }
+        return new Monkey(id, "Monkey " + n, "Capuchin", "female", "4", "12.5",
+                "02/01/2024", "Mexico", status, false, null, 20.0, 18.0, 16.0);
+    }
+
+    /** One timed call against a table of the given size; returns a row to put back afterwards, if any. */
+    interface Operation {
+        RescueAnimal call(DatabaseHelper helper, int rows, Random random, long[] latencies, int slot);
+    }
+
+    private static RescueAnimal upsert(DatabaseHelper helper, int rows, Random random, long[] latencies, int slot) {
+        RescueAnimal changed = animal(1 + random.nextInt(rows), "Phase I");
+        long start = System.nanoTime();
+        helper.addOrUpdateAnimal(changed);
+        latencies[slot] = System.nanoTime() - start;
+        return null;
+    }
+
+    private static RescueAnimal read(DatabaseHelper helper, int rows, Random random, long[] latencies, int slot) {
+        String id = AnimalIds.format(1 + random.nextInt(rows));
+        long start = System.nanoTime();
+        RescueAnimal found = helper.getAnimalById(id);
+        latencies[slot] = System.nanoTime() - start;
+        assertNotNull(found, id);
+        return null;
+    }
+
+    private static RescueAnimal list(DatabaseHelper helper, int rows, Random random, long[] latencies, int slot) {
+        long start = System.nanoTime();
+        int listed = helper.listAnimals().size();
+        latencies[slot] = System.nanoTime() - start;
+        assertEquals(rows, listed);
+        return null;
+    }
+
+    /** Deletes use the slot to pick distinct rows (callers get disjoint slots), so none is deleted twice. */
+    private static RescueAnimal delete(DatabaseHelper helper, int rows, Random random, long[] latencies, int slot) {
+        int n = 1 + (int) ((long) slot * rows / latencies.length);
+        long start = System.nanoTime();
+        helper.deleteAnimal(AnimalIds.format(n));
+        latencies[slot] = System.nanoTime() - start;
+        return animal(n, "intake");
+    }
+
+    /**
+     * Runs ops calls split across callers (each with its own slots in one latency array),
+     * restores anything deleted, and formats the report line.
+     */
+    private static String run(DatabaseHelper helper, int rows, int callers, String name, int ops,
+                              Operation op) throws Exception {
+        int perCaller = Math.max(1, ops / callers);
+        long[] latencies = new long[perCaller * callers];
+        List<RescueAnimal> restore = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Callable<List<RescueAnimal>>> tasks = new ArrayList<>();
+            for (int c = 0; c < callers; c++) {
+                int first = c * perCaller;
+                long seed = 31L * rows + 7L * callers + c;
+                tasks.add(() -> {
+                    Random random = new Random(seed);
+                    List<RescueAnimal> removed = new ArrayList<>();
+                    for (int slot = first; slot < first + perCaller; slot++) {
+                        RescueAnimal r = op.call(helper, rows, random, latencies, slot);
+                        if (r != null) removed.add(r);
+                    }
+                    return removed;
+                });
+            }
+            long start = System.nanoTime();
+            List<Future<List<RescueAnimal>>> results = pool.invokeAll(tasks);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            for (Future<List<RescueAnimal>> f : results) restore.addAll(f.get());
+            if (!restore.isEmpty()) helper.saveBatch(restore, List.of());
+
+            Arrays.sort(latencies);
+            return String.format("%-9d %-7d %-7s %9d %14.1f %12.1f %12.1f",
+                    rows, callers, name, latencies.length, latencies.length / seconds,
+                    percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Nearest-rank percentile of sorted values. */
+    static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static void write(Path file, List<String> lines) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+}
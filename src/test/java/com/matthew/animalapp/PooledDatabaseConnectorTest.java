@@ -0,0 +1,182 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledDatabaseConnectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    PooledDatabaseConnector pool;
+
+    @BeforeEach
+    void setup() {
+        pool = new PooledDatabaseConnector("jdbc:sqlite:" + tempDir.resolve("pool.db"), 2, Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testWriterConnectionIsReused() throws SQLException {
+        Connection first;
+        try (Connection c = pool.getConnection()) {
+            first = c.unwrap(Connection.class);
+        }
+        try (Connection c = pool.getConnection()) {
+            assertSame(first, c.unwrap(Connection.class));
+        }
+        assertEquals(1, pool.openConnectionCount());
+    }
+
+    @Test
+    void testOnlyOneWriterAtATime() throws SQLException {
+        try (Connection ignored = pool.getConnection()) {
+            assertThrows(RuntimeException.class, pool::getConnection);
+        }
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+    }
+
+    @Test
+    void testReadersAreBounded() throws SQLException {
+        Connection r1 = pool.getReadConnection();
+        Connection r2 = pool.getReadConnection();
+        assertThrows(RuntimeException.class, pool::getReadConnection);
+        r1.close();
+        try (Connection r3 = pool.getReadConnection()) {
+            assertFalse(r3.isClosed());
+        }
+        r2.close();
+        assertEquals(2, pool.openConnectionCount());
+    }
+
+    @Test
+    void testClosedHandleCannotBeUsed() throws SQLException {
+        Connection c = pool.getConnection();
+        c.close();
+        c.close(); // second close is harmless
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, c::createStatement);
+    }
+
+    @Test
+    void testAbandonedTransactionIsRolledBack() throws SQLException {
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE t (x INTEGER)");
+        }
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            c.setAutoCommit(false);
+            st.execute("INSERT INTO t VALUES (1)");
+            // returned without commit
+        }
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            assertTrue(c.getAutoCommit());
+            assertFalse(st.executeQuery("SELECT * FROM t").next());
+        }
+    }
+
+    @Test
+    void testBrokenConnectionIsReplaced() throws SQLException {
+        Connection physical;
+        try (Connection c = pool.getReadConnection()) {
+            physical = c.unwrap(Connection.class);
+        }
+        physical.close(); // simulate a connection that died while idle
+        try (Connection c = pool.getReadConnection()) {
+            assertNotSame(physical, c.unwrap(Connection.class));
+            assertTrue(c.isValid(1));
+        }
+    }
+
+    @Test
+    void testCloseReleasesEverything() throws SQLException {
+        try (Connection w = pool.getConnection(); Connection r = pool.getReadConnection()) {
+            assertEquals(2, pool.openConnectionCount());
+        }
+        pool.close();
+        assertEquals(0, pool.openConnectionCount());
+        assertThrows(IllegalStateException.class, pool::getConnection);
+    }
+
+    @Test
+    void testDatabaseHelperWorksThroughPool() {
+        DatabaseHelper helper = new DatabaseHelper(pool);
+        Dog dog = new Dog("Rex", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        helper.addOrUpdateAnimal(dog);
+        assertEquals("Rex", helper.getAnimalById(dog.getUniqueId()).getName());
+        assertEquals(1, helper.listAnimals().size());
+        helper.deleteAnimal(dog.getUniqueId());
+        assertNull(helper.getAnimalById(dog.getUniqueId()));
+    }
+
+    @Test
+    void testPreparedStatementsAreReused() {
+        DatabaseHelper helper = new DatabaseHelper(pool);
+        Dog dog = new Dog("Rex", "Bloodhound", "male", "3", "50",
+                "01/01/2022", "United States", "intake", false, null);
+        for (int i = 0; i < 10; i++) {
+            helper.addOrUpdateAnimal(dog);
+        }
+        StatementCacheStats stats = helper.getStatementCacheStats();
+        assertEquals(1, stats.getMisses());
+        assertEquals(9, stats.getHits());
+        assertEquals(0.9, stats.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    void testNestedUseOfSameSqlGetsSeparateStatements() throws SQLException {
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE t (x INTEGER)");
+            st.execute("INSERT INTO t VALUES (1), (2)");
+        }
+        try (Connection c = pool.getReadConnection();
+             PreparedStatement outer = c.prepareStatement("SELECT x FROM t WHERE x >= ?");
+             PreparedStatement inner = c.prepareStatement("SELECT x FROM t WHERE x >= ?")) {
+            outer.setInt(1, 1);
+            inner.setInt(1, 2);
+            ResultSet a = outer.executeQuery();
+            ResultSet b = inner.executeQuery();
+            assertTrue(a.next());
+            assertTrue(b.next());
+            assertEquals(1, a.getInt(1));
+            assertEquals(2, b.getInt(1));
+        }
+    }
+
+    @Test
+    void testUnclosedResultSetIsClosedOnStatementClose() throws SQLException {
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE t (x INTEGER)");
+            st.execute("INSERT INTO t VALUES (1), (2)");
+        }
+        ResultSet leaked;
+        try (Connection c = pool.getReadConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT x FROM t")) {
+            leaked = ps.executeQuery();
+            assertTrue(leaked.next());
+        }
+        assertTrue(leaked.isClosed());
+        // the reader no longer holds a read lock, so the writer can commit
+        try (Connection c = pool.getConnection(); Statement st = c.createStatement()) {
+            st.execute("INSERT INTO t VALUES (3)");
+        }
+    }
+}
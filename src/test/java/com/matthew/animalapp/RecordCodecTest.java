@@ -0,0 +1,54 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordCodecTest {
+
+    @Test
+    void testCsvQuotesAndEmptyFields() {
+        assertEquals(List.of("a", "", "b, c", "say \"hi\"", ""),
+                RecordCodec.parseCsvLine("a,,\"b, c\",\"say \"\"hi\"\"\","));
+        assertEquals(List.of(""), RecordCodec.parseCsvLine(""));
+        assertThrows(IllegalArgumentException.class, () -> RecordCodec.parseCsvLine("\"open"));
+        assertThrows(IllegalArgumentException.class, () -> RecordCodec.parseCsvLine("\"a\"b,c"));
+    }
+
+    @Test
+    void testCsvRecordCanContinueOnTheNextLine() {
+        assertTrue(RecordCodec.isCompleteCsvRecord("a,\"b, c\",\"say \"\"hi\"\"\""));
+        assertFalse(RecordCodec.isCompleteCsvRecord("a,\"two"));
+        assertTrue(RecordCodec.isCompleteCsvRecord("a,\"two\nlines\",b"));
+        assertFalse(RecordCodec.isCompleteCsvRecord("a,\"ends with \"\"")); // escaped quote, still open
+        assertTrue(RecordCodec.isCompleteCsvRecord("Rex \"the\" dog,b")); // quote inside an unquoted field
+        assertEquals(List.of("a", "two\nlines", "b"), RecordCodec.parseCsvLine("a,\"two\nlines\",b"));
+    }
+
+    @Test
+    void testJsonObjectValues() {
+        Map<String, String> row = RecordCodec.parseJsonObject(
+                " { \"name\" : \"R\\u00e9x \\\"2\\\"\", \"age\": 3, \"weight\":-1.5e2, \"reserved\":true, \"x\":null } ");
+        assertEquals(Map.of("name", "Réx \"2\"", "age", "3", "weight", "-1.5e2", "reserved", "true"), row);
+        assertEquals(Map.of(), RecordCodec.parseJsonObject("{}"));
+    }
+
+    @Test
+    void testMalformedJsonIsRejected() {
+        for (String bad : List.of("", "[]", "{\"a\":1", "{\"a\":1} x", "{\"a\":{}}", "{\"a\":tru}", "{a:1}")) {
+            assertThrows(IllegalArgumentException.class, () -> RecordCodec.parseJsonObject(bad), bad);
+        }
+    }
+
+    @Test
+    void testFormatFromFileName() {
+        assertEquals(RecordFormat.CSV, RecordFormat.forFile(Path.of("in/Transfer.CSV")));
+        assertEquals(RecordFormat.NDJSON, RecordFormat.forFile(Path.of("transfer.ndjson")));
+        assertEquals(RecordFormat.NDJSON, RecordFormat.forFile(Path.of("transfer.jsonl")));
+        assertThrows(IllegalArgumentException.class, () -> RecordFormat.forFile(Path.of("transfer.xml")));
+    }
+}
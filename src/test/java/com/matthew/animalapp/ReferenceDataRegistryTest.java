@@ -0,0 +1,174 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    DatabaseConnector connector;
+    DatabaseHelper helper;
+
+    @BeforeEach
+    void setup() {
+        connector = new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db"));
+        helper = new DatabaseHelper(connector);
+    }
+
+    @AfterEach
+    void restoreDefaults() {
+        ReferenceDataRegistry.shared().install(ReferenceData.defaults());
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection conn = connector.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    @Test
+    void testLookupsIgnoreCaseAndSpaces() {
+        ReferenceData data = ReferenceData.defaults();
+        assertEquals("Belgian Malinois", data.canonical(ReferenceData.Attribute.BREED, "  belgian MALINOIS "));
+        assertEquals("female", data.canonical(ReferenceData.Attribute.GENDER, "Female"));
+        assertNull(data.canonical(ReferenceData.Attribute.COUNTRY, "Peru"));
+        assertFalse(data.isAllowed(ReferenceData.Attribute.MONKEY_SPECIES, null));
+    }
+
+    @Test
+    void testDatabaseStartsWithTheBuiltInLists() {
+        ReferenceData loaded = helper.loadReferenceData();
+        for (ReferenceData.Attribute a : ReferenceData.Attribute.values()) {
+            assertEquals(ReferenceData.defaults().values(a), loaded.values(a), a.name());
+        }
+    }
+
+    @Test
+    void testRefreshOnlyReloadsWhenTheTableChanged() throws SQLException {
+        ReferenceDataRegistry registry = new ReferenceDataRegistry();
+        assertTrue(registry.refresh(helper));
+        ReferenceData first = registry.current();
+        assertFalse(registry.refresh(helper));
+        assertSame(first, registry.current());
+
+        execute("INSERT INTO reference_values (attribute, value, position) VALUES ('breed', 'Beagle', 4)");
+        assertTrue(registry.refresh(helper));
+        assertTrue(registry.current().getVersion() > first.getVersion());
+        assertEquals("Beagle", registry.current().canonical(ReferenceData.Attribute.BREED, "beagle"));
+        assertNull(first.canonical(ReferenceData.Attribute.BREED, "beagle")); // old snapshot is unchanged
+    }
+
+    @Test
+    void testPromptsUseTheSharedRegistry() throws SQLException {
+        execute("DELETE FROM reference_values WHERE attribute = 'country' AND value = 'Mexico'");
+        execute("INSERT INTO reference_values (attribute, value, position) VALUES ('country', 'Peru', 3)");
+        ReferenceDataRegistry.shared().refresh(helper);
+
+        Scanner scanner = new Scanner(new ByteArrayInputStream("mexico\nPERU\n".getBytes()));
+        assertEquals("Peru", Validation.readAcquisitionCountry(scanner));
+        assertEquals(List.of("United States", "Canada", "Peru"),
+                ReferenceDataRegistry.shared().current().values(ReferenceData.Attribute.COUNTRY));
+    }
+
+    @Test
+    void testAutoRefreshPicksUpChanges() throws Exception {
+        ReferenceDataRegistry registry = new ReferenceDataRegistry();
+        try (ReferenceDataRegistry.AutoRefresh ignored = registry.startAutoRefresh(helper, Duration.ofMillis(20))) {
+            execute("INSERT INTO reference_values (attribute, value, position) VALUES ('species', 'Howler', 6)");
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (!registry.current().isAllowed(ReferenceData.Attribute.MONKEY_SPECIES, "howler")) {
+                assertTrue(System.nanoTime() < deadline, "refresh never happened");
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    void testAddedValuesGetAStoredCode() throws SQLException {
+        helper.addOrUpdateAnimal(new Dog("RA-1", "Rex", "Beagle", "male", "3", "50", "01/01/2024",
+                "Peru", "intake", false, null));
+        assertEquals("Beagle", storedText("breed", "RA-1")); // not reference data yet
+
+        execute("INSERT INTO reference_values (attribute, value, position) VALUES ('breed', 'Beagle', 4)");
+        execute("INSERT INTO reference_values (attribute, value, position) VALUES ('country', 'Peru', 3)");
+        assertNull(storedText("breed", "RA-1"));
+        assertEquals(5, storedCode("breedCode", "RA-1"));
+        assertEquals(4, storedCode("acquisitionCountryCode", "RA-1"));
+        assertEquals("Beagle", ((Dog) helper.getAnimalById("RA-1")).getBreed()); // code added after load
+
+        helper.loadReferenceData();
+        helper.addOrUpdateAnimal(new Dog("RA-2", "Max", "Beagle", "male", "2", "40", "01/02/2024",
+                "Peru", "intake", false, null));
+        assertNull(storedText("breed", "RA-2"));
+        assertEquals(5, storedCode("breedCode", "RA-2"));
+        assertEquals(2, helper.count(AnimalQuery.all().acquisitionCountries("peru")));
+
+        // deleting the reference value keeps the code, so stored rows still read back
+        execute("DELETE FROM reference_values WHERE attribute = 'breed' AND value = 'Beagle'");
+        assertEquals("Beagle", ((Dog) new DatabaseHelper(connector).getAnimalById("RA-2")).getBreed());
+    }
+
+    @Test
+    void testEachDatabaseHasItsOwnCodes() throws SQLException {
+        DatabaseConnector other = new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("other.db"));
+        DatabaseHelper otherHelper = new DatabaseHelper(other);
+        try (Connection conn = other.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO reference_values (attribute, value, position) VALUES ('breed', 'Pug', 4)");
+        }
+        execute("INSERT INTO reference_values (attribute, value, position) VALUES ('breed', 'Beagle', 4)");
+        otherHelper.loadReferenceData();
+        helper.loadReferenceData();
+
+        otherHelper.addOrUpdateAnimal(new Dog("RA-1", "Rex", "Pug", "male", "3", "20", "01/01/2024",
+                "Canada", "intake", false, null));
+        helper.addOrUpdateAnimal(new Dog("RA-1", "Rex", "Beagle", "male", "3", "20", "01/01/2024",
+                "Canada", "intake", false, null));
+        assertEquals(5, storedCode("breedCode", "RA-1"));
+        assertEquals("Pug", ((Dog) otherHelper.getAnimalById("RA-1")).getBreed());
+        assertEquals("Beagle", ((Dog) helper.getAnimalById("RA-1")).getBreed());
+    }
+
+    private String storedText(String column, String id) throws SQLException {
+        try (Connection conn = connector.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + column + " FROM animals WHERE id = '" + id + "'")) {
+            assertTrue(rs.next());
+            return rs.getString(1);
+        }
+    }
+
+    private int storedCode(String column, String id) throws SQLException {
+        try (Connection conn = connector.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + column + " FROM animals WHERE id = '" + id + "'")) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void testUnknownAttributesInTheTableAreIgnored() throws SQLException {
+        execute("INSERT INTO reference_values (attribute, value, position) VALUES ('color', 'brown', 0)");
+        ReferenceData loaded = helper.loadReferenceData();
+        assertEquals(ReferenceData.defaults().values(ReferenceData.Attribute.BREED),
+                loaded.values(ReferenceData.Attribute.BREED));
+    }
+}
@@ -46,4 +46,37 @@ class RescueAnimalTest {
         assertNotEquals(d1, d2); // IDs are unique
         assertNotEquals(d1.hashCode(), d2.hashCode());
     }
+
+    @Test
+    void testTypedFieldsBehindStringViews() {
+        Dog d = new Dog("Rex", "Labrador", "male", "3", "55.5",
+                "02/29/2024", "United States", "intake", false, null);
+        assertEquals(3, d.getAgeYears());
+        assertEquals(55.5, d.getWeightLbs());
+        assertEquals(java.time.LocalDate.of(2024, 2, 29).toEpochDay(), d.getAcquisitionEpochDay());
+        assertEquals("3", d.getAge());
+        assertEquals("55.5", d.getWeight());
+        assertEquals("02/29/2024", d.getAcquisitionDate());
+
+        d.setAgeYears(4);
+        d.setWeightLbs(60);
+        assertEquals("4", d.getAge());
+        assertEquals("60.0", d.getWeight());
+    }
+
+    @Test
+    void testTextThatDoesNotRoundTripIsKeptAsGiven() {
+        Dog d = new Dog("Rex", "Labrador", "male", "3 years", "50",
+                "2/30/2022", "United States", "intake", false, null);
+        assertEquals("3 years", d.getAge());
+        assertEquals(RescueAnimal.UNKNOWN_AGE, d.getAgeYears());
+        assertEquals("50", d.getWeight());               // "50.0" would be the typed form
+        assertEquals(50.0, d.getWeightLbs());
+        assertEquals("2/30/2022", d.getAcquisitionDate());
+        assertEquals(RescueAnimal.UNKNOWN_DATE, d.getAcquisitionEpochDay());
+
+        d.setWeight(null);
+        assertNull(d.getWeight());
+        assertTrue(Double.isNaN(d.getWeightLbs()));
+    }
 }
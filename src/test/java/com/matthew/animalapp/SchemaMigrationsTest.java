@@ -0,0 +1,161 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigrationsTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DatabaseConnector connector() {
+        return new DatabaseConnector("jdbc:sqlite:" + tempDir.resolve("animals.db"));
+    }
+
+    @Test
+    void testNewDatabaseIsMigratedToLatestVersion() throws SQLException {
+        DatabaseHelper helper = new DatabaseHelper(connector());
+        assertEquals(SchemaMigrations.latestVersion(), helper.getSchemaVersion());
+        List<String> indexes = indexNames();
+        assertTrue(indexes.contains("idx_animals_type_status_reserved"));
+        assertTrue(indexes.contains("idx_animals_status_reserved"));
+        assertTrue(indexes.contains("idx_animals_name_nocase"));
+    }
+
+    @Test
+    void testMigratingTwiceIsHarmless() {
+        new DatabaseHelper(connector());
+        DatabaseHelper again = new DatabaseHelper(connector());
+        assertEquals(SchemaMigrations.latestVersion(), again.getSchemaVersion());
+    }
+
+    @Test
+    void testDatabaseFromBeforeMigrationsKeepsItsRows() throws SQLException {
+        // a file written by the original app: table present, user_version never set
+        try (Connection conn = connector().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE animals (id TEXT PRIMARY KEY, type TEXT NOT NULL, name TEXT, breed TEXT,"
+                    + " species TEXT, gender TEXT, age TEXT, weight TEXT, acquisitionDate TEXT,"
+                    + " acquisitionCountry TEXT, trainingStatus TEXT, reserved INTEGER, inServiceCountry TEXT,"
+                    + " tailLength REAL, height REAL, bodyLength REAL)");
+            stmt.execute("INSERT INTO animals (id, type, name, breed, gender, age, weight, acquisitionDate,"
+                    + " acquisitionCountry, trainingStatus, reserved) VALUES ('RA-1', 'Dog', 'Rex', 'Bloodhound',"
+                    + " 'male', '3', '50', '01/01/2022', 'United States', 'intake', 0)");
+        }
+
+        DatabaseHelper helper = new DatabaseHelper(connector());
+        assertEquals(SchemaMigrations.latestVersion(), helper.getSchemaVersion());
+        assertEquals("Rex", helper.getAnimalById("RA-1").getName());
+        Map<AnimalQuery.Column, Object> typed = helper.project(AnimalQuery.all(),
+                AnimalQuery.Column.AGE_YEARS, AnimalQuery.Column.WEIGHT_LBS, AnimalQuery.Column.ACQUISITION_DAY).get(0);
+        assertEquals(3, typed.get(AnimalQuery.Column.AGE_YEARS));
+        assertEquals(50.0, typed.get(AnimalQuery.Column.WEIGHT_LBS));
+        assertEquals((int) LocalDate.of(2022, 1, 1).toEpochDay(), typed.get(AnimalQuery.Column.ACQUISITION_DAY));
+
+        // fixed words moved to code columns; the text column only keeps other values
+        try (Connection conn = connector().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT breed, breedCode, acquisitionCountry, acquisitionCountryCode"
+                     + " FROM animals WHERE id = 'RA-1'")) {
+            assertTrue(rs.next());
+            assertNull(rs.getString("breed"));
+            assertEquals(4, rs.getInt("breedCode"));
+            assertNull(rs.getString("acquisitionCountry"));
+            assertEquals(1, rs.getInt("acquisitionCountryCode"));
+        }
+        assertEquals("Bloodhound", ((Dog) helper.getAnimalById("RA-1")).getBreed());
+        assertEquals("United States", helper.project(AnimalQuery.all(), AnimalQuery.Column.ACQUISITION_COUNTRY)
+                .get(0).get(AnimalQuery.Column.ACQUISITION_COUNTRY));
+    }
+
+    @Test
+    void testTypedColumnsFollowTheSameRulesAsTheApp() throws SQLException {
+        String[][] rows = {
+                {"3", "50", "01/01/2022"}, {" 12 ", "55.25", "12/31/1999"}, {"3 years", "heavy", "2/3/2022"},
+                {"-1", "5.", "02/30/2022"}, {"", "1.2.3", "13/01/2022"}, {null, null, null}};
+        try (Connection conn = connector().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE animals (id TEXT PRIMARY KEY, type TEXT NOT NULL, name TEXT, breed TEXT,"
+                    + " species TEXT, gender TEXT, age TEXT, weight TEXT, acquisitionDate TEXT,"
+                    + " acquisitionCountry TEXT, trainingStatus TEXT, reserved INTEGER, inServiceCountry TEXT,"
+                    + " tailLength REAL, height REAL, bodyLength REAL)");
+            for (int i = 0; i < rows.length; i++) {
+                stmt.execute("INSERT INTO animals (id, type, age, weight, acquisitionDate, trainingStatus, reserved)"
+                        + " VALUES ('RA-" + i + "', 'dog', " + quote(rows[i][0]) + ", " + quote(rows[i][1])
+                        + ", " + quote(rows[i][2]) + ", 'intake', 0)");
+            }
+        }
+        DatabaseHelper helper = new DatabaseHelper(connector());
+        List<Map<AnimalQuery.Column, Object>> typed = helper.project(AnimalQuery.all(), AnimalQuery.Column.AGE,
+                AnimalQuery.Column.AGE_YEARS, AnimalQuery.Column.WEIGHT_LBS, AnimalQuery.Column.ACQUISITION_DAY);
+        for (int i = 0; i < rows.length; i++) {
+            Dog inMemory = new Dog("x", "Bloodhound", "male", rows[i][0], rows[i][1], rows[i][2],
+                    "United States", "intake", false, null);
+            for (AnimalQuery.Column c : List.of(AnimalQuery.Column.AGE_YEARS, AnimalQuery.Column.WEIGHT_LBS,
+                    AnimalQuery.Column.ACQUISITION_DAY)) {
+                assertEquals(c.read(inMemory), typed.get(i).get(c), c + " of row " + i);
+            }
+        }
+    }
+
+    @Test
+    void testNewerSchemaIsRejected() throws SQLException {
+        try (Connection conn = connector().getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA user_version = " + (SchemaMigrations.latestVersion() + 1));
+        }
+        RuntimeException e = assertThrows(RuntimeException.class, () -> new DatabaseHelper(connector()));
+        assertTrue(e.getMessage().contains("newer"));
+    }
+
+    @Test
+    void testFilteredQueriesUseTheIndexes() throws SQLException {
+        new DatabaseHelper(connector());
+        assertTrue(queryPlan("SELECT * FROM animals WHERE type = 'Dog' AND trainingStatus = 'in service'"
+                + " AND reserved = 0").contains("idx_animals_type_status_reserved"));
+        assertTrue(queryPlan("SELECT * FROM animals WHERE trainingStatus = 'intake'")
+                .contains("idx_animals_status_reserved"));
+        assertTrue(queryPlan("SELECT * FROM animals WHERE name = 'rex' COLLATE NOCASE")
+                .contains("idx_animals_name_nocase"));
+        assertTrue(queryPlan("SELECT * FROM animals WHERE name LIKE 'Re%' ESCAPE '\\'")
+                .contains("idx_animals_name_nocase"));
+        assertTrue(queryPlan("SELECT * FROM animals WHERE acquisitionDay BETWEEN 18000 AND 19000")
+                .contains("idx_animals_acquisition_day"));
+    }
+
+    private static String quote(String s) {
+        return s == null ? "NULL" : "'" + s + "'";
+    }
+
+    private List<String> indexNames() throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Connection conn = connector().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type = 'index'")) {
+            while (rs.next()) names.add(rs.getString(1));
+        }
+        return names;
+    }
+
+    private String queryPlan(String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = connector().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) plan.append(rs.getString("detail")).append('\n');
+        }
+        return plan.toString();
+    }
+}
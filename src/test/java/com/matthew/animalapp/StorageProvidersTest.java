@@ -0,0 +1,72 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageProvidersTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Dog rex() {
+        return new Dog("Rex", "Bloodhound", "male", "3", "55.0",
+                "01/15/2024", "United States", "Phase V", false, null);
+    }
+
+    @Test
+    void testFindsBuiltInsIgnoringCase() {
+        assertEquals("sqlite", StorageProviders.forName(" SQLite ").name());
+        assertEquals("memory", StorageProviders.forName("memory").name());
+        assertEquals(StorageProviders.DEFAULT, StorageProviders.all().get(0).name());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> StorageProviders.forName("postgres"));
+        assertTrue(e.getMessage().contains("sqlite, memory"), e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> StorageProviders.forName(" "));
+    }
+
+    @Test
+    void testSqliteKeepsAnimalsBetweenOpens() {
+        String file = tempDir.resolve("animals.db").toString();
+        String id;
+        try (AnimalStorage storage = StorageProviders.open("sqlite", file)) {
+            assertInstanceOf(DatabaseHelper.class, storage);
+            try (AnimalManager manager = new AnimalManager(storage)) {
+                Dog rex = rex();
+                manager.addAnimal(rex);
+                manager.advanceTraining(rex.getUniqueId());
+                id = rex.getUniqueId();
+            }
+        }
+        try (AnimalStorage storage = StorageProviders.open("sqlite", "jdbc:sqlite:" + file);
+             AnimalManager manager = new AnimalManager(storage)) {
+            assertEquals(RescueAnimal.TrainingStatus.IN_SERVICE, manager.getAnimalById(id).getTrainingStatusEnum());
+        }
+    }
+
+    @Test
+    void testManagerBehavesTheSameOnEveryBackend() {
+        for (String name : new String[]{"sqlite", "memory"}) {
+            try (AnimalStorage storage = StorageProviders.open(name, tempDir.resolve(name + ".db").toString());
+                 AnimalManager manager = new AnimalManager(storage)) {
+                Dog rex = rex();
+                assertTrue(manager.addAnimal(rex), name);
+                manager.advanceTraining(rex.getUniqueId());
+                manager.reserveAnimal(rex.getUniqueId());
+
+                RescueAnimal stored = storage.getAnimalById(rex.getUniqueId());
+                assertTrue(stored.isReserved(), name);
+                assertEquals(1, storage.count(AnimalQuery.all().type("dog").reserved(true)), name);
+                assertEquals(1, manager.listByType("dog").size(), name);
+                assertTrue(manager.listAvailableForService("dog").isEmpty(), name);
+
+                assertTrue(manager.removeAnimal(rex.getUniqueId()), name);
+                assertNull(storage.getAnimalById(rex.getUniqueId()), name);
+            }
+        }
+    }
+}
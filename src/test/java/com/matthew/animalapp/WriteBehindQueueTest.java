@@ -0,0 +1,139 @@
+package com.matthew.animalapp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+
+    /** Records every batch instead of writing immediately; can be told to fail. */
+    static class RecordingHelper extends FakeDatabaseHelper {
+        final List<Integer> batchSizes = new ArrayList<>();
+        int singleWrites = 0;
+        volatile boolean failing = false;
+
+        @Override
+        public synchronized void addOrUpdateAnimal(RescueAnimal a) {
+            singleWrites++;
+            super.addOrUpdateAnimal(a);
+        }
+
+        @Override
+        public synchronized int saveBatch(Collection<RescueAnimal> upserts, Collection<String> deletes) {
+            if (failing) throw new RuntimeException("disk full");
+            batchSizes.add(upserts.size() + deletes.size());
+            long before = getChangeCounter();
+            upserts.forEach(super::addOrUpdateAnimal);
+            deletes.forEach(super::deleteAnimal);
+            return (int) (getChangeCounter() - before);
+        }
+    }
+
+    RecordingHelper helper;
+    AnimalManager manager;
+
+    @BeforeEach
+    void setup() {
+        helper = new RecordingHelper();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) manager.close();
+    }
+
+    @Test
+    void testChangesAreCoalescedUntilFlush() {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().writeBehind(100, Duration.ofMinutes(5)));
+        Dog dog = newDog("intake");
+        manager.addAnimal(dog);
+        for (int i = 0; i < 6; i++) {
+            manager.advanceTraining(dog.getUniqueId());
+        }
+        manager.reserveAnimal(dog.getUniqueId());
+        assertNull(helper.getAnimalById(dog.getUniqueId()), "nothing written before the flush");
+
+        manager.flush();
+        assertEquals(List.of(1), helper.batchSizes);
+        assertEquals(0, helper.singleWrites);
+        assertTrue(helper.getAnimalById(dog.getUniqueId()).isReserved());
+    }
+
+    @Test
+    void testDeleteReplacesPendingSave() {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().writeBehind(100, Duration.ofMinutes(5)));
+        Dog dog = newDog("intake");
+        manager.addAnimal(dog);
+        manager.removeAnimal(dog.getUniqueId());
+        manager.flush();
+        assertEquals(List.of(1), helper.batchSizes);
+        assertTrue(helper.listAnimals().isEmpty());
+    }
+
+    @Test
+    void testBatchSizeTriggersFlush() throws Exception {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().writeBehind(10, Duration.ofMinutes(5)));
+        for (int i = 0; i < 10; i++) {
+            manager.addAnimal(newDog("intake"));
+        }
+        waitFor(() -> helper.listAnimals().size() == 10);
+        assertEquals(10, helper.batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void testMaxStalenessTriggersFlush() throws Exception {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().writeBehind(1000, Duration.ofMillis(50)));
+        Dog dog = newDog("intake");
+        long start = System.nanoTime();
+        manager.addAnimal(dog);
+        waitFor(() -> helper.getAnimalById(dog.getUniqueId()) != null);
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void testFailedFlushKeepsChangesQueued() {
+        WriteBehindQueue queue = new WriteBehindQueue(helper, 100, Duration.ofMinutes(5));
+        Dog dog = newDog("intake");
+        queue.markDirty(dog);
+        helper.failing = true;
+        assertThrows(RuntimeException.class, queue::flush);
+        assertEquals(1, queue.pendingCount());
+
+        helper.failing = false;
+        queue.close();
+        assertEquals(0, queue.pendingCount());
+        assertNotNull(helper.getAnimalById(dog.getUniqueId()));
+        assertThrows(IllegalStateException.class, () -> queue.markDirty(dog));
+    }
+
+    @Test
+    void testCloseFlushesEverything() {
+        manager = new AnimalManager(helper, ManagerOptions.defaults().writeBehind(1000, Duration.ofMinutes(5)));
+        for (int i = 0; i < 25; i++) {
+            manager.addAnimal(newDog("in service"));
+        }
+        manager.close();
+        manager.close(); // idempotent
+        assertEquals(25, helper.listAnimals().size());
+    }
+
+    private static Dog newDog(String status) {
+        return new Dog("Rex", "Bloodhound", "male", "3", "50", "01/01/2022", "United States",
+                status, false, status.equals("in service") ? "Canada" : null);
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("timed out waiting for write-behind flush");
+            Thread.sleep(5);
+        }
+    }
+}